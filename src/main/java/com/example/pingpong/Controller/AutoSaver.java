@@ -0,0 +1,141 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Singleton class responsible for periodically saving the complete live state of the running game.
+ * The game loop captures the state into one of three preallocated {@link GameSnapshot} buffers and hands it over with a
+ * single atomic swap, while a background writer thread persists the most recent snapshot to disk. The game loop never
+ * waits on the disk and never allocates while autosaving. The writer thread is started once, with the autosaver, so
+ * the game loop takes no lock either.
+ */
+public class AutoSaver {
+    private static final String AUTOSAVE_FILE = "autosave.dat";
+    private static final int CAPTURE_INTERVAL_TICKS = 50;
+    private static final long WRITE_INTERVAL_MS = 2000;
+
+    private static AutoSaver instance;
+
+    // Owned by the game loop thread
+    private GameSnapshot back = new GameSnapshot();
+    private long sequence;
+    private int ticksSinceCapture;
+
+    // Owned by the writer thread
+    private GameSnapshot front = new GameSnapshot();
+    private long lastWrittenSequence;
+
+    // Most recently published snapshot, exchanged between the two threads
+    private final AtomicReference<GameSnapshot> ready = new AtomicReference<>(new GameSnapshot());
+
+    private final GameSaver gameSaver;
+    private final ScheduledExecutorService writer;
+
+    /**
+     * Private constructor to prevent instantiation from outside ensuring a Singleton pattern. Starts the writer thread.
+     */
+    private AutoSaver() {
+        this.gameSaver = GameSaver.getInstance();
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "autosave-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::writeLatest, WRITE_INTERVAL_MS, WRITE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Provides access to the singleton instance of {@link AutoSaver}.
+     *
+     * @return The single instance of the {@link AutoSaver}.
+     */
+    public static synchronized AutoSaver getInstance() {
+        if (instance == null) {
+            instance = new AutoSaver();
+        }
+        return instance;
+    }
+
+    /**
+     * Called by the game loop once per tick. Every {@value #CAPTURE_INTERVAL_TICKS} ticks the game state is copied
+     * into the back buffer and published for the writer thread.
+     *
+     * @param game The game whose state should be captured.
+     */
+    public void onTick(Game game) {
+        if (++ticksSinceCapture < CAPTURE_INTERVAL_TICKS) return;
+        ticksSinceCapture = 0;
+        capture(game);
+    }
+
+    /**
+     * Immediately captures the game state and publishes it for the writer thread.
+     *
+     * @param game The game whose state should be captured.
+     */
+    public void capture(Game game) {
+        back.capture(game);
+        back.setSequence(++sequence);
+        back = ready.getAndSet(back);
+    }
+
+    /**
+     * Loads the most recent autosave from disk.
+     *
+     * @return The loaded snapshot, or null if there is no valid autosave.
+     */
+    public GameSnapshot loadLatest() {
+        if (!hasAutosave()) return null;
+        GameSnapshot snapshot = new GameSnapshot();
+        try {
+            gameSaver.loadSnapshot(AUTOSAVE_FILE, snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            System.err.println("Failed to load autosave: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether an autosave exists that can be continued.
+     *
+     * @return true if an autosave file exists and is not empty, false otherwise.
+     */
+    public boolean hasAutosave() {
+        return GameSaver.isFileValid(AUTOSAVE_FILE);
+    }
+
+    /**
+     * Discards the autosave, for example when the saved match has been won and can no longer be continued.
+     * Snapshots published before this call are dropped so the writer does not bring the file back.
+     */
+    public synchronized void clear() {
+        lastWrittenSequence = Long.MAX_VALUE;
+        new File(AUTOSAVE_FILE).delete();
+    }
+
+    private synchronized void writeLatest() {
+        front = ready.getAndSet(front);
+        long frontSequence = front.getSequence();
+        if (lastWrittenSequence == Long.MAX_VALUE) {
+            // Cleared: only snapshots captured after now are worth saving
+            lastWrittenSequence = frontSequence;
+            return;
+        }
+        if (frontSequence <= lastWrittenSequence) return;
+        try {
+            gameSaver.saveSnapshot(AUTOSAVE_FILE, front);
+            lastWrittenSequence = frontSequence;
+        } catch (IOException e) {
+            System.err.println("Failed to write autosave: " + e.getMessage());
+        }
+    }
+}
@@ -1,26 +1,51 @@
 package com.example.pingpong.Controller;
 
-import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.BallSwarm;
 import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchPhase;
+import com.example.pingpong.Model.MatchStatistics;
 import com.example.pingpong.Model.Player;
-import com.example.pingpong.Model.Racket;
 import com.example.pingpong.View.GameView;
 import javafx.application.Platform;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Manages the ball's movements and collisions within the game.
  * This includes handling ball movement, detecting collisions with rackets and walls, and scoring.
+ * The goal message, the countdown and the win message are {@link MatchPhase}s timed from tick timestamps, so a tick
+ * never blocks: the loop keeps drawing and answers pause and exit right away, and a single scheduler thread can
+ * drive many matches by calling {@link #tick(long)}, as {@link GameSession} does.
  */
 public class BallManager implements Runnable {
+    /** Time between two ticks in milliseconds. */
+    public static final long TICK_MILLIS = MatchStatistics.TICK_MILLIS;
+
+    private static final long GOAL_PAUSE_NANOS = 1_000_000_000L;
+    private static final int COUNTDOWN_SECONDS = 3;
+    private static final long WIN_PAUSE_NANOS = 4_000_000_000L;
+    private static final long TICK_NANOS = TICK_MILLIS * 1_000_000L;
+
     private Game game;
     private GameView gameView;
     private GameController gameController;
+    private AutoSaver autoSaver;
+    private final Metrics metrics = Metrics.getInstance();
+    private MultiBallPhysics multiBallPhysics;
+    private BallSwarm simulatedExtraBalls;
 
     private boolean hasScored;
     private Player scoringPlayer;
 
+    private long lastTickNanos;
+    private long loopStartNanos;
+    private long ticksSinceStart;
+    private long phaseElapsedNanos;
+    private boolean winHandled;
+
     /**
-     * Constructs a BallManager with specified game, game view, and game controller.
+     * Constructs a BallManager with specified game, game view, and game controller. The ball manager does not
+     * autosave unless it is given an {@link AutoSaver} with {@link #setAutoSaver(AutoSaver)}.
      *
      * @param game            The game model containing all game data.
      * @param gameView        The view responsible for rendering the game.
@@ -33,117 +58,198 @@ public class BallManager implements Runnable {
     }
 
     /**
-     * The main run loop of the ball manager. Handles ball movement and checks for collisions and scoring.
+     * Autosaves the game through the given autosaver while it is played. Only the on-screen game should autosave, as
+     * every autosaver writes the same file.
+     *
+     * @param autoSaver The autosaver, or null to not autosave.
+     */
+    public void setAutoSaver(AutoSaver autoSaver) {
+        this.autoSaver = autoSaver;
+    }
+
+    /**
+     * The main run loop of the ball manager. Ticks the match every {@link #TICK_MILLIS} milliseconds until the
+     * thread is interrupted, sleeping until each tick's deadline so the rate does not drift.
      */
     @Override
     public void run() {
-        Ball ball = game.getBall();
+        long nextTick = System.nanoTime() + TICK_NANOS;
         while (true) {
-            try {
-                Thread.sleep(10);
-
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return; // Exit loop
+            long wait = nextTick - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return; // Exit loop
+                }
             }
+            tick(System.nanoTime());
+            nextTick += TICK_NANOS;
+        }
+    }
 
-            if (game.isBallMoving()) {
-                ball.move();
-                if (ball.checkCollisionWithCanvas(game.getHeight())) ball.setDirectionY(-ball.getDirectionY());;
+    /**
+     * Advances the match by one tick: moves the ball while playing, or advances the goal pause, countdown or win
+     * phase, and then draws the game. Never blocks. The first tick fixes the schedule: tick n is due
+     * {@code n * TICK_NANOS} after it, and how late each tick is against that deadline goes to the {@link Metrics}.
+     *
+     * @param nowNanos The current time from {@link System#nanoTime()}.
+     */
+    public void tick(long nowNanos) {
+        long elapsed = lastTickNanos == 0 ? 0 : nowNanos - lastTickNanos;
+        lastTickNanos = nowNanos;
+        if (ticksSinceStart == 0) loopStartNanos = nowNanos;
+        long scheduledNanos = loopStartNanos + ticksSinceStart++ * TICK_NANOS;
+        metrics.recordTick(Math.max(0, nowNanos - scheduledNanos));
+        // A paused game also pauses the goal message and countdown
+        if (!game.isGamePaused()) phaseElapsedNanos += elapsed;
+
+        switch (game.getPhase()) {
+            case PLAYING:
+                tickPlaying();
+                break;
+            case GOAL_PAUSE:
+                if (phaseElapsedNanos >= GOAL_PAUSE_NANOS) enterPhase(MatchPhase.COUNTDOWN);
+                break;
+            case COUNTDOWN:
+                if (phaseElapsedNanos >= (COUNTDOWN_SECONDS + 1) * 1_000_000_000L) {
+                    enterPhase(MatchPhase.PLAYING);
+                    gameController.resumeGame();
+                }
+                break;
+            case WON:
+                if (!winHandled && phaseElapsedNanos >= WIN_PAUSE_NANOS) {
+                    winHandled = true;
+                    gameController.onGameWon();
+                }
+                break;
+        }
+        if (autoSaver != null) autoSaver.onTick(game);
 
-                // Reset scoring state
-                hasScored = false;
-                scoringPlayer = null;
+        // drawgame
+        updateGameView();
+    }
 
-                // Check for scoring
-                checkForScore(ball);
+    private void tickPlaying() {
+        if (!game.isBallMoving()) return;
+        if (gameController != null) {
+            gameController.updateCpuPlayers();
+            gameController.getReplay().recordTick(game);
+        }
 
-                // Handle any scoring event
-                if (handleScoring(ball)) continue;
+        // Reset scoring state
+        hasScored = false;
+        scoringPlayer = null;
 
-                // Check and handle racket collisions
-                checkRacketCollision(ball);
-            }
-            // drawgame
-            updateGameView();
-        }
-    }
+        // Move the ball, bounce it and check for scoring
+        checkForScore(GameRules.step(game));
+        if (!hasScored) stepExtraBalls();
 
-    private void handleRacketCollision(Ball ball, Racket racket) {
-        double hitPositionY = ball.getPosY() - racket.getPosY();
-        if (hitPositionY <= 0 || hitPositionY >= racket.getLength()) {
-            ball.setDirectionY(-ball.getDirectionY());
-        } else {
-            ball.bounce(racket);
-        }
+        // Handle any scoring event
+        handleScoring();
     }
 
-    private void checkRacketCollision(Ball ball) {
-        if (ball.isColliding(game.getPlayer1().getRacket())) {
-            handleRacketCollision(ball, game.getPlayer1().getRacket());
-        } else if (ball.isColliding(game.getPlayer2().getRacket())) {
-            handleRacketCollision(ball, game.getPlayer2().getRacket());
-        }
+    private void enterPhase(MatchPhase phase) {
+        game.setPhase(phase);
+        phaseElapsedNanos = 0;
     }
 
-    private void checkForScore(Ball ball) {
-        if (ball.getPosX() < 10 || ball.getPosX() > game.getWidth() - 10) {
-            scoringPlayer = ball.getPosX() < 10 ? game.getPlayer2() : game.getPlayer1();
+    private void checkForScore(int point) {
+        if (point != GameRules.NO_POINT) {
+            scoringPlayer = point == GameRules.POINT_PLAYER1 ? game.getPlayer1() : game.getPlayer2();
             gameController.scorePoint(scoringPlayer);
             hasScored = true;
         }
     }
 
-    private boolean handleScoring(Ball ball) {
-        if (hasScored) {
-            if (gameController.checkForWin(scoringPlayer)) {
-                try {
-                    Thread.sleep(4000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    e.printStackTrace();
-                }
-                gameController.onGameWon();
-                return true;
-            } else {
-                gameController.pauseGame();
-                gameController.handleGoal(scoringPlayer);
-                ball.resetPosition(game.getWidth(), game.getHeight());
-                ball.resetSpeed();
-                try {
-                    Thread.sleep(1000);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException(e);
-                }
-                startTimer();
-                gameController.resumeGame();
-            }
+    /**
+     * Moves the extra balls of the multi-ball mode and awards their points straight away. Unlike a point with the
+     * main ball, play goes on after an extra ball scores, unless the point wins the game.
+     */
+    private void stepExtraBalls() {
+        BallSwarm extraBalls = game.getExtraBalls();
+        if (extraBalls == null) return;
+        if (extraBalls != simulatedExtraBalls) {
+            multiBallPhysics = new MultiBallPhysics(game);
+            simulatedExtraBalls = extraBalls;
         }
-        return false;
+
+        multiBallPhysics.step(game);
+        awardExtraBallPoints(game.getPlayer1(), multiBallPhysics.getPointsPlayer1());
+        awardExtraBallPoints(game.getPlayer2(), multiBallPhysics.getPointsPlayer2());
     }
 
-    private void startTimer() {
-        for (int i = 3; i >= 0; i--) {
-            int timer = i;
-            Platform.runLater(() -> gameView.drawGame(game));
-            Platform.runLater(() -> gameView.drawTimer(timer));
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                return;
+    private void awardExtraBallPoints(Player player, int points) {
+        for (int i = 0; i < points && !hasScored; i++) {
+            game.getStatistics().onPoint(player == game.getPlayer1());
+            gameController.scorePoint(player);
+            if (player.getScore() >= game.getMaxScore()) {
+                // Let handleScoring end the game as for any winning point
+                scoringPlayer = player;
+                hasScored = true;
             }
         }
     }
 
+    /**
+     * Starts the win phase after a winning point, or the goal pause after any other point. The ball stops moving
+     * until the countdown has finished.
+     */
+    private void handleScoring() {
+        if (!hasScored) return;
+        if (gameController.checkForWin(scoringPlayer)) {
+            game.stopBallMovement();
+            winHandled = false;
+            enterPhase(MatchPhase.WON);
+        } else {
+            gameController.handleGoal(scoringPlayer);
+            game.getBall().resetPosition(game.getWidth(), game.getHeight());
+            game.getBall().resetSpeed();
+            enterPhase(MatchPhase.GOAL_PAUSE);
+        }
+    }
+
     private void updateGameView() {
+        Player scorer = scoringPlayer;
+        switch (game.getPhase()) {
+            case GOAL_PAUSE:
+                runOnFxThread(() -> {
+                    gameView.drawGame(game);
+                    gameView.drawGoal(scorer, game);
+                });
+                return;
+            case COUNTDOWN:
+                if (game.isGamePaused()) break;
+                int timer = Math.max(0, COUNTDOWN_SECONDS - (int) (phaseElapsedNanos / 1_000_000_000L));
+                runOnFxThread(() -> {
+                    gameView.drawGame(game);
+                    gameView.drawTimer(timer);
+                });
+                return;
+            case WON:
+                runOnFxThread(() -> {
+                    gameView.drawGame(game);
+                    gameView.drawWin(scorer, game);
+                });
+                return;
+            default:
+                break;
+        }
+
         if (game.isGamePaused()) {
             // If the game hasn't started, draw instructions
-            Platform.runLater(() -> gameView.initialDrawGame(game));
+            runOnFxThread(() -> gameView.initialDrawGame(game));
         } else {
             // If the game has started, draw the game
-            Platform.runLater(() -> gameView.drawGame(game));
+            runOnFxThread(() -> gameView.drawGame(game));
         }
     }
+
+    /**
+     * Hands a drawing task to the FX thread, counting it as pending in the {@link Metrics} until it has run.
+     */
+    private void runOnFxThread(Runnable task) {
+        Platform.runLater(metrics.trackRunLater(task));
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.pingpong.Controller;
+
+/**
+ * A pluggable bot that can take part in headless matches and tournaments.
+ * A strategy is a factory: every match gets its own {@link RacketController}, so matches can run in parallel.
+ */
+public interface BotStrategy {
+    /**
+     * Gets the name of the bot, used as the player name in results and standings.
+     *
+     * @return The unique name of the bot.
+     */
+    String getName();
+
+    /**
+     * Creates a controller for one match.
+     *
+     * @param leftSide true if the bot plays player 1's racket on the left, false for player 2's racket on the right.
+     * @param seed     The seed for any randomness, so a match can be replayed with the same outcome.
+     * @return A new controller for the match.
+     */
+    RacketController create(boolean leftSide, long seed);
+
+    /**
+     * Creates a strategy backed by the built-in {@link CpuPlayer}.
+     *
+     * @param name       The name of the bot.
+     * @param difficulty The difficulty of the computer player.
+     * @return The strategy.
+     */
+    static BotStrategy cpu(String name, CpuPlayer.Difficulty difficulty) {
+        return new BotStrategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public RacketController create(boolean leftSide, long seed) {
+                return new CpuPlayer(leftSide, difficulty, seed);
+            }
+        };
+    }
+}
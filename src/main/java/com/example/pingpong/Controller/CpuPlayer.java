@@ -0,0 +1,169 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.Player;
+import com.example.pingpong.Model.Racket;
+
+import java.util.Random;
+
+/**
+ * A computer controlled player that moves one racket by predicting where the ball will cross it.
+ * The intercept is solved in closed form from the ball's position, direction and speed, folding the straight-line path
+ * back into the play area to account for wall bounces, so each decision costs the same no matter how far away the
+ * ball is. Reaction delay, aiming error and racket speed are tuned by a {@link Difficulty}.
+ */
+public class CpuPlayer implements RacketController {
+
+    /**
+     * Difficulty levels for the computer player.
+     */
+    public enum Difficulty {
+        EASY(30, 0.8, 4),
+        MEDIUM(15, 0.4, 6),
+        HARD(5, 0.1, 9);
+
+        private final int reactionTicks;
+        private final double aimError;
+        private final double maxSpeed;
+
+        /**
+         * @param reactionTicks Number of ticks between two decisions.
+         * @param aimError      Maximum aiming error as a fraction of the racket length.
+         * @param maxSpeed      Maximum racket movement per tick.
+         */
+        Difficulty(int reactionTicks, double aimError, double maxSpeed) {
+            this.reactionTicks = reactionTicks;
+            this.aimError = aimError;
+            this.maxSpeed = maxSpeed;
+        }
+
+        public int getReactionTicks() {
+            return reactionTicks;
+        }
+
+        public double getAimError() {
+            return aimError;
+        }
+
+        public double getMaxSpeed() {
+            return maxSpeed;
+        }
+    }
+
+    private final boolean leftSide;
+    private final Random random;
+    private Difficulty difficulty;
+
+    private int ticksUntilDecision;
+    private double targetY = Double.NaN;
+
+    /**
+     * Constructs a computer player.
+     *
+     * @param leftSide   true to control player 1's racket on the left, false for player 2's racket on the right.
+     * @param difficulty The difficulty level.
+     * @param seed       The seed for the aiming error, so matches between bots can be reproduced.
+     */
+    public CpuPlayer(boolean leftSide, Difficulty difficulty, long seed) {
+        this.leftSide = leftSide;
+        this.difficulty = difficulty;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Called once per tick. Re-plans the target every few ticks, depending on the reaction delay, and moves the
+     * racket towards the current target.
+     *
+     * @param game The game being played.
+     */
+    @Override
+    public void update(Game game) {
+        Racket racket = getPlayer(game).getRacket();
+        if (--ticksUntilDecision <= 0) {
+            ticksUntilDecision = difficulty.getReactionTicks();
+            targetY = decideTargetY(game, racket);
+        }
+        moveTowardsTarget(racket, game.getHeight());
+    }
+
+    /**
+     * Decides where the centre of the racket should be. When the ball is coming towards this racket it aims for the
+     * predicted intercept with some error, otherwise it drifts back to the middle.
+     *
+     * @param game   The game being played.
+     * @param racket The racket controlled by this player.
+     * @return The Y position the centre of the racket should move to.
+     */
+    private double decideTargetY(Game game, Racket racket) {
+        Ball ball = game.getBall();
+        boolean approaching = leftSide ? ball.getDirectionX() < 0 : ball.getDirectionX() > 0;
+        if (!approaching) {
+            return game.getHeight() / 2.0;
+        }
+        double faceX = leftSide ? racket.getPosX() + racket.getWidth() + ball.getRadius() : racket.getPosX() - ball.getRadius();
+        double interceptY = predictInterceptY(ball, faceX, game.getHeight());
+        double error = (random.nextDouble() * 2 - 1) * difficulty.getAimError() * racket.getLength() / 2.0;
+        return interceptY + error;
+    }
+
+    private void moveTowardsTarget(Racket racket, double gameHeight) {
+        if (Double.isNaN(targetY)) return;
+        double centre = racket.getPosY() + racket.getLength() / 2.0;
+        double step = Math.max(-difficulty.getMaxSpeed(), Math.min(difficulty.getMaxSpeed(), targetY - centre));
+        double posY = racket.getPosY() + step;
+        racket.setPosY(Math.max(0, Math.min(gameHeight - racket.getLength(), posY)));
+    }
+
+    /**
+     * Predicts the Y position at which the ball will reach the given X position, accounting for any number of
+     * bounces off the top and bottom walls. Runs in constant time.
+     *
+     * @param ball       The ball to predict.
+     * @param targetX    The X position to predict the crossing for.
+     * @param gameHeight The height of the game area.
+     * @return The predicted Y position, or the ball's current Y position if it never reaches the target.
+     */
+    public static double predictInterceptY(Ball ball, double targetX, double gameHeight) {
+        double velocityX = ball.getDirectionX() * ball.getSpeed();
+        double velocityY = ball.getDirectionY() * ball.getSpeed();
+        if (velocityX == 0) {
+            return ball.getPosY();
+        }
+        double ticks = (targetX - ball.getPosX()) / velocityX;
+        if (ticks < 0) {
+            return ball.getPosY();
+        }
+
+        // Ball.checkCollisionWithCanvas reflects the ball once its centre is within two radii of a wall
+        double margin = ball.getRadius() * 2;
+        double span = gameHeight - 2 * margin;
+        double unfolded = ball.getPosY() + velocityY * ticks - margin;
+        if (span <= 0) {
+            return gameHeight / 2.0;
+        }
+
+        // Fold the straight line back into the play area: every span travelled is one reflection
+        double period = 2 * span;
+        double folded = unfolded % period;
+        if (folded < 0) folded += period;
+        if (folded > span) folded = period - folded;
+        return folded + margin;
+    }
+
+    private Player getPlayer(Game game) {
+        return leftSide ? game.getPlayer1() : game.getPlayer2();
+    }
+
+    public boolean isLeftSide() {
+        return leftSide;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+}
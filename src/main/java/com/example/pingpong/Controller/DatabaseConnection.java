@@ -8,9 +8,14 @@ import java.sql.SQLException;
  * This class provides a global access point to the database connection
  * using the Singleton design pattern to ensure that only one connection
  * is active at any given time.
+ * The first connection brings the schema up to date with {@link SchemaMigrations}. The database defaults to the local
+ * MySQL server and can be changed with the {@code pingpong.db.url}, {@code pingpong.db.user} and
+ * {@code pingpong.db.password} system properties. Work that runs on its own thread, such as writing match events,
+ * opens a dedicated connection with {@link #openConnection()} so it never shares a transaction with the application.
  */
 public class DatabaseConnection {
     private static Connection connection = null;
+    private static boolean schemaMigrated;
 
     /**
      * Private constructor to prevent instantiation of utility class.
@@ -19,24 +24,70 @@ public class DatabaseConnection {
 
     /**
      * Gets a single instance of a database connection.
-     * If the current connection is null or closed, it initializes a new connection.
+     * If the current connection is null or closed, it initializes a new connection, and applies any missing schema
+     * migrations if that has not been done yet.
      *
      * @return A single {@link Connection} instance to be used across the application.
-     * @throws SQLException If there is an error connecting to the database.
+     * @throws SQLException If there is an error connecting to the database, or a schema migration fails; the
+     *                      connection is closed in that case so no query runs against a half-migrated schema.
      */
-    public static Connection getConnection() throws SQLException {
+    public static synchronized Connection getConnection() throws SQLException {
+        long startTime = System.nanoTime();
+        boolean opened = false;
         if (connection == null || connection.isClosed()) {
-            String url = "jdbc:mysql://localhost:3306/ping-pong-database";
-            String username = "root";
-            String password = "root";
+            opened = true;
             try {
-                // Initialize JDBC driver, setup URL, username, and password
-                connection = DriverManager.getConnection(url, username, password);
+                connection = connect();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
+            if (connection != null && !connection.isClosed()) {
+                try {
+                    migrateOnce(connection);
+                } catch (SQLException e) {
+                    connection.close();
+                    connection = null;
+                    throw e;
+                }
+            }
         }
+        Metrics.getInstance().recordConnectionAcquire(System.nanoTime() - startTime, opened);
         return connection;
     }
+
+    /**
+     * Opens a new connection that is not shared with the rest of the application. The caller owns it and must close
+     * it. Missing schema migrations are applied first if that has not been done yet.
+     *
+     * @return A new {@link Connection}.
+     * @throws SQLException If there is an error connecting to the database, or a schema migration fails.
+     */
+    public static synchronized Connection openConnection() throws SQLException {
+        long startTime = System.nanoTime();
+        Connection dedicated = connect();
+        try {
+            migrateOnce(dedicated);
+        } catch (SQLException e) {
+            dedicated.close();
+            throw e;
+        }
+        Metrics.getInstance().recordConnectionAcquire(System.nanoTime() - startTime, true);
+        return dedicated;
+    }
+
+    private static Connection connect() throws SQLException {
+        String url = System.getProperty("pingpong.db.url", "jdbc:mysql://localhost:3306/ping-pong-database?rewriteBatchedStatements=true");
+        String username = System.getProperty("pingpong.db.user", "root");
+        String password = System.getProperty("pingpong.db.password", "root");
+        // Initialize JDBC driver, setup URL, username, and password
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    private static void migrateOnce(Connection conn) throws SQLException {
+        if (schemaMigrated) return;
+        int applied = SchemaMigrations.migrate(conn);
+        if (applied > 0) System.out.println("Applied " + applied + " schema migrations");
+        schemaMigrated = true;
+    }
 }
 
@@ -1,22 +1,34 @@
 package com.example.pingpong.Controller;
 
 import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.MatchStatistics;
+import com.example.pingpong.Model.PlayerStatistics;
+import com.example.pingpong.Model.TournamentStanding;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Manages database operations related to game data.
  * Provides methods to save, update, and load game states from the database.
+ * Every call is timed with a {@link QueryTrace}, which feeds the per-statement latency histograms and the slow-query
+ * log of the {@link QueryLog}.
  */
 public class DatabaseManager {
 
     private static DatabaseManager instance;
 
+    // Match events are saved from their own writer thread, on a connection of their own
+    private final Object eventLock = new Object();
+    private Connection eventConnection;
+
     /**
      * Private constructor to prevent direct instantiation.
      */
@@ -48,7 +60,8 @@ public class DatabaseManager {
      */
     public void saveNewGame(String gameName, String player1Name, int player1Score, String player2Name, int player2Score, int gameLimit) throws SQLException {
         String sql = "INSERT INTO Game (game_name, player1_name, player1_score, player2_name, player2_score, game_limit) VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("saveNewGame", sql, gameName, player1Name, player1Score, player2Name, player2Score, gameLimit);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, gameName);
             pstmt.setString(2, player1Name);
@@ -56,7 +69,233 @@ public class DatabaseManager {
             pstmt.setString(4, player2Name);
             pstmt.setInt(5, player2Score);
             pstmt.setInt(6, gameLimit);
-            pstmt.executeUpdate();
+            trace.rowsAffected(pstmt.executeUpdate());
+            trace.executed();
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    /**
+     * Saves the match statistics summary of both players of a game, replacing any statistics saved earlier
+     * under the same game name.
+     *
+     * @param gameName Name of the game the statistics belong to.
+     * @param player1Name Name of Player 1.
+     * @param player2Name Name of Player 2.
+     * @param statistics The statistics of the match.
+     * @throws SQLException If an SQL error occurs.
+     */
+    public void saveStatistics(String gameName, String player1Name, String player2Name, MatchStatistics statistics) throws SQLException {
+        String deleteSql = "DELETE FROM GameStatistics WHERE game_name = ?";
+        String insertSql = "INSERT INTO GameStatistics (game_name, player_name, hits, hit_speed_mean, hit_speed_p95, hit_offset_p50, "
+                + "points_won, rally_hits_mean, rally_hits_p95, rally_ticks_p50, point_duration_ms_p50) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        QueryTrace trace = QueryTrace.start("saveStatistics", insertSql, gameName, player1Name, player2Name);
+        try (Connection conn = trace.connect()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                delete.setString(1, gameName);
+                delete.executeUpdate();
+                addStatisticsRow(insert, gameName, player1Name, statistics.getPlayer1());
+                addStatisticsRow(insert, gameName, player2Name, statistics.getPlayer2());
+                trace.rowsAffected(sum(insert.executeBatch()));
+                conn.commit();
+                trace.executed();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    private void addStatisticsRow(PreparedStatement pstmt, String gameName, String playerName, PlayerStatistics statistics) throws SQLException {
+        pstmt.setString(1, gameName);
+        pstmt.setString(2, playerName);
+        pstmt.setLong(3, statistics.getHits());
+        pstmt.setDouble(4, statistics.getHitSpeed().getMean());
+        pstmt.setDouble(5, statistics.getHitSpeed().quantile(0.95));
+        pstmt.setDouble(6, statistics.getHitOffset().quantile(0.5));
+        pstmt.setLong(7, statistics.getPointsWon());
+        pstmt.setDouble(8, statistics.getRallyHits().getMean());
+        pstmt.setDouble(9, statistics.getRallyHits().quantile(0.95));
+        pstmt.setDouble(10, statistics.getRallyTicks().quantile(0.5));
+        pstmt.setDouble(11, statistics.getPointDurationMs().quantile(0.5));
+        pstmt.addBatch();
+    }
+
+    /**
+     * Saves the results of many finished matches as new games in a single batched transaction.
+     * Each match is stored under the name given by {@link #matchGameName}; a match saved again,
+     * as when a resumed tournament saves a round it had saved before, replaces the earlier result.
+     *
+     * @param tournamentName Name of the tournament the matches belong to.
+     * @param results        The match results to save.
+     * @throws SQLException If an SQL error occurs; no results are saved in that case.
+     */
+    public void saveMatchResults(String tournamentName, List<MatchResult> results) throws SQLException {
+        String sql = "INSERT INTO Game (game_name, player1_name, player1_score, player2_name, player2_score, game_limit) VALUES (?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE player1_score = VALUES(player1_score), player2_score = VALUES(player2_score), game_limit = VALUES(game_limit)";
+        QueryTrace trace = QueryTrace.start("saveMatchResults", sql, tournamentName, results.size() + " results");
+        try (Connection conn = trace.connect()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (MatchResult result : results) {
+                    pstmt.setString(1, matchGameName(tournamentName, result.getRound(), result.getPlayer1Name(), result.getPlayer2Name()));
+                    pstmt.setString(2, result.getPlayer1Name());
+                    pstmt.setInt(3, result.getPlayer1Score());
+                    pstmt.setString(4, result.getPlayer2Name());
+                    pstmt.setInt(5, result.getPlayer2Score());
+                    pstmt.setInt(6, result.getWinningScore());
+                    pstmt.addBatch();
+                }
+                trace.rowsAffected(sum(pstmt.executeBatch()));
+                conn.commit();
+                trace.executed();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
+        }
+    }
+
+    /**
+     * Gets the game name a tournament match is saved under: {@code <tournament>-r<round>-<player1>-vs-<player2>}.
+     *
+     * @param tournamentName Name of the tournament.
+     * @param round          The round the match was played in.
+     * @param player1Name    Name of Player 1.
+     * @param player2Name    Name of Player 2.
+     * @return The game name.
+     */
+    public static String matchGameName(String tournamentName, int round, String player1Name, String player2Name) {
+        return tournamentName + "-r" + round + "-" + player1Name + "-vs-" + player2Name;
+    }
+
+    /**
+     * Saves goals of one or more matches in a single batched transaction. The events are saved on a dedicated
+     * connection, so the transaction never mixes with other calls on the shared connection.
+     *
+     * @param events The events to save.
+     * @throws SQLException If an SQL error occurs; no events are saved in that case.
+     */
+    public void saveMatchEvents(List<MatchEvent> events) throws SQLException {
+        String sql = "INSERT INTO match_event (match_id, scorer_name, scored_by_player1, player1_score, player2_score, "
+                + "rally_hits, rally_ticks, ball_speed, scored_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        QueryTrace trace = QueryTrace.start("saveMatchEvents", sql, events.size() + " events");
+        synchronized (eventLock) {
+            try {
+                Connection conn = trace.connected(eventConnection());
+                conn.setAutoCommit(false);
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (MatchEvent event : events) {
+                        pstmt.setString(1, event.getMatchId());
+                        pstmt.setString(2, event.getScorerName());
+                        pstmt.setBoolean(3, event.isScoredByPlayer1());
+                        pstmt.setInt(4, event.getPlayer1Score());
+                        pstmt.setInt(5, event.getPlayer2Score());
+                        pstmt.setInt(6, event.getRallyHits());
+                        pstmt.setLong(7, event.getRallyTicks());
+                        pstmt.setDouble(8, event.getBallSpeed());
+                        pstmt.setTimestamp(9, new Timestamp(event.getTimeMillis()));
+                        pstmt.addBatch();
+                    }
+                    trace.rowsAffected(sum(pstmt.executeBatch()));
+                    conn.commit();
+                    trace.executed();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            } catch (SQLException e) {
+                trace.failed(e);
+                // The connection may be broken; open a new one for the next batch
+                closeEventConnection();
+                throw e;
+            } finally {
+                trace.finish();
+            }
+        }
+    }
+
+    private Connection eventConnection() throws SQLException {
+        if (eventConnection == null || eventConnection.isClosed()) {
+            eventConnection = DatabaseConnection.openConnection();
+        }
+        return eventConnection;
+    }
+
+    private void closeEventConnection() {
+        if (eventConnection == null) return;
+        try {
+            eventConnection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing the match event connection: " + e.getMessage());
+        }
+        eventConnection = null;
+    }
+
+    /**
+     * Replaces the standings of a tournament in a single batched transaction.
+     *
+     * @param tournamentName Name of the tournament.
+     * @param standings      The standings to save.
+     * @throws SQLException If an SQL error occurs; the previous standings are kept in that case.
+     */
+    public void saveStandings(String tournamentName, List<TournamentStanding> standings) throws SQLException {
+        String deleteSql = "DELETE FROM TournamentStanding WHERE tournament_name = ?";
+        String insertSql = "INSERT INTO TournamentStanding (tournament_name, player_name, rating, points, wins, draws, losses) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        QueryTrace trace = QueryTrace.start("saveStandings", insertSql, tournamentName, standings.size() + " standings");
+        try (Connection conn = trace.connect()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement delete = conn.prepareStatement(deleteSql);
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                delete.setString(1, tournamentName);
+                delete.executeUpdate();
+                for (TournamentStanding standing : standings) {
+                    insert.setString(1, tournamentName);
+                    insert.setString(2, standing.getPlayerName());
+                    insert.setDouble(3, standing.getRating());
+                    insert.setDouble(4, standing.getPoints());
+                    insert.setInt(5, standing.getWins());
+                    insert.setInt(6, standing.getDraws());
+                    insert.setInt(7, standing.getLosses());
+                    insert.addBatch();
+                }
+                trace.rowsAffected(sum(insert.executeBatch()));
+                conn.commit();
+                trace.executed();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
         }
     }
 
@@ -73,7 +312,8 @@ public class DatabaseManager {
      */
     public void updateExistingGame(String gameName, String player1Name, int player1Score, String player2Name, int player2Score, int gameLimit) throws SQLException {
         String sql = "UPDATE Game SET player1_name = ?, player1_score = ?, player2_name = ?, player2_score = ?, game_limit = ? WHERE game_name = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("updateExistingGame", sql, player1Name, player1Score, player2Name, player2Score, gameLimit, gameName);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, player1Name);
             pstmt.setInt(2, player1Score);
@@ -81,7 +321,13 @@ public class DatabaseManager {
             pstmt.setInt(4, player2Score);
             pstmt.setInt(5, gameLimit);
             pstmt.setString(6, gameName);
-            pstmt.executeUpdate();
+            trace.rowsAffected(pstmt.executeUpdate());
+            trace.executed();
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
         }
     }
 
@@ -94,14 +340,22 @@ public class DatabaseManager {
      */
     public boolean gameExists(String gameName) throws SQLException {
         String query = "SELECT COUNT(*) FROM Game WHERE game_name = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("gameExists", query, gameName);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(query)) {
             pstmt.setString(1, gameName);
             try (ResultSet rs = pstmt.executeQuery()) {
+                trace.executed();
                 if (rs.next()) {
+                    trace.rowFetched();
                     return rs.getInt(1) > 0;
                 }
             }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
         }
         return false;
     }
@@ -114,32 +368,45 @@ public class DatabaseManager {
      */
     public Game loadLatestGame() throws SQLException {
         Game latestGame = null;
-        // Adjust the SQL to order by the primary key column assuming it's named 'id'
         String sql = "SELECT * FROM Game ORDER BY id DESC LIMIT 1";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("loadLatestGame", sql);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
+            trace.executed();
 
             if (rs.next()) {
+                trace.rowFetched();
                 latestGame = buildGameFromResultSet(rs);
             }
         } catch (SQLException e) {
+            trace.failed(e);
             System.err.println("Failed to load the latest game: " + e.getMessage());
             throw e;
+        } finally {
+            trace.finish();
         }
         return latestGame;
     }
 
     public Game loadGameByName(String gameName) throws SQLException {
         String sql = "SELECT * FROM Game WHERE game_name = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("loadGameByName", sql, gameName);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, gameName);
             try (ResultSet rs = pstmt.executeQuery()) {
+                trace.executed();
                 if (rs.next()) {
+                    trace.rowFetched();
                     return buildGameFromResultSet(rs);
                 }
             }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
         }
         return null; // Handle case where game is not found
     }
@@ -171,13 +438,30 @@ public class DatabaseManager {
     public List<String> loadGameNames() throws SQLException {
         List<String> gameNames = new ArrayList<>();
         String sql = "SELECT game_name FROM Game";
-        try (Connection conn = DatabaseConnection.getConnection();
+        QueryTrace trace = QueryTrace.start("loadGameNames", sql);
+        try (Connection conn = trace.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
+            trace.executed();
             while (rs.next()) {
+                trace.rowFetched();
                 gameNames.add(rs.getString("game_name"));
             }
+        } catch (SQLException e) {
+            trace.failed(e);
+            throw e;
+        } finally {
+            trace.finish();
         }
         return gameNames;
     }
+
+    /**
+     * Adds up the update counts of a batch, counting statements whose count the driver does not know as one row.
+     */
+    private static long sum(int[] updateCounts) {
+        long rows = 0;
+        for (int count : updateCounts) rows += count >= 0 ? count : 1;
+        return rows;
+    }
 }
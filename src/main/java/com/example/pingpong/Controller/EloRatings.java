@@ -0,0 +1,40 @@
+package com.example.pingpong.Controller;
+
+/**
+ * Utility class for Elo rating updates.
+ */
+public final class EloRatings {
+    /** Starting rating for a new player. */
+    public static final double INITIAL_RATING = 1500;
+
+    /** Maximum rating change from a single match. */
+    private static final double K_FACTOR = 32;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private EloRatings() { }
+
+    /**
+     * Calculates the expected score of player A against player B.
+     *
+     * @param ratingA Rating of player A.
+     * @param ratingB Rating of player B.
+     * @return The expected score of player A, between 0 and 1.
+     */
+    public static double expectedScore(double ratingA, double ratingB) {
+        return 1.0 / (1.0 + Math.pow(10, (ratingB - ratingA) / 400.0));
+    }
+
+    /**
+     * Calculates player A's new rating after a match against player B.
+     *
+     * @param ratingA Rating of player A before the match.
+     * @param ratingB Rating of player B before the match.
+     * @param resultA Result of player A: 1 for a win, 0.5 for a draw and 0 for a loss.
+     * @return The new rating of player A.
+     */
+    public static double updatedRating(double ratingA, double ratingB, double resultA) {
+        return ratingA + K_FACTOR * (resultA - expectedScore(ratingA, ratingB));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.pingpong.Controller;
 
+import com.example.pingpong.Model.BallSwarm;
 import com.example.pingpong.Model.Game;
 
 /**
@@ -12,6 +13,7 @@ public class GameBuilder {
     private String player2Name;
     private int player2Score;
     private int target;
+    private int extraBalls;
 
     /**
      * Sets the name of player 1.
@@ -68,6 +70,17 @@ public class GameBuilder {
         return this;
     }
 
+    /**
+     * Sets the number of extra balls for the multi-ball mode.
+     *
+     * @param extraBalls The number of extra balls, or 0 for a classic game with a single ball.
+     * @return The current instance of GameBuilder for chaining method calls.
+     */
+    public GameBuilder withExtraBalls(int extraBalls) {
+        this.extraBalls = extraBalls;
+        return this;
+    }
+
     /**
      * Builds and returns a Game object configured with the set parameters.
      *
@@ -80,6 +93,10 @@ public class GameBuilder {
         game.getPlayer1().setScore(player1Score);
         game.getPlayer2().setScore(player2Score);
         game.setMaxScore(target);
+        if (extraBalls > 0) {
+            game.setExtraBalls(new BallSwarm(extraBalls, System.nanoTime()));
+            game.getExtraBalls().resetPositions(game.getWidth(), game.getHeight());
+        }
         return game;
     }
 }
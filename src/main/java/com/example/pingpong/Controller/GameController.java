@@ -2,10 +2,14 @@ package com.example.pingpong.Controller;
 
 import com.example.pingpong.Model.Game;
 import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.MatchEvent;
 import com.example.pingpong.Model.Player;
+import com.example.pingpong.Model.Replay;
 import com.example.pingpong.View.GameView;
 import javafx.application.Platform;
 
+import java.util.UUID;
+
 /**
  * Controls the flow and logic of the game, coordinating interactions between the model and the view.
  */
@@ -14,6 +18,10 @@ public class GameController {
     private SceneToScene sceneController;
     private GameView gameView;
     private GameSettings settings;
+    private CpuPlayer cpuPlayer1;
+    private CpuPlayer cpuPlayer2;
+    private Replay replay = new Replay(Replay.DEFAULT_KEYFRAME_INTERVAL);
+    private String matchId = UUID.randomUUID().toString();
 
     /**
      * Constructs a GameController with references to the scene controller and the game view,
@@ -43,13 +51,33 @@ public class GameController {
      */
     public void setGame(Game game) {
         this.game = game;
+        this.replay = new Replay(Replay.DEFAULT_KEYFRAME_INTERVAL);
+        this.matchId = UUID.randomUUID().toString();
     }
 
     /**
-     * Resets the game to its initial state.
+     * Resets the game to its initial state and starts recording a new replay under a new match id.
      */
     public void resetGame() {
         game.resetGame();
+        replay = new Replay(Replay.DEFAULT_KEYFRAME_INTERVAL);
+        matchId = UUID.randomUUID().toString();
+    }
+
+    /**
+     * Gets the replay recording the current game since it was set or last reset.
+     * @return The replay of the current game.
+     */
+    public Replay getReplay() {
+        return replay;
+    }
+
+    /**
+     * Gets the id the goals of the current game are recorded under in the match event history.
+     * @return The match id.
+     */
+    public String getMatchId() {
+        return matchId;
     }
 
     /**
@@ -91,25 +119,6 @@ public class GameController {
         return settings;
     }
 
-    /**
-     * Adjusts the game components sizes and positions based on the current window size.
-     * @param game The game whose components will be adjusted.
-     */
-    public void adjustGameComponentsToCurrentWindowSize(Game game) {
-        double currentWidth = gameView.getWidth();
-        double currentHeight = gameView.getHeight();
-        double defaultWidth = 1100;
-        double defaultHeight = 650;
-
-        double scaleX = currentWidth / defaultWidth;
-        double scaleY = currentHeight / defaultHeight;
-
-        game.setHeight(gameView.getHeight());
-        game.setWidth(gameView.getWidth());
-        game.resizeX(scaleX);
-        game.resizeY(scaleY);
-    }
-
     /**
      * Applies the settings from the GameSettings object to the game.
      * @param settings The settings to be applied to the game.
@@ -149,50 +158,80 @@ public class GameController {
     }
 
     /**
-     * Checks if a player has won the game by reaching the maximum score.
+     * Lets any computer controlled players move their rackets for this tick.
+     */
+    public void updateCpuPlayers() {
+        if (cpuPlayer1 != null) cpuPlayer1.update(game);
+        if (cpuPlayer2 != null) cpuPlayer2.update(game);
+    }
+
+    public CpuPlayer getCpuPlayer1() {
+        return cpuPlayer1;
+    }
+
+    public void setCpuPlayer1(CpuPlayer cpuPlayer1) {
+        this.cpuPlayer1 = cpuPlayer1;
+    }
+
+    public CpuPlayer getCpuPlayer2() {
+        return cpuPlayer2;
+    }
+
+    public void setCpuPlayer2(CpuPlayer cpuPlayer2) {
+        this.cpuPlayer2 = cpuPlayer2;
+    }
+
+    /**
+     * Checks if a player has won the game by reaching the maximum score. The win message is drawn by the
+     * {@link BallManager} on the JavaFX application thread.
      *
      * @param player The player to check for a win condition.
      * @return True if the player has won, false otherwise.
      */
     public boolean checkForWin(Player player) {
-        if (player.getScore() >= game.getMaxScore()) {
-            gameView.drawGame(game);
-            gameView.drawWin(player, game);
-            return true;
-        }
-        return false;
+        return player.getScore() >= game.getMaxScore();
     }
 
     /**
      * Handles actions to take when the game is won by navigating to the menu.
      */
     void onGameWon() {
+        AutoSaver.getInstance().clear();
         Platform.runLater(() -> {
             sceneController.toMenu();
         });
     }
 
     /**
-     * Awards a point to the scoring player.
+     * Awards a point to the scoring player, and queues the goal for the match event history if it is enabled.
      *
      * @param scorer The player who scored.
      */
     public void scorePoint(Player scorer) {
         scorer.scorePoint();
+        if (MatchEventRecorder.isEnabled()) {
+            MatchEventRecorder.getInstance().record(MatchEvent.of(matchId, game, scorer));
+        }
     }
 
     /**
      * Handles the logic when a goal is scored in the game, including updating the score and pausing the game briefly.
+     * Runs on the game loop thread; the goal message is drawn by the {@link BallManager} on the JavaFX application
+     * thread, which is the only thread that touches the view.
      *
      * @param scorer The player who scored the goal.
      */
     public void handleGoal(Player scorer) {
 
-        game.getPlayer1().getRacket().resetPosition(gameView.getHeight());
-        game.getPlayer2().getRacket().resetPosition(gameView.getHeight());
+        game.getPlayer1().getRacket().resetPosition(game.getHeight());
+        game.getPlayer2().getRacket().resetPosition(game.getHeight());
 
-        gameView.drawGoal(scorer, game);
         game.stopBallMovement();
+
+        double goalX = game.getBall().getPosX();
+        double goalY = game.getBall().getPosY();
+        boolean player1 = scorer == game.getPlayer1();
+        Platform.runLater(() -> gameView.emitGoalBurst(goalX, goalY, player1));
     }
 
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.example.pingpong.Controller;
 
 import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.TournamentStanding;
 
 import java.sql.*;
 import java.util.List;
@@ -9,10 +12,12 @@ import java.util.List;
  * Data Access Object (DAO) for handling game persistence operations.
  * This class provides an abstraction layer between the business logic and database management,
  * delegating database interactions to the {@link DatabaseManager}.
+ * The duration of every call is recorded per method in the {@link Metrics}.
  */
 public class GameDAO implements IGameDAO {
 
     private DatabaseManager dbManager;
+    private final Metrics metrics = Metrics.getInstance();
 
     /**
      * Constructs a GameDAO and initializes its connection to the database through {@link DatabaseManager}.
@@ -30,9 +35,13 @@ public class GameDAO implements IGameDAO {
      */
     @Override
     public void saveGame(Game game, String gameName) throws SQLException {
-        // Uses DatabaseManager to save game details to the database
-        dbManager.saveNewGame(gameName, game.getPlayer1().getName(), game.getPlayer1().getScore(),
-                game.getPlayer2().getName(), game.getPlayer2().getScore(), game.getMaxScore());
+        timed("saveGame", () -> {
+            // Uses DatabaseManager to save game details to the database
+            dbManager.saveNewGame(gameName, game.getPlayer1().getName(), game.getPlayer1().getScore(),
+                    game.getPlayer2().getName(), game.getPlayer2().getScore(), game.getMaxScore());
+            dbManager.saveStatistics(gameName, game.getPlayer1().getName(), game.getPlayer2().getName(), game.getStatistics());
+            return null;
+        });
     }
 
     /**
@@ -44,9 +53,13 @@ public class GameDAO implements IGameDAO {
      */
     @Override
     public void updateGame(Game game, String gameName) throws SQLException {
-        // Uses DatabaseManager to save game details to the database
-        dbManager.updateExistingGame(gameName, game.getPlayer1().getName(), game.getPlayer1().getScore(),
-                game.getPlayer2().getName(), game.getPlayer2().getScore(), game.getMaxScore());
+        timed("updateGame", () -> {
+            // Uses DatabaseManager to save game details to the database
+            dbManager.updateExistingGame(gameName, game.getPlayer1().getName(), game.getPlayer1().getScore(),
+                    game.getPlayer2().getName(), game.getPlayer2().getScore(), game.getMaxScore());
+            dbManager.saveStatistics(gameName, game.getPlayer1().getName(), game.getPlayer2().getName(), game.getStatistics());
+            return null;
+        });
     }
 
     /**
@@ -58,7 +71,7 @@ public class GameDAO implements IGameDAO {
      */
     @Override
     public boolean gameExists(String gameName) throws SQLException {
-        return dbManager.gameExists(gameName);
+        return timed("gameExists", () -> dbManager.gameExists(gameName));
     }
 
     /**
@@ -71,7 +84,7 @@ public class GameDAO implements IGameDAO {
     @Override
     public Game loadGame(String gameName) throws SQLException {
         // Uses DatabaseManager to load game details from the database
-        return dbManager.loadGameByName(gameName);
+        return timed("loadGame", () -> dbManager.loadGameByName(gameName));
     }
 
     /**
@@ -82,7 +95,7 @@ public class GameDAO implements IGameDAO {
      */
     @Override
     public Game loadLatestGame() throws SQLException {
-        return dbManager.loadLatestGame();
+        return timed("loadLatestGame", dbManager::loadLatestGame);
     }
 
     /**
@@ -94,6 +107,79 @@ public class GameDAO implements IGameDAO {
     @Override
     public List<String> loadGameNames() throws SQLException {
         // Calls DatabaseManager to retrieve all game names
-        return dbManager.loadGameNames();
+        return timed("loadGameNames", dbManager::loadGameNames);
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves the results of many finished matches in one batched transaction.
+     *
+     * @param tournamentName The name of the tournament the matches belong to.
+     * @param results The match results to save.
+     * @throws SQLException If an SQL error occurs during the operation.
+     */
+    @Override
+    public void saveMatchResults(String tournamentName, List<MatchResult> results) throws SQLException {
+        if (results.isEmpty()) return;
+        timed("saveMatchResults", () -> {
+            dbManager.saveMatchResults(tournamentName, results);
+            return null;
+        });
+    }
+
+    /**
+     * Saves the current standings of a tournament in one batched transaction.
+     *
+     * @param tournamentName The name of the tournament.
+     * @param standings The standings to save.
+     * @throws SQLException If an SQL error occurs during the operation.
+     */
+    @Override
+    public void saveStandings(String tournamentName, List<TournamentStanding> standings) throws SQLException {
+        timed("saveStandings", () -> {
+            dbManager.saveStandings(tournamentName, standings);
+            return null;
+        });
+    }
+
+    /**
+     * Saves the goals of one or more matches in one batched transaction.
+     *
+     * @param events The events to save.
+     * @throws SQLException If an SQL error occurs during the operation.
+     */
+    @Override
+    public void saveMatchEvents(List<MatchEvent> events) throws SQLException {
+        if (events.isEmpty()) return;
+        timed("saveMatchEvents", () -> {
+            dbManager.saveMatchEvents(events);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a database call and records how long it took and whether it failed.
+     *
+     * @param method The name of the DAO method, used as the metric label.
+     * @param call   The database call.
+     * @return The result of the call.
+     * @throws SQLException If the call fails.
+     */
+    private <T> T timed(String method, DatabaseCall<T> call) throws SQLException {
+        long startTime = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = call.run();
+            failed = false;
+            return result;
+        } finally {
+            metrics.recordDaoCall(method, System.nanoTime() - startTime, failed);
+        }
+    }
+
+    /**
+     * A call to the {@link DatabaseManager} that may throw an {@link SQLException}.
+     */
+    private interface DatabaseCall<T> {
+        T run() throws SQLException;
+    }
+}
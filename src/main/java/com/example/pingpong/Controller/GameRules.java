@@ -0,0 +1,89 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchStatistics;
+import com.example.pingpong.Model.Racket;
+
+/**
+ * The rules of a single simulation tick: moving the ball, bouncing it off the walls and rackets and detecting points.
+ * The rules only touch the model, with no rendering, threads or sleeps, so the same tick drives the on-screen game in
+ * {@link BallManager} as well as headless simulations. Ticks, hits and points are reported to the game's
+ * {@link MatchStatistics}.
+ */
+public final class GameRules {
+    /** No point was scored during the tick. */
+    public static final int NO_POINT = 0;
+    /** Player 1 scored during the tick. */
+    public static final int POINT_PLAYER1 = 1;
+    /** Player 2 scored during the tick. */
+    public static final int POINT_PLAYER2 = 2;
+
+    /** Distance from the left and right edges at which the ball counts as past a racket. */
+    static final double GOAL_MARGIN = 10;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private GameRules() { }
+
+    /**
+     * Advances the game by one tick. Scores are not changed; the caller decides how to award the point.
+     *
+     * @param game The game to advance.
+     * @return {@link #NO_POINT}, {@link #POINT_PLAYER1} or {@link #POINT_PLAYER2}.
+     */
+    public static int step(Game game) {
+        Ball ball = game.getBall();
+        MatchStatistics statistics = game.getStatistics();
+        statistics.onTick();
+        ball.move();
+        if (ball.checkCollisionWithCanvas(game.getHeight())) ball.setDirectionY(-ball.getDirectionY());
+
+        int point = checkForPoint(game, ball);
+        if (point != NO_POINT) {
+            statistics.onPoint(point == POINT_PLAYER1);
+            return point;
+        }
+
+        checkRacketCollision(game, ball);
+        return NO_POINT;
+    }
+
+    /**
+     * Checks whether the ball has passed one of the rackets.
+     *
+     * @param game The game being played.
+     * @param ball The ball to check.
+     * @return {@link #NO_POINT}, {@link #POINT_PLAYER1} or {@link #POINT_PLAYER2}.
+     */
+    public static int checkForPoint(Game game, Ball ball) {
+        if (ball.getPosX() < GOAL_MARGIN) return POINT_PLAYER2;
+        if (ball.getPosX() > game.getWidth() - GOAL_MARGIN) return POINT_PLAYER1;
+        return NO_POINT;
+    }
+
+    /**
+     * Bounces the ball off whichever racket it is touching, if any.
+     *
+     * @param game The game being played.
+     * @param ball The ball to check.
+     */
+    public static void checkRacketCollision(Game game, Ball ball) {
+        if (ball.isColliding(game.getPlayer1().getRacket())) {
+            handleRacketCollision(game, ball, game.getPlayer1().getRacket(), true);
+        } else if (ball.isColliding(game.getPlayer2().getRacket())) {
+            handleRacketCollision(game, ball, game.getPlayer2().getRacket(), false);
+        }
+    }
+
+    private static void handleRacketCollision(Game game, Ball ball, Racket racket, boolean player1) {
+        double hitPositionY = ball.getPosY() - racket.getPosY();
+        if (hitPositionY <= 0 || hitPositionY >= racket.getLength()) {
+            ball.setDirectionY(-ball.getDirectionY());
+        } else {
+            ball.bounce(racket);
+            game.getStatistics().onHit(player1, ball.getSpeed(), ball.getLastHitOffset());
+        }
+    }
+}
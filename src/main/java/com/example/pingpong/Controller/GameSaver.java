@@ -1,20 +1,38 @@
 package com.example.pingpong.Controller;
 
 import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.GameSnapshot;
+import com.example.pingpong.Model.SaveSlotMetadata;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.ObjectInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
 /**
  * Singleton class responsible for saving and loading game settings to and from files.
  * This class provides functionality to serialize {@link GameSettings} objects into files
- * and deserialize them back into objects.
+ * and deserialize them back into objects. Each settings save starts with a small header holding the players, score
+ * and winning score, so the load menu can describe a slot without deserialising the whole save.
  */
 public class GameSaver {
+    /** Directory holding the save slots. */
+    public static final String SAVES_DIRECTORY = "C:/Users/mghos/MTU/Year2-Semester2/OO_Prog/testing/Ping-Pong/Saves/";
+    /** Number of save slots offered by the menus. */
+    public static final int SLOT_COUNT = 5;
+
+    private static final int HEADER_MAGIC = 0x50505348; // "PPSH"
+    private static final int HEADER_VERSION = 1;
+
     private static GameSaver instance;
 
     /**
@@ -42,15 +60,41 @@ public class GameSaver {
      * @throws IOException If an I/O error occurs during the writing process.
      */
     public void saveGameSettings(String filename, GameSettings settings) throws IOException {
-        String fullPath = "C:/Users/mghos/MTU/Year2-Semester2/OO_Prog/testing/Ping-Pong/Saves/" + filename;
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(fullPath))) {
-            out.writeObject(settings);
-            System.out.println("Saving to: " + new File(fullPath).getAbsolutePath());
+        String fullPath = SAVES_DIRECTORY + filename;
+        saveSettings(fullPath, settings);
+        System.out.println("Saving to: " + new File(fullPath).getAbsolutePath());
+    }
+
+    /**
+     * Saves the provided {@link GameSettings} to a file at the given path, preceded by the slot header. Like
+     * {@link #saveSnapshot}, the settings are written to a temporary file which then replaces the target, so neither a
+     * crash nor the {@link SaveSlotIndex} ever sees a half written slot.
+     *
+     * @param fullPath The full path to the file where the settings will be saved.
+     * @param settings The {@link GameSettings} object to be serialized and saved.
+     * @throws IOException If an I/O error occurs during the writing process.
+     */
+    public void saveSettings(String fullPath, GameSettings settings) throws IOException {
+        Path target = Path.of(fullPath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+            out.writeInt(HEADER_MAGIC);
+            out.writeInt(HEADER_VERSION);
+            out.writeUTF(nullToEmpty(settings.getPlayer1Name()));
+            out.writeUTF(nullToEmpty(settings.getPlayer2Name()));
+            out.writeInt(settings.getPlayer1Score());
+            out.writeInt(settings.getPlayer2Score());
+            out.writeInt(settings.getWinningScore());
+            ObjectOutputStream objectOut = new ObjectOutputStream(out);
+            objectOut.writeObject(settings);
+            objectOut.flush();
         }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 
     /**
-     * Loads {@link GameSettings} from a specified file.
+     * Loads {@link GameSettings} from a specified file. Saves written before the slot header was introduced are
+     * still read.
      *
      * @param fullPath The full path to the file from which to load the settings.
      * @return The {@link GameSettings} object deserialized from the file.
@@ -58,8 +102,115 @@ public class GameSaver {
      * @throws ClassNotFoundException If the class of the serialized object cannot be found.
      */
     public GameSettings loadSettings(String fullPath) throws IOException, ClassNotFoundException {
-        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(fullPath))) {
-            return (GameSettings) in.readObject();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fullPath)))) {
+            in.mark(4);
+            if (in.readInt() == HEADER_MAGIC) {
+                readHeader(in, 0, 0);
+            } else {
+                in.reset();
+            }
+            return (GameSettings) new ObjectInputStream(in).readObject();
+        }
+    }
+
+    /**
+     * Reads what the load menu shows about a save slot from the header of its file, without deserialising the
+     * settings. A save without a header is fully deserialised instead, so callers should not use this on the
+     * JavaFX application thread.
+     *
+     * @param fullPath The full path to the slot's file.
+     * @param slot     The slot number, starting at 1.
+     * @return The slot's metadata, or null if the slot is empty or its file cannot be read.
+     */
+    public SaveSlotMetadata readSlotMetadata(String fullPath, int slot) {
+        if (!isFileValid(fullPath)) return null;
+        long lastModified = new File(fullPath).lastModified();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fullPath), 512))) {
+            if (in.readInt() == HEADER_MAGIC) {
+                return readHeader(in, slot, lastModified);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read save header of " + fullPath + ": " + e.getMessage());
+            return null;
+        }
+
+        try {
+            GameSettings settings = loadSettings(fullPath);
+            return new SaveSlotMetadata(slot, settings.getPlayer1Name(), settings.getPlayer2Name(), settings.getPlayer1Score(),
+                    settings.getPlayer2Score(), settings.getWinningScore(), lastModified);
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            System.err.println("Failed to read save " + fullPath + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the rest of a slot header after its magic number.
+     */
+    private static SaveSlotMetadata readHeader(DataInputStream in, int slot, long lastModified) throws IOException {
+        int version = in.readInt();
+        if (version != HEADER_VERSION) {
+            throw new IOException("Unsupported save header version " + version);
+        }
+        String player1Name = in.readUTF();
+        String player2Name = in.readUTF();
+        int player1Score = in.readInt();
+        int player2Score = in.readInt();
+        int winningScore = in.readInt();
+        return new SaveSlotMetadata(slot, player1Name, player2Name, player1Score, player2Score, winningScore, lastModified);
+    }
+
+    /**
+     * Gets the full path of a save slot's file.
+     *
+     * @param slot The slot number, starting at 1.
+     * @return The full path to the slot's file.
+     */
+    public static String slotPath(int slot) {
+        return SAVES_DIRECTORY + slotFileName(slot);
+    }
+
+    /**
+     * Gets the file name of a save slot.
+     *
+     * @param slot The slot number, starting at 1.
+     * @return The file name of the slot.
+     */
+    public static String slotFileName(int slot) {
+        return "settingsSave" + slot + ".ser";
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Saves a {@link GameSnapshot} to a specified file. The snapshot is first written to a temporary file which then
+     * replaces the target, so a crash mid-write never leaves a half written save behind.
+     *
+     * @param fullPath The full path to the file where the snapshot will be saved.
+     * @param snapshot The snapshot to be saved.
+     * @throws IOException If an I/O error occurs during the writing process.
+     */
+    public void saveSnapshot(String fullPath, GameSnapshot snapshot) throws IOException {
+        Path target = Path.of(fullPath).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp.toFile())))) {
+            snapshot.writeTo(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a {@link GameSnapshot} from a specified file into the given snapshot instance.
+     *
+     * @param fullPath The full path to the file from which to load the snapshot.
+     * @param snapshot The snapshot to be filled with the loaded state.
+     * @throws IOException If an I/O error occurs during the reading process.
+     */
+    public void loadSnapshot(String fullPath, GameSnapshot snapshot) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(fullPath)))) {
+            snapshot.readFrom(in);
         }
     }
 
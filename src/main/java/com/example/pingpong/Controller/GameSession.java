@@ -0,0 +1,229 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.View.GameView;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the game loop of one on-screen match. Instead of a new thread per match, every session ticks its
+ * {@link BallManager} on one long-lived scheduler thread shared by all sessions. A session never has more than one
+ * loop scheduled, and {@link #stop()} returns only once no tick of the session is running any more, or after a
+ * bounded wait that is counted as a leak. Counters for started, stopped and leaked loops are kept for diagnostics.
+ */
+public class GameSession {
+    /** Longest time {@link #stop()} waits for a running tick to finish. */
+    private static final long STOP_TIMEOUT_MS = 500;
+
+    private static final AtomicLong STARTS = new AtomicLong();
+    private static final AtomicLong STOPS = new AtomicLong();
+    private static final AtomicLong LEAKS = new AtomicLong();
+    private static final AtomicInteger LIVE_LOOPS = new AtomicInteger();
+
+    private static ScheduledExecutorService scheduler;
+
+    private final GameController gameController;
+    private final GameView gameView;
+    private final ReentrantLock tickLock = new ReentrantLock();
+
+    private BallManager ballManager;
+    private Game game;
+    private volatile SpectatorServer spectatorServer;
+    private ScheduledFuture<?> loop;
+    private volatile boolean running;
+
+    /**
+     * Constructs a session for the game held by a game controller. The loop does not run until {@link #start()}.
+     *
+     * @param gameController The controller whose current game the session plays.
+     * @param gameView       The view the game is drawn on.
+     */
+    public GameSession(GameController gameController, GameView gameView) {
+        this.gameController = gameController;
+        this.gameView = gameView;
+    }
+
+    /**
+     * Gets the scheduler shared by all sessions, creating its daemon thread on first use.
+     *
+     * @return The shared scheduler.
+     */
+    private static synchronized ScheduledExecutorService getScheduler() {
+        if (scheduler == null || scheduler.isShutdown()) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-loop");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scheduler;
+    }
+
+    /**
+     * Starts the game loop for the controller's current game. Does nothing if the loop is already running.
+     *
+     * @return true if a loop was started, false if one was already running.
+     */
+    public synchronized boolean start() {
+        if (running) return false;
+        game = gameController.getGame();
+        ballManager = new BallManager(game, gameView, gameController);
+        ballManager.setAutoSaver(AutoSaver.getInstance());
+        running = true;
+        loop = getScheduler().scheduleAtFixedRate(this::tick, 0, BallManager.TICK_MILLIS, TimeUnit.MILLISECONDS);
+        STARTS.incrementAndGet();
+        LIVE_LOOPS.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Runs one tick unless the session was stopped. An exception is reported but does not cancel the loop, because
+     * the scheduler would otherwise silently stop running it.
+     */
+    private void tick() {
+        tickLock.lock();
+        try {
+            if (!running) return;
+            ballManager.tick(System.nanoTime());
+            SpectatorServer spectators = spectatorServer;
+            if (spectators != null) spectators.publish(game);
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        } finally {
+            tickLock.unlock();
+        }
+    }
+
+    /**
+     * Streams the game's state to spectators after every tick.
+     *
+     * @param spectatorServer The server to publish to, or null to stop streaming.
+     */
+    public void setSpectatorServer(SpectatorServer spectatorServer) {
+        this.spectatorServer = spectatorServer;
+    }
+
+    /**
+     * Pauses the game. The loop keeps running so the view is still drawn.
+     */
+    public void pause() {
+        gameController.pauseGame();
+    }
+
+    /**
+     * Resumes a paused game.
+     */
+    public void resume() {
+        gameController.resumeGame();
+    }
+
+    /**
+     * Stops the game loop and waits for a tick that is still running to finish, for at most
+     * {@value #STOP_TIMEOUT_MS} ms. Once this returns normally, the game can be reset without the loop touching it.
+     * Does nothing if the loop is not running.
+     */
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        loop.cancel(false);
+        loop = null;
+        STOPS.incrementAndGet();
+        LIVE_LOOPS.decrementAndGet();
+
+        // The scheduler thread is shared, so wait for the tick instead of interrupting it
+        try {
+            if (tickLock.tryLock(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                tickLock.unlock();
+            } else {
+                LEAKS.incrementAndGet();
+                System.err.println("Game loop did not stop within " + STOP_TIMEOUT_MS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LEAKS.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops the loop, resets the game and, if the loop was running, starts a new loop for it.
+     */
+    public synchronized void restart() {
+        boolean wasRunning = running;
+        stop();
+        gameController.resetGame();
+        if (wasRunning) start();
+    }
+
+    /**
+     * Checks whether the session's game loop is running.
+     *
+     * @return true if the loop is running, false otherwise.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Shuts down the shared scheduler thread, waiting at most {@value #STOP_TIMEOUT_MS} ms for it to finish.
+     * Sessions started afterwards create a new scheduler.
+     */
+    public static void shutdown() {
+        ScheduledExecutorService current;
+        synchronized (GameSession.class) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current == null) return;
+        current.shutdownNow();
+        try {
+            if (!current.awaitTermination(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                LEAKS.incrementAndGet();
+                System.err.println("Game loop scheduler did not terminate within " + STOP_TIMEOUT_MS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Gets the number of game loops started since the application started.
+     *
+     * @return The number of started loops.
+     */
+    public static long getStartCount() {
+        return STARTS.get();
+    }
+
+    /**
+     * Gets the number of game loops stopped since the application started.
+     *
+     * @return The number of stopped loops.
+     */
+    public static long getStopCount() {
+        return STOPS.get();
+    }
+
+    /**
+     * Gets the number of loops that did not stop in time and may still be running.
+     *
+     * @return The number of leaked loops.
+     */
+    public static long getLeakCount() {
+        return LEAKS.get();
+    }
+
+    /**
+     * Gets the number of loops currently running over all sessions.
+     *
+     * @return The number of running loops.
+     */
+    public static int getLiveLoopCount() {
+        return LIVE_LOOPS.get();
+    }
+}
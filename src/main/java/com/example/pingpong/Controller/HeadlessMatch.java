@@ -0,0 +1,147 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.Player;
+import com.example.pingpong.Model.Replay;
+
+/**
+ * A complete match between two {@link RacketController}s, simulated with {@link GameRules} as fast as possible,
+ * without a window, rendering or sleeps. Used for AI-vs-AI matches, tournaments and load tests.
+ */
+public class HeadlessMatch {
+    /** Safety limit so two bots that never miss cannot keep a match running forever. */
+    private static final long MAX_TICKS = 5_000_000;
+
+    private final Game game;
+    private final RacketController player1Controller;
+    private final RacketController player2Controller;
+    private Replay replay;
+    private MatchEventRecorder eventRecorder;
+    private String matchId;
+    private long ticks;
+
+    /**
+     * Constructs a headless match.
+     *
+     * @param player1Name       Name of player 1, on the left.
+     * @param player2Name       Name of player 2, on the right.
+     * @param player1Controller Controller moving player 1's racket.
+     * @param player2Controller Controller moving player 2's racket.
+     * @param winningScore      Score required to win the match.
+     */
+    public HeadlessMatch(String player1Name, String player2Name, RacketController player1Controller, RacketController player2Controller, int winningScore) {
+        this.game = new GameBuilder()
+                .withPlayer1Name(player1Name)
+                .withPlayer2Name(player2Name)
+                .withTarget(winningScore)
+                .build();
+        this.player1Controller = player1Controller;
+        this.player2Controller = player2Controller;
+        game.resumeGame();
+    }
+
+    /**
+     * Advances the match by one tick.
+     *
+     * @return true if the match has finished, false otherwise.
+     */
+    public boolean tick() {
+        if (isFinished()) return true;
+        ticks++;
+        player1Controller.update(game);
+        player2Controller.update(game);
+        if (replay != null) replay.recordTick(game);
+
+        int point = GameRules.step(game);
+        if (point != GameRules.NO_POINT) {
+            Player scorer = point == GameRules.POINT_PLAYER1 ? game.getPlayer1() : game.getPlayer2();
+            scorer.scorePoint();
+            if (eventRecorder != null) eventRecorder.record(MatchEvent.of(matchId, game, scorer));
+            resetAfterPoint();
+        }
+        return isFinished();
+    }
+
+    /**
+     * Plays the match to the end.
+     *
+     * @param round The tournament round to record in the result.
+     * @return The result of the match.
+     */
+    public MatchResult play(int round) {
+        Metrics metrics = Metrics.getInstance();
+        metrics.headlessSessionStarted();
+        try {
+            while (!tick()) {
+                // Keep simulating until someone wins
+            }
+        } finally {
+            metrics.headlessSessionStopped();
+        }
+        // Counted once per match, so the simulation loop itself touches no shared counter
+        metrics.recordHeadlessMatch(ticks);
+        return getResult(round);
+    }
+
+    /**
+     * Puts the ball and rackets back in the middle after a point, the same way the on-screen game does.
+     */
+    private void resetAfterPoint() {
+        game.getBall().resetPosition(game.getWidth(), game.getHeight());
+        game.getBall().resetSpeed();
+        game.getPlayer1().getRacket().resetPosition(game.getHeight());
+        game.getPlayer2().getRacket().resetPosition(game.getHeight());
+    }
+
+    /**
+     * Checks whether a player has reached the winning score or the tick limit was hit.
+     *
+     * @return true if the match has finished, false otherwise.
+     */
+    public boolean isFinished() {
+        return game.getPlayer1().getScore() >= game.getMaxScore()
+                || game.getPlayer2().getScore() >= game.getMaxScore()
+                || ticks >= MAX_TICKS;
+    }
+
+    /**
+     * Gets the result of the match so far.
+     *
+     * @param round The tournament round to record in the result.
+     * @return The result of the match.
+     */
+    public MatchResult getResult(int round) {
+        return new MatchResult(round, game.getPlayer1().getName(), game.getPlayer2().getName(),
+                game.getPlayer1().getScore(), game.getPlayer2().getScore(), game.getMaxScore(), ticks);
+    }
+
+    /**
+     * Records every following tick of the match into a replay.
+     *
+     * @param replay The replay to record into, or null to stop recording.
+     */
+    public void setReplay(Replay replay) {
+        this.replay = replay;
+    }
+
+    /**
+     * Records every goal of the match in the match event history.
+     *
+     * @param eventRecorder The recorder to hand the goals to, or null to stop recording.
+     * @param matchId       The id to record the goals under.
+     */
+    public void setEventRecorder(MatchEventRecorder eventRecorder, String matchId) {
+        this.eventRecorder = eventRecorder;
+        this.matchId = matchId;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
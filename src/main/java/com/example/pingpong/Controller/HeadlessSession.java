@@ -0,0 +1,127 @@
+package com.example.pingpong.Controller;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless match hosted as a server-side session that ticks at the same rate as the on-screen game.
+ * As a {@link Runnable} it runs its own loop in the style of {@link BallManager#run()}, sleeping until each tick is
+ * due; the loop holds no monitors and only blocks in {@code sleep}, so it can run on a virtual thread without pinning
+ * its carrier. Alternatively a scheduler can call {@link #tick(long)} directly. Either way, the session records how
+ * late each tick started in a small histogram with power-of-two buckets, which later can be merged across sessions,
+ * and in the application-wide {@link Metrics}.
+ */
+public class HeadlessSession implements Runnable {
+    /** Number of lateness buckets; bucket b counts ticks that were less than 2^b microseconds late. */
+    public static final int LATENESS_BUCKETS = 32;
+
+    private final HeadlessMatch match;
+    private final long tickNanos;
+    private final int[] latenessHistogram = new int[LATENESS_BUCKETS];
+    private final Metrics metrics = Metrics.getInstance();
+
+    private volatile boolean stopped;
+    private volatile long recordFromNanos;
+    private long ticks;
+
+    /**
+     * Constructs a session.
+     *
+     * @param match     The match to play.
+     * @param tickNanos Time between two ticks in nanoseconds.
+     */
+    public HeadlessSession(HeadlessMatch match, long tickNanos) {
+        this.match = match;
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Runs the session's loop until {@link #stop()} is called or the thread is interrupted.
+     */
+    @Override
+    public void run() {
+        metrics.headlessSessionStarted();
+        try {
+            long nextTick = System.nanoTime() + tickNanos;
+            while (!stopped) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                tick(nextTick);
+                nextTick += tickNanos;
+            }
+        } finally {
+            metrics.headlessSessionStopped();
+        }
+    }
+
+    /**
+     * Plays one tick of the match and records how late it started.
+     *
+     * @param scheduledNanos The {@link System#nanoTime()} at which the tick was due.
+     */
+    public void tick(long scheduledNanos) {
+        long now = System.nanoTime();
+        metrics.recordTick(now - scheduledNanos);
+        if (now >= recordFromNanos) {
+            long lateMicros = Math.max(0, now - scheduledNanos) / 1000;
+            int bucket = Math.min(LATENESS_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(lateMicros));
+            latenessHistogram[bucket]++;
+        }
+        ticks++;
+        match.tick();
+    }
+
+    /**
+     * Asks the session's loop to finish after the current tick.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Only records the lateness of ticks from the given time on, for example to skip a warm-up period.
+     *
+     * @param recordFromNanos The {@link System#nanoTime()} from which to record.
+     */
+    public void setRecordFromNanos(long recordFromNanos) {
+        this.recordFromNanos = recordFromNanos;
+    }
+
+    /**
+     * Finds the lateness bucket containing a percentile of a histogram merged from one or more sessions.
+     *
+     * @param histogram Tick counts per lateness bucket.
+     * @param q         The percentile, between 0 and 1.
+     * @return The upper bound of the bucket in microseconds, or -1 if the histogram is empty.
+     */
+    public static long percentileMicros(long[] histogram, double q) {
+        long total = 0;
+        for (long count : histogram) total += count;
+        if (total == 0) return -1;
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int b = 0; b < histogram.length; b++) {
+            seen += histogram[b];
+            if (seen >= rank) return 1L << b;
+        }
+        return -1;
+    }
+
+    public int[] getLatenessHistogram() {
+        return latenessHistogram;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    public HeadlessMatch getMatch() {
+        return match;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.pingpong.Controller;
 
 import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.TournamentStanding;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -61,4 +64,30 @@ public interface IGameDAO {
      */
     Game loadLatestGame() throws SQLException;
 
+    /**
+     * Saves the results of many finished matches in one batch.
+     *
+     * @param tournamentName The name of the tournament the matches belong to.
+     * @param results The match results to save.
+     * @throws SQLException If there is a problem executing the SQL commands.
+     */
+    void saveMatchResults(String tournamentName, List<MatchResult> results) throws SQLException;
+
+    /**
+     * Saves the current standings of a tournament in one batch, replacing any earlier standings.
+     *
+     * @param tournamentName The name of the tournament.
+     * @param standings The standings to save.
+     * @throws SQLException If there is a problem executing the SQL commands.
+     */
+    void saveStandings(String tournamentName, List<TournamentStanding> standings) throws SQLException;
+
+    /**
+     * Saves the goals of one or more matches in one batch.
+     *
+     * @param events The events to save.
+     * @throws SQLException If there is a problem executing the SQL commands.
+     */
+    void saveMatchEvents(List<MatchEvent> events) throws SQLException;
+
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.example.pingpong.Controller;
+
+/**
+ * Carries the per-tick racket input of one player to the other player's {@link RollbackSession}. Messages may arrive
+ * late and out of order, but are not lost. Neither sending nor polling blocks or allocates on the caller's side.
+ */
+public interface InputTransport {
+    /** Returned by {@link #poll()} when no input has arrived. */
+    long NONE = -1;
+
+    /**
+     * Sends the local player's input for a tick.
+     *
+     * @param frame The tick the input belongs to.
+     * @param input The input, one of the {@link RollbackSession} input constants.
+     */
+    void send(int frame, int input);
+
+    /**
+     * Takes the next input that has arrived from the remote player, if any.
+     *
+     * @return The tick in the upper 32 bits and the input in the lower 32 bits, or {@link #NONE}.
+     */
+    long poll();
+}
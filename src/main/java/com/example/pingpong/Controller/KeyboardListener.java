@@ -9,9 +9,11 @@ import javafx.scene.input.KeyEvent;
  * Handles keyboard events for the game, enabling player control over their rackets using the keyboard.
  * This class facilitates the interactive aspect of the game by responding to specific key presses,
  * which are mapped to game functions such as moving rackets and pausing or resuming the game.
+ * The listener is registered on the game view once; when another game is loaded it is pointed at that game with
+ * {@link #setGame(Game)}.
  */
 public class KeyboardListener implements EventHandler<KeyEvent> {
-    private final Game game;
+    private Game game;
 
     /**
      * Constructs a new KeyboardListener for the specified game.
@@ -67,4 +69,8 @@ public class KeyboardListener implements EventHandler<KeyEvent> {
             System.out.println("Player 2 Racket Y Position: " + game.getPlayer2().getRacket().getPosY());
         }
     }
-}
\ No newline at end of file
+
+    public void setGame(Game game) {
+        this.game = game;
+    }
+}
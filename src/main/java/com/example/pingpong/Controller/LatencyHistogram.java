@@ -0,0 +1,67 @@
+package com.example.pingpong.Controller;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A latency histogram that many threads can record into without locking. Like the lateness histogram of
+ * {@link HeadlessSession}, bucket b counts durations of less than 2^b microseconds, so recording is one
+ * leading-zero count and one {@link LongAdder} increment, which stays cheap when many game loops record at once.
+ * Reading the histogram never blocks the threads recording into it; a reader may see a duration in the count that is
+ * not in the sum yet, which is fine for metrics.
+ */
+public class LatencyHistogram {
+    /** Number of buckets; the last bucket also counts every longer duration. */
+    public static final int BUCKETS = 24;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Constructs an empty histogram.
+     */
+    public LatencyHistogram() {
+        for (int b = 0; b < BUCKETS; b++) buckets[b] = new LongAdder();
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos The duration in nanoseconds; negative durations are recorded as 0.
+     */
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        sumNanos.add(Math.max(0, nanos));
+    }
+
+    /**
+     * Gets the number of durations recorded in a bucket.
+     *
+     * @param bucket The bucket, between 0 and {@link #BUCKETS} - 1.
+     * @return The number of durations in the bucket, not including the buckets below it.
+     */
+    public long getBucket(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Gets the upper bound of a bucket.
+     *
+     * @param bucket The bucket, between 0 and {@link #BUCKETS} - 2; the last bucket has no upper bound.
+     * @return The upper bound in microseconds.
+     */
+    public static long upperBoundMicros(int bucket) {
+        return 1L << bucket;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int b = 0; b < BUCKETS; b++) count += buckets[b].sum();
+        return count;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.pingpong.Controller;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * An in-process {@link InputTransport} connecting two {@link RollbackSession}s, which delays every message by a fixed
+ * latency plus a random jitter, so messages also arrive out of order. Time is counted in ticks and advanced with
+ * {@link #tick()}, which keeps tests of rollback deterministic for a given seed.
+ */
+public class LoopbackTransport implements InputTransport {
+    private final int latencyTicks;
+    private final int jitterTicks;
+    private final Random random;
+    private final PriorityQueue<long[]> inbox = new PriorityQueue<>((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+    private LoopbackTransport peer;
+    private long now;
+    private long sent;
+
+    /**
+     * Constructs one end of a loopback connection; use {@link #pair(int, int, long)} to create a connected pair.
+     *
+     * @param latencyTicks Ticks every message is delayed by.
+     * @param jitterTicks  Most extra ticks a message is randomly delayed by.
+     * @param seed         Seed for the jitter.
+     */
+    private LoopbackTransport(int latencyTicks, int jitterTicks, long seed) {
+        this.latencyTicks = latencyTicks;
+        this.jitterTicks = jitterTicks;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates two connected ends of a loopback connection.
+     *
+     * @param latencyTicks Ticks every message is delayed by.
+     * @param jitterTicks  Most extra ticks a message is randomly delayed by.
+     * @param seed         Seed for the jitter.
+     * @return The two ends; what one sends, the other receives.
+     */
+    public static LoopbackTransport[] pair(int latencyTicks, int jitterTicks, long seed) {
+        LoopbackTransport first = new LoopbackTransport(latencyTicks, jitterTicks, seed);
+        LoopbackTransport second = new LoopbackTransport(latencyTicks, jitterTicks, ~seed);
+        first.peer = second;
+        second.peer = first;
+        return new LoopbackTransport[] {first, second};
+    }
+
+    /**
+     * Advances this end's clock by one tick, making messages due by then available to {@link #poll()}.
+     */
+    public void tick() {
+        now++;
+    }
+
+    @Override
+    public void send(int frame, int input) {
+        long deliverAt = now + latencyTicks + (jitterTicks > 0 ? random.nextInt(jitterTicks + 1) : 0);
+        peer.deliver(deliverAt, sent++, ((long) frame << 32) | (input & 0xFFFFFFFFL));
+    }
+
+    private void deliver(long deliverAt, long order, long message) {
+        inbox.add(new long[] {deliverAt, order, message});
+    }
+
+    @Override
+    public long poll() {
+        long[] next = inbox.peek();
+        if (next == null || next[0] > now) return NONE;
+        inbox.poll();
+        return next[2];
+    }
+
+    /**
+     * Checks whether messages are still on their way to this end.
+     *
+     * @return true if any message has not been polled yet, false otherwise.
+     */
+    public boolean hasPending() {
+        return !inbox.isEmpty();
+    }
+}
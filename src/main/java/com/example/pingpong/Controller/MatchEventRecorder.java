@@ -0,0 +1,183 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.MatchEvent;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the goals of matches to the {@code match_event} table in the background. The game loop hands each
+ * {@link MatchEvent} to an in-memory queue and returns at once; a writer thread takes everything that has queued up,
+ * up to {@value #BATCH_SIZE} events, and saves it with one JDBC batch in a single transaction. Under load the batches
+ * grow by themselves, so many concurrent headless matches cost one round trip per batch instead of one per goal.
+ *
+ * <p>The queue holds at most {@value #QUEUE_CAPACITY} events. If the database cannot keep up, further events are
+ * dropped and counted rather than slowing down the game loop. A batch that fails is retried
+ * {@value #MAX_ATTEMPTS} times before it is dropped.</p>
+ *
+ * <p>The owner of a recorder calls {@link #flush(long)} and then {@link #close()} when it is done with it, which
+ * stops the writer thread.</p>
+ *
+ * <p>The on-screen game only records events when the {@code pingpong.matchEvents} system property is
+ * {@code true}, as there may be no database.</p>
+ */
+public class MatchEventRecorder {
+    /** Most events saved in one batch. */
+    public static final int BATCH_SIZE = 1000;
+    /** Most events waiting to be saved. */
+    public static final int QUEUE_CAPACITY = 100_000;
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MS = 1000;
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    private static MatchEventRecorder instance;
+
+    private final IGameDAO gameDAO;
+    private final BlockingQueue<MatchEvent> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile Thread writer;
+
+    /**
+     * Constructs a recorder saving through a data access object.
+     *
+     * @param gameDAO The data access object to save the events with.
+     */
+    public MatchEventRecorder(IGameDAO gameDAO) {
+        this.gameDAO = gameDAO;
+    }
+
+    /**
+     * Provides access to the singleton instance of {@link MatchEventRecorder}, saving through a {@link GameDAO}.
+     *
+     * @return The single instance of the {@link MatchEventRecorder}.
+     */
+    public static synchronized MatchEventRecorder getInstance() {
+        if (instance == null) {
+            instance = new MatchEventRecorder(new GameDAO());
+        }
+        return instance;
+    }
+
+    /**
+     * Checks whether the on-screen game should record its goals.
+     *
+     * @return true if the {@code pingpong.matchEvents} system property is {@code true}.
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("pingpong.matchEvents");
+    }
+
+    /**
+     * Queues an event to be saved. Never blocks; drops the event if the queue is full.
+     *
+     * @param event The event to save.
+     */
+    public void record(MatchEvent event) {
+        if (writer == null) startWriter();
+        accepted.incrementAndGet();
+        if (!queue.offer(event)) dropped.incrementAndGet();
+    }
+
+    /**
+     * Waits until every event queued so far has been saved or dropped.
+     *
+     * @param timeoutMillis Longest time to wait.
+     * @return true if all events were handled, false if the time ran out.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public boolean flush(long timeoutMillis) throws InterruptedException {
+        long target = accepted.get();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (written.get() + dropped.get() < target) {
+            if (System.nanoTime() >= deadline) return false;
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer thread. Call {@link #flush(long)} first to save the queued events; events still queued are
+     * dropped. Recording another event starts a new writer.
+     */
+    public synchronized void close() {
+        Thread current = writer;
+        if (current == null) return;
+        writer = null;
+        current.interrupt();
+        try {
+            current.join(CLOSE_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<MatchEvent> unsaved = new ArrayList<>();
+        queue.drainTo(unsaved);
+        if (!unsaved.isEmpty()) {
+            dropped.addAndGet(unsaved.size());
+            System.err.println("Dropped " + unsaved.size() + " match events that were not saved before closing");
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writer != null) return;
+        writer = new Thread(this::run, "match-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void run() {
+        List<MatchEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                save(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // Closed while a batch was waiting to be retried
+            dropped.addAndGet(batch.size());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void save(List<MatchEvent> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                gameDAO.saveMatchEvents(batch);
+                written.addAndGet(batch.size());
+                batches.incrementAndGet();
+                return;
+            } catch (SQLException | RuntimeException e) {
+                System.err.println("Failed to save " + batch.size() + " match events (attempt " + attempt + "): " + e.getMessage());
+                if (attempt < MAX_ATTEMPTS) Thread.sleep(RETRY_DELAY_MS);
+            }
+        }
+        dropped.addAndGet(batch.size());
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+}
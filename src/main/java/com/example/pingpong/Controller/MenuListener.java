@@ -1,7 +1,9 @@
 package com.example.pingpong.Controller;
 
+import com.example.pingpong.Model.BallSwarm;
 import com.example.pingpong.Model.Game;
 import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.GameSnapshot;
 import com.example.pingpong.View.GameView;
 import javafx.application.Platform;
 import javafx.scene.control.*;
@@ -23,6 +25,7 @@ public class MenuListener {
     private GameView canvas;
     private GameSaver gameSaver;
     private GameDAO gameDAO;
+    private GameSession session;
 
     /**
      * Constructs a MenuListener with dependencies needed for menu interactions.
@@ -39,7 +42,19 @@ public class MenuListener {
         this.canvas = canvas;
         this.gameController = gameController;
         this.gameSaver = GameSaver.getInstance();
-        this.gameDAO = new GameDAO();
+    }
+
+    /**
+     * Gets the game DAO, creating it on first use so the database layer and JDBC driver are only initialised
+     * once the player actually saves to or loads from the database.
+     *
+     * @return The game DAO.
+     */
+    private GameDAO getGameDAO() {
+        if (gameDAO == null) {
+            gameDAO = new GameDAO();
+        }
+        return gameDAO;
     }
 
     /**
@@ -60,6 +75,10 @@ public class MenuListener {
         this.game = game;
     }
 
+    public void setSession(GameSession session) {
+        this.session = session;
+    }
+
     public GameSettings applyAndGetSettings() {
         return gameController.applyAndGetSettings();
     }
@@ -84,6 +103,31 @@ public class MenuListener {
         sceneController.toGame();
     }
 
+    /**
+     * Continues the most recently autosaved game exactly where it was left, including the ball's position,
+     * direction and speed mid-rally. The game is resumed paused so the player can press Enter when ready.
+     */
+    public void continueGame() {
+        GameSnapshot snapshot = AutoSaver.getInstance().loadLatest();
+        if (snapshot == null) {
+            showFeedback("Error", "No autosaved game to continue.", Alert.AlertType.ERROR);
+            return;
+        }
+        Game current = gameController.getGame();
+        snapshot.applyTo(current);
+        current.pauseGame();
+        sceneController.toGame();
+    }
+
+    /**
+     * Checks whether there is an autosaved game that {@link #continueGame()} can continue.
+     *
+     * @return true if an autosave exists, false otherwise.
+     */
+    public boolean hasAutosave() {
+        return AutoSaver.getInstance().hasAutosave();
+    }
+
     /**
      * Initiates the process to save the current game state either to the database or a file, as chosen by the user.
      */
@@ -162,11 +206,11 @@ public class MenuListener {
         Optional<String> result = dialog.showAndWait();
         result.ifPresent(gameName -> {
             try {
-                if (gameDAO.gameExists(gameName)) {
-                    gameDAO.updateGame(game, gameName);
+                if (getGameDAO().gameExists(gameName)) {
+                    getGameDAO().updateGame(game, gameName);
                     showFeedback("Game Updated", "Your game has been successfully updated as '" + gameName + "'.", Alert.AlertType.INFORMATION);
                 } else {
-                    gameDAO.saveGame(game, gameName);
+                    getGameDAO().saveGame(game, gameName);
                     showFeedback("Game Saved", "Your game has been successfully saved as '" + gameName + "'.", Alert.AlertType.INFORMATION);
                 }
             } catch (SQLException e) {
@@ -180,7 +224,7 @@ public class MenuListener {
      */
     private void saveGameSettings(int slot) {
         try {
-            String filename = "settingsSave" + slot + ".ser";
+            String filename = GameSaver.slotFileName(slot);
             gameSaver.saveGameSettings(filename, gameController.getSetting());
             showFeedback("Game Saved", "Your game has been successfully saved to slot " + slot, Alert.AlertType.INFORMATION);
         } catch (IOException ex) {
@@ -200,7 +244,7 @@ public class MenuListener {
      * @throws SQLException If there is an error loading the game from the database.
      */
     public void loadDb() throws SQLException {
-        List<String> gameNames = gameDAO.loadGameNames();
+        List<String> gameNames = getGameDAO().loadGameNames();
         if (gameNames.isEmpty()) {
             Alert alert = new Alert(Alert.AlertType.INFORMATION, "No games available to load.");
             alert.setHeaderText(null);
@@ -217,7 +261,7 @@ public class MenuListener {
         result.ifPresent(gameName -> {
             Game game;
             try {
-                game = gameDAO.loadGame(gameName);
+                game = getGameDAO().loadGame(gameName);
                 System.out.println("Game loaded successfully: " + gameName);
             } catch (SQLException e) {
                 System.out.println("Failed to load game settings from: " + gameName);
@@ -228,7 +272,6 @@ public class MenuListener {
             double speed = gameController.getGame().getBall().getSpeed();
             double speedFrequency = gameController.getGame().getBall().getSpeedIncreaseFrequency();
             gameController.setGame(game);
-            gameController.adjustGameComponentsToCurrentWindowSize(game);
             this.setRacketSize(playerRacketSize);
             this.setRacketSize(playerRacketThick);
             this.setSpeedIncreaseFrequency(speedFrequency);
@@ -238,16 +281,24 @@ public class MenuListener {
     }
 
     /**
-     * Loads game settings from a file and sets them in the game controller.
+     * Loads game settings from a file and sets them in the game controller. The save is deserialised on a background
+     * thread and the settings are set on the JavaFX application thread once loaded.
      * @param filename The name of the file to load settings from.
      */
     public void loadGameSettings(String filename) {
-        try {
-            gameController.setSetting(gameSaver.loadSettings(filename));
-            System.out.println("Game loaded successfully from " + filename);
-        } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Failed to load game settings from " + filename + ": " + e.getMessage());
-        }
+        Thread loader = new Thread(() -> {
+            try {
+                GameSettings settings = gameSaver.loadSettings(filename);
+                Platform.runLater(() -> {
+                    gameController.setSetting(settings);
+                    System.out.println("Game loaded successfully from " + filename);
+                });
+            } catch (IOException | ClassNotFoundException e) {
+                System.err.println("Failed to load game settings from " + filename + ": " + e.getMessage());
+            }
+        }, "save-loader");
+        loader.setDaemon(true);
+        loader.start();
     }
 
     /**
@@ -255,10 +306,9 @@ public class MenuListener {
      */
     public void loadAndResumeLatestGame() {
         try {
-            Game latestGame = gameDAO.loadLatestGame();
+            Game latestGame = getGameDAO().loadLatestGame();
             if (latestGame != null) {
                 gameController.setGame(latestGame);
-                gameController.adjustGameComponentsToCurrentWindowSize(latestGame);
                 sceneController.toGame(); // Switch to the game scene
             } else {
                 System.out.println("No saved games to load.");
@@ -299,10 +349,10 @@ public class MenuListener {
     }
 
     /**
-     * Restarts the game.
+     * Restarts the game. The game session stops its loop while the game is reset, so no tick sees a half-reset game.
      */
     public void restart() {
-        game.resetGame();
+        session.restart();
         canvas.requestFocus();
     }
 
@@ -310,7 +360,7 @@ public class MenuListener {
      * Pauses the game.
      */
     public void pause() {
-        gameController.pauseGame();
+        session.pause();
         canvas.requestFocus();
     }
 
@@ -318,7 +368,7 @@ public class MenuListener {
      * Resumes the game.
      */
     public void play() {
-        gameController.resumeGame();
+        session.resume();
         canvas.requestFocus();
     }
 
@@ -396,6 +446,34 @@ public class MenuListener {
         }
     }
 
+    /**
+     * Chooses who controls player 2's racket.
+     *
+     * @param difficulty The difficulty of the computer player, or null for a human player on the keyboard.
+     */
+    public void setPlayer2Control(CpuPlayer.Difficulty difficulty) {
+        if (difficulty == null) {
+            gameController.setCpuPlayer2(null);
+        } else {
+            gameController.setCpuPlayer2(new CpuPlayer(false, difficulty, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Sets the number of extra balls for the multi-ball mode.
+     *
+     * @param count The number of extra balls, or 0 for a classic game with a single ball.
+     */
+    public void setExtraBalls(int count) {
+        if (count <= 0) {
+            game.setExtraBalls(null);
+        } else {
+            BallSwarm extraBalls = new BallSwarm(count, System.nanoTime());
+            extraBalls.resetPositions(game.getWidth(), game.getHeight());
+            game.setExtraBalls(extraBalls);
+        }
+    }
+
     /**
      * Sets the winning score for the game.
      *
@@ -0,0 +1,169 @@
+package com.example.pingpong.Controller;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Singleton holding the application's runtime metrics. The game loops, the view and the database code update plain
+ * atomic counters and {@link LatencyHistogram}s here, which never lock, so recording a metric costs a few atomic
+ * operations on the hot path. {@link MetricsServer} reads them when it is scraped.
+ */
+public class Metrics {
+    private static Metrics instance;
+
+    private final LongAdder ticks = new LongAdder();
+    private final LatencyHistogram tickLateness = new LatencyHistogram();
+    private final AtomicInteger headlessSessions = new AtomicInteger();
+    private final LongAdder headlessMatches = new LongAdder();
+    private final LongAdder framesRendered = new LongAdder();
+    private final LongAdder runLaterSubmitted = new LongAdder();
+    private final AtomicLong runLaterPending = new AtomicLong();
+    private final Map<String, LatencyHistogram> daoLatency = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> daoErrors = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    private final LongAdder connectionsOpened = new LongAdder();
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private Metrics() {}
+
+    /**
+     * Provides access to the singleton instance of {@link Metrics}.
+     *
+     * @return The single instance of the {@link Metrics}.
+     */
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Records one tick of a game loop.
+     *
+     * @param latenessNanos How much later than scheduled the tick started.
+     */
+    public void recordTick(long latenessNanos) {
+        ticks.increment();
+        tickLateness.record(latenessNanos);
+    }
+
+    /**
+     * Records a headless match that was played to the end without a loop, as tournaments do. Its ticks are counted
+     * but have no lateness.
+     *
+     * @param matchTicks The number of ticks the match took.
+     */
+    public void recordHeadlessMatch(long matchTicks) {
+        ticks.add(matchTicks);
+        headlessMatches.increment();
+    }
+
+    /**
+     * Records that a headless session or match started running.
+     */
+    public void headlessSessionStarted() {
+        headlessSessions.incrementAndGet();
+    }
+
+    /**
+     * Records that a headless session or match stopped running.
+     */
+    public void headlessSessionStopped() {
+        headlessSessions.decrementAndGet();
+    }
+
+    /**
+     * Records one frame drawn by the game view.
+     */
+    public void recordFrame() {
+        framesRendered.increment();
+    }
+
+    /**
+     * Wraps a task for {@code Platform.runLater} so that it is counted as pending until the FX thread has run it.
+     *
+     * @param task The task to run on the FX thread.
+     * @return The wrapped task.
+     */
+    public Runnable trackRunLater(Runnable task) {
+        runLaterSubmitted.increment();
+        runLaterPending.incrementAndGet();
+        return () -> {
+            runLaterPending.decrementAndGet();
+            task.run();
+        };
+    }
+
+    /**
+     * Records the duration of one call to a data access method.
+     *
+     * @param method The name of the {@link IGameDAO} method.
+     * @param nanos  How long the call took.
+     * @param failed true if the call threw an exception.
+     */
+    public void recordDaoCall(String method, long nanos, boolean failed) {
+        daoLatency.computeIfAbsent(method, key -> new LatencyHistogram()).record(nanos);
+        if (failed) daoErrors.computeIfAbsent(method, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records how long getting a database connection took.
+     *
+     * @param nanos  How long it took.
+     * @param opened true if a new connection had to be opened, false if the open connection was reused.
+     */
+    public void recordConnectionAcquire(long nanos, boolean opened) {
+        connectionAcquire.record(nanos);
+        if (opened) connectionsOpened.increment();
+    }
+
+    public long getTicks() {
+        return ticks.sum();
+    }
+
+    public LatencyHistogram getTickLateness() {
+        return tickLateness;
+    }
+
+    public int getHeadlessSessions() {
+        return headlessSessions.get();
+    }
+
+    public long getHeadlessMatches() {
+        return headlessMatches.sum();
+    }
+
+    public long getFramesRendered() {
+        return framesRendered.sum();
+    }
+
+    public long getRunLaterSubmitted() {
+        return runLaterSubmitted.sum();
+    }
+
+    public long getRunLaterPending() {
+        return runLaterPending.get();
+    }
+
+    public Map<String, LatencyHistogram> getDaoLatency() {
+        return daoLatency;
+    }
+
+    public Map<String, LongAdder> getDaoErrors() {
+        return daoErrors;
+    }
+
+    public LatencyHistogram getConnectionAcquire() {
+        return connectionAcquire;
+    }
+
+    public long getConnectionsOpened() {
+        return connectionsOpened.sum();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.pingpong.Controller;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the {@link Metrics}, the query timings of the {@link QueryLog} and the JVM's heap and garbage collection
+ * figures on the loopback interface in the Prometheus text format, at {@code /metrics}. The slow-query log is served
+ * as plain text at {@code /slow-queries}. A scrape only reads atomic counters on the server's own thread, so it
+ * never blocks a game loop, the FX thread or a database call. Rates such as ticks per second and rendered frames per
+ * second are left to the scraper, which derives them from the counters.
+ */
+public class MetricsServer {
+    /** System property holding the port to serve the metrics on. */
+    public static final String PORT_PROPERTY = "pingpong.metricsPort";
+    /** Content type of the Prometheus text format. */
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final HttpServer server;
+    private final Metrics metrics;
+
+    /**
+     * Constructs a server listening on the loopback interface. It does not answer until {@link #start()}.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the server socket cannot be opened.
+     */
+    public MetricsServer(int port) throws IOException {
+        this.metrics = Metrics.getInstance();
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/metrics", exchange -> respond(exchange, render()));
+        server.createContext("/slow-queries", exchange -> respond(exchange, renderSlowQueries()));
+        server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Starts a server on the loopback port given by the {@value #PORT_PROPERTY} system property. Does nothing if the
+     * property is not set, and reports on stderr if the server cannot be started.
+     *
+     * @return The started server, or null if none was started.
+     */
+    public static MetricsServer startFromSystemProperty() {
+        String port = System.getProperty(PORT_PROPERTY);
+        if (port == null) return null;
+        try {
+            MetricsServer server = new MetricsServer(Integer.parseInt(port));
+            server.start();
+            System.out.println("Metrics are served on http://localhost:" + server.getPort() + "/metrics");
+            return server;
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to start metrics server on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Starts answering scrapes.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void respond(HttpExchange exchange, String text) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text format.
+     *
+     * @return The metrics.
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder(8192);
+
+        header(out, "pingpong_active_sessions", "gauge", "Game loops currently running.");
+        sample(out, "pingpong_active_sessions", "kind=\"screen\"", GameSession.getLiveLoopCount());
+        sample(out, "pingpong_active_sessions", "kind=\"headless\"", metrics.getHeadlessSessions());
+        counter(out, "pingpong_session_starts_total", "On-screen game loops started.", GameSession.getStartCount());
+        counter(out, "pingpong_session_stops_total", "On-screen game loops stopped.", GameSession.getStopCount());
+        counter(out, "pingpong_session_leaks_total", "On-screen game loops that did not stop in time.", GameSession.getLeakCount());
+        counter(out, "pingpong_ticks_total", "Game ticks simulated by all loops and headless matches.", metrics.getTicks());
+        counter(out, "pingpong_headless_matches_total", "Headless matches played to the end.", metrics.getHeadlessMatches());
+        header(out, "pingpong_tick_lateness_seconds", "histogram", "How much later than scheduled game loop ticks started.");
+        histogram(out, "pingpong_tick_lateness_seconds", null, metrics.getTickLateness());
+
+        counter(out, "pingpong_frames_rendered_total", "Frames drawn by the game view.", metrics.getFramesRendered());
+        counter(out, "pingpong_runlater_submitted_total", "Tasks handed to Platform.runLater by the game loop.", metrics.getRunLaterSubmitted());
+        header(out, "pingpong_runlater_pending", "gauge", "Tasks handed to Platform.runLater that the FX thread has not run yet.");
+        sample(out, "pingpong_runlater_pending", null, metrics.getRunLaterPending());
+
+        header(out, "pingpong_dao_call_seconds", "histogram", "Duration of calls to the game data access object, per method.");
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(metrics.getDaoLatency()).entrySet()) {
+            histogram(out, "pingpong_dao_call_seconds", "method=\"" + entry.getKey() + "\"", entry.getValue());
+        }
+        header(out, "pingpong_dao_errors_total", "counter", "Calls to the game data access object that failed, per method.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(metrics.getDaoErrors()).entrySet()) {
+            sample(out, "pingpong_dao_errors_total", "method=\"" + entry.getKey() + "\"", entry.getValue().sum());
+        }
+        header(out, "pingpong_db_connection_acquire_seconds", "histogram", "Time taken to get the database connection.");
+        histogram(out, "pingpong_db_connection_acquire_seconds", null, metrics.getConnectionAcquire());
+        counter(out, "pingpong_db_connections_opened_total", "Database connections opened.", metrics.getConnectionsOpened());
+        renderQueries(out);
+
+        renderJvm(out);
+        return out.toString();
+    }
+
+    private void renderQueries(StringBuilder out) {
+        Map<String, QueryLog.StatementStats> statements = new TreeMap<>(QueryLog.getInstance().getStatements());
+        header(out, "pingpong_db_query_seconds", "histogram", "Duration of database queries per statement, in total and per phase.");
+        for (Map.Entry<String, QueryLog.StatementStats> entry : statements.entrySet()) {
+            String statement = "statement=\"" + entry.getKey() + "\",phase=";
+            QueryLog.StatementStats stats = entry.getValue();
+            histogram(out, "pingpong_db_query_seconds", statement + "\"total\"", stats.getTotal());
+            histogram(out, "pingpong_db_query_seconds", statement + "\"acquire\"", stats.getAcquire());
+            histogram(out, "pingpong_db_query_seconds", statement + "\"execute\"", stats.getExecute());
+            histogram(out, "pingpong_db_query_seconds", statement + "\"materialize\"", stats.getMaterialize());
+        }
+        header(out, "pingpong_db_query_rows_total", "counter", "Rows read or changed by database queries, per statement.");
+        for (Map.Entry<String, QueryLog.StatementStats> entry : statements.entrySet()) {
+            sample(out, "pingpong_db_query_rows_total", "statement=\"" + entry.getKey() + "\"", entry.getValue().getRows());
+        }
+        header(out, "pingpong_db_query_errors_total", "counter", "Database queries that failed, per statement.");
+        for (Map.Entry<String, QueryLog.StatementStats> entry : statements.entrySet()) {
+            sample(out, "pingpong_db_query_errors_total", "statement=\"" + entry.getKey() + "\"", entry.getValue().getErrors());
+        }
+        counter(out, "pingpong_db_slow_queries_total", "Database queries over the slow-query threshold or failed.",
+                QueryLog.getInstance().getSlowQueryCount());
+    }
+
+    /**
+     * Renders the slow-query log as plain text, newest entry first.
+     *
+     * @return The slow-query log.
+     */
+    public String renderSlowQueries() {
+        QueryLog queryLog = QueryLog.getInstance();
+        List<QueryLog.SlowQuery> entries = queryLog.getSlowQueries();
+        StringBuilder out = new StringBuilder();
+        out.append("# ").append(entries.size()).append(" of ").append(queryLog.getSlowQueryCount())
+                .append(" queries over ").append(queryLog.getSlowQueryThresholdMillis()).append(" ms or failed\n");
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            out.append(entries.get(i)).append('\n');
+        }
+        return out.toString();
+    }
+
+    private void renderJvm(StringBuilder out) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        header(out, "jvm_memory_heap_bytes", "gauge", "Heap memory of the JVM.");
+        sample(out, "jvm_memory_heap_bytes", "area=\"used\"", heap.getUsed());
+        sample(out, "jvm_memory_heap_bytes", "area=\"committed\"", heap.getCommitted());
+        sample(out, "jvm_memory_heap_bytes", "area=\"max\"", heap.getMax());
+
+        header(out, "jvm_gc_collections_total", "counter", "Garbage collections, per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collections_total", "gc=\"" + gc.getName() + "\"", gc.getCollectionCount());
+        }
+        header(out, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collections, per collector.");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample(out, "jvm_gc_collection_seconds_total", "gc=\"" + gc.getName() + "\"", gc.getCollectionTime() / 1000.0);
+        }
+
+        header(out, "jvm_threads_live", "gauge", "Live platform threads.");
+        sample(out, "jvm_threads_live", null, ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, "counter", help);
+        sample(out, name, null, value);
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) out.append('{').append(labels).append('}');
+        out.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Writes a histogram with cumulative buckets; the power-of-two microsecond bounds are converted to seconds.
+     */
+    private static void histogram(StringBuilder out, String name, String labels, LatencyHistogram histogram) {
+        String prefix = labels == null ? "" : labels + ",";
+        long cumulative = 0;
+        for (int b = 0; b < LatencyHistogram.BUCKETS - 1; b++) {
+            cumulative += histogram.getBucket(b);
+            double bound = LatencyHistogram.upperBoundMicros(b) / 1_000_000.0;
+            sample(out, name + "_bucket", prefix + "le=\"" + bound + "\"", cumulative);
+        }
+        cumulative += histogram.getBucket(LatencyHistogram.BUCKETS - 1);
+        sample(out, name + "_bucket", prefix + "le=\"+Inf\"", cumulative);
+        sample(out, name + "_sum", labels, histogram.getSumNanos() / 1_000_000_000.0);
+        sample(out, name + "_count", labels, cumulative);
+    }
+}
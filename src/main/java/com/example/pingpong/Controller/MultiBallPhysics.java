@@ -0,0 +1,241 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.BallSwarm;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.Racket;
+
+import java.util.Arrays;
+
+/**
+ * Simulates the extra balls of the multi-ball mode: moving them, bouncing them off the walls, the rackets and each
+ * other, and detecting points. Collision candidates come from a uniform grid broadphase rebuilt every tick with a
+ * counting sort into preallocated arrays, so a tick costs about O(n) instead of testing all n² pairs and does not
+ * allocate. The cells are as wide as a ball, so two touching balls are always in the same or neighbouring cells.
+ */
+public class MultiBallPhysics {
+    /** Largest speed along each axis, kept below the ball radius so balls cannot tunnel through rackets or each other. */
+    private static final double MAX_SPEED = 7.0;
+
+    /** Speed added along the x axis each time an extra ball is hit by a racket. */
+    private static final double SPEED_INCREASE = 0.25;
+
+    private static final double CELL_SIZE = BallSwarm.RADIUS * 2;
+
+    private final BallSwarm swarm;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellBalls;
+    private final int[] cellCursor;
+    private final int[] ballCell;
+
+    private int pointsPlayer1;
+    private int pointsPlayer2;
+    private long pairTests;
+
+    /**
+     * Constructs the physics for a game's extra balls and allocates the broadphase grid for its table size.
+     *
+     * @param game The game whose extra balls to simulate; its swarm must be set.
+     */
+    public MultiBallPhysics(Game game) {
+        this.swarm = game.getExtraBalls();
+        this.columns = (int) Math.ceil(game.getWidth() / CELL_SIZE);
+        this.rows = (int) Math.ceil(game.getHeight() / CELL_SIZE);
+        this.cellStart = new int[columns * rows + 1];
+        this.cellCursor = new int[columns * rows];
+        this.cellBalls = new int[swarm.getCount()];
+        this.ballCell = new int[swarm.getCount()];
+    }
+
+    /**
+     * Advances all extra balls by one tick. Scores are not changed; the points made during the tick are available
+     * from {@link #getPointsPlayer1()} and {@link #getPointsPlayer2()} afterwards.
+     *
+     * @param game The game being played.
+     */
+    public void step(Game game) {
+        pointsPlayer1 = 0;
+        pointsPlayer2 = 0;
+        pairTests = 0;
+
+        moveAndScore(game);
+        buildGrid();
+        collideBalls();
+        collideRacket(game.getPlayer1().getRacket(), true);
+        collideRacket(game.getPlayer2().getRacket(), false);
+    }
+
+    /**
+     * Moves every ball, bounces it off the top and bottom walls, and serves it again from the middle if it went past
+     * a racket.
+     */
+    private void moveAndScore(Game game) {
+        double[] posX = swarm.getPosX();
+        double[] posY = swarm.getPosY();
+        double[] velX = swarm.getVelX();
+        double[] velY = swarm.getVelY();
+        double radius = BallSwarm.RADIUS;
+        double width = game.getWidth();
+        double height = game.getHeight();
+
+        for (int i = 0; i < swarm.getCount(); i++) {
+            posX[i] += velX[i];
+            posY[i] += velY[i];
+            if (posY[i] - radius <= 0) {
+                posY[i] = radius;
+                velY[i] = Math.abs(velY[i]);
+            } else if (posY[i] + radius >= height) {
+                posY[i] = height - radius;
+                velY[i] = -Math.abs(velY[i]);
+            }
+
+            if (posX[i] < GameRules.GOAL_MARGIN) {
+                pointsPlayer2++;
+                swarm.respawn(i, width, height);
+            } else if (posX[i] > width - GameRules.GOAL_MARGIN) {
+                pointsPlayer1++;
+                swarm.respawn(i, width, height);
+            }
+        }
+    }
+
+    /**
+     * Sorts the balls into grid cells: count the balls per cell, turn the counts into start offsets, then place each
+     * ball. Afterwards the balls of cell c are {@code cellBalls[cellStart[c]]} to {@code cellBalls[cellStart[c + 1] - 1]}.
+     */
+    private void buildGrid() {
+        double[] posX = swarm.getPosX();
+        double[] posY = swarm.getPosY();
+        Arrays.fill(cellStart, 0);
+
+        for (int i = 0; i < swarm.getCount(); i++) {
+            int cell = cellIndex(column(posX[i]), row(posY[i]));
+            ballCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 1; c < cellStart.length; c++) {
+            cellStart[c] += cellStart[c - 1];
+        }
+        System.arraycopy(cellStart, 0, cellCursor, 0, cellCursor.length);
+        for (int i = 0; i < swarm.getCount(); i++) {
+            cellBalls[cellCursor[ballCell[i]]++] = i;
+        }
+    }
+
+    /**
+     * Tests each ball against the balls in its own and the eight neighbouring cells, handling every pair once.
+     */
+    private void collideBalls() {
+        for (int i = 0; i < swarm.getCount(); i++) {
+            int column = ballCell[i] % columns;
+            int row = ballCell[i] / columns;
+            for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                for (int c = Math.max(0, column - 1); c <= Math.min(columns - 1, column + 1); c++) {
+                    int cell = cellIndex(c, r);
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int j = cellBalls[k];
+                        if (j > i) collidePair(i, j);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves a collision between two balls of equal mass: the parts of their velocities along the line between
+     * their centres are exchanged, and the balls are pushed apart so they no longer overlap.
+     */
+    private void collidePair(int i, int j) {
+        pairTests++;
+        double[] posX = swarm.getPosX();
+        double[] posY = swarm.getPosY();
+        double[] velX = swarm.getVelX();
+        double[] velY = swarm.getVelY();
+
+        double dx = posX[j] - posX[i];
+        double dy = posY[j] - posY[i];
+        double distanceSquared = dx * dx + dy * dy;
+        double minDistance = BallSwarm.RADIUS * 2;
+        if (distanceSquared >= minDistance * minDistance || distanceSquared == 0) return;
+
+        double distance = Math.sqrt(distanceSquared);
+        double nx = dx / distance;
+        double ny = dy / distance;
+
+        double approachSpeed = (velX[i] - velX[j]) * nx + (velY[i] - velY[j]) * ny;
+        if (approachSpeed > 0) {
+            velX[i] -= approachSpeed * nx;
+            velY[i] -= approachSpeed * ny;
+            velX[j] += approachSpeed * nx;
+            velY[j] += approachSpeed * ny;
+        }
+
+        double push = (minDistance - distance) / 2;
+        posX[i] -= push * nx;
+        posY[i] -= push * ny;
+        posX[j] += push * nx;
+        posY[j] += push * ny;
+    }
+
+    /**
+     * Bounces the balls touching a racket, looking only at the grid cells the racket covers. Like the main ball, an
+     * extra ball is sent back faster and is deflected up or down depending on where it hit the racket.
+     */
+    private void collideRacket(Racket racket, boolean player1) {
+        double[] posX = swarm.getPosX();
+        double[] posY = swarm.getPosY();
+        double[] velX = swarm.getVelX();
+        double[] velY = swarm.getVelY();
+        double radius = BallSwarm.RADIUS;
+        double left = racket.getPosX();
+        double right = left + racket.getWidth();
+        double top = racket.getPosY();
+        double bottom = top + racket.getLength();
+
+        for (int r = row(top - radius); r <= row(bottom + radius); r++) {
+            for (int c = column(left - radius); c <= column(right + radius); c++) {
+                int cell = cellIndex(c, r);
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellBalls[k];
+                    double closestX = Math.max(left, Math.min(posX[i], right));
+                    double closestY = Math.max(top, Math.min(posY[i], bottom));
+                    double dx = posX[i] - closestX;
+                    double dy = posY[i] - closestY;
+                    if (dx * dx + dy * dy > radius * radius) continue;
+
+                    double speed = Math.min(MAX_SPEED, Math.abs(velX[i]) + SPEED_INCREASE);
+                    velX[i] = player1 ? speed : -speed;
+                    posX[i] = player1 ? right + radius : left - radius;
+
+                    double relativeHitPosition = (posY[i] - (top + bottom) / 2) / ((bottom - top) / 2);
+                    velY[i] = Math.max(-MAX_SPEED, Math.min(MAX_SPEED, velY[i] + relativeHitPosition * speed * 0.5));
+                }
+            }
+        }
+    }
+
+    private int column(double x) {
+        return Math.max(0, Math.min(columns - 1, (int) (x / CELL_SIZE)));
+    }
+
+    private int row(double y) {
+        return Math.max(0, Math.min(rows - 1, (int) (y / CELL_SIZE)));
+    }
+
+    private int cellIndex(int column, int row) {
+        return row * columns + column;
+    }
+
+    public int getPointsPlayer1() {
+        return pointsPlayer1;
+    }
+
+    public int getPointsPlayer2() {
+        return pointsPlayer2;
+    }
+
+    public long getPairTests() {
+        return pairTests;
+    }
+}
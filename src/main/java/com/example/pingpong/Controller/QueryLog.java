@@ -0,0 +1,239 @@
+package com.example.pingpong.Controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Singleton collecting the {@link QueryTrace}s of all database queries. Every query feeds latency histograms of its
+ * statement, one for the whole call and one per phase, which only take lock-free increments. Queries slower than a
+ * threshold, and failed queries, are also kept in a slow-query log with their SQL and parameters, so a latency spike
+ * can be traced back to the statement and the data that caused it. The log keeps the newest
+ * {@value #SLOW_LOG_CAPACITY} entries.
+ *
+ * <p>The threshold is read from the {@code pingpong.slowQueryMillis} system property, {@value #DEFAULT_SLOW_QUERY_MILLIS}
+ * ms if not set, and can be changed with {@link #setSlowQueryThresholdMillis(long)}.</p>
+ */
+public class QueryLog {
+    /** Slow-query threshold in milliseconds when the system property is not set. */
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = 100;
+    /** Number of entries the slow-query log keeps. */
+    public static final int SLOW_LOG_CAPACITY = 100;
+
+    private static QueryLog instance;
+
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>(SLOW_LOG_CAPACITY);
+    private final LongAdder slowQueryCount = new LongAdder();
+    private volatile long slowQueryThresholdNanos;
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private QueryLog() {
+        setSlowQueryThresholdMillis(Long.getLong("pingpong.slowQueryMillis", DEFAULT_SLOW_QUERY_MILLIS));
+    }
+
+    /**
+     * Provides access to the singleton instance of {@link QueryLog}.
+     *
+     * @return The single instance of the {@link QueryLog}.
+     */
+    public static synchronized QueryLog getInstance() {
+        if (instance == null) {
+            instance = new QueryLog();
+        }
+        return instance;
+    }
+
+    /**
+     * Records a finished query.
+     *
+     * @param trace               The trace of the query.
+     * @param acquireNanos        Time taken to get the connection.
+     * @param executeNanos        Time taken to prepare and execute the statement.
+     * @param materializeNanos    Time taken to read the result.
+     */
+    void record(QueryTrace trace, long acquireNanos, long executeNanos, long materializeNanos) {
+        long totalNanos = acquireNanos + executeNanos + materializeNanos;
+        StatementStats stats = statements.computeIfAbsent(trace.getStatement(), key -> new StatementStats());
+        stats.total.record(totalNanos);
+        stats.acquire.record(acquireNanos);
+        stats.execute.record(executeNanos);
+        stats.materialize.record(materializeNanos);
+        stats.rows.add(trace.getRows());
+        if (trace.getError() != null) stats.errors.increment();
+
+        if (totalNanos >= slowQueryThresholdNanos || trace.getError() != null) {
+            slowQueryCount.increment();
+            SlowQuery entry = new SlowQuery(trace.getStartMillis(), trace.getStatement(), trace.getSql(),
+                    Arrays.deepToString(trace.getParameters()), acquireNanos, executeNanos, materializeNanos,
+                    trace.getRows(), trace.getError() == null ? null : trace.getError().getMessage());
+            synchronized (slowQueries) {
+                if (slowQueries.size() == SLOW_LOG_CAPACITY) slowQueries.removeFirst();
+                slowQueries.addLast(entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the entries of the slow-query log.
+     *
+     * @return The entries, oldest first.
+     */
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    /**
+     * Sets how long a query must take to be logged as slow.
+     *
+     * @param millis The threshold in milliseconds.
+     */
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowQueryThresholdNanos = millis * 1_000_000L;
+    }
+
+    public long getSlowQueryThresholdMillis() {
+        return slowQueryThresholdNanos / 1_000_000L;
+    }
+
+    public long getSlowQueryCount() {
+        return slowQueryCount.sum();
+    }
+
+    public Map<String, StatementStats> getStatements() {
+        return statements;
+    }
+
+    /**
+     * The latency histograms and counters of one statement.
+     */
+    public static class StatementStats {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram acquire = new LatencyHistogram();
+        private final LatencyHistogram execute = new LatencyHistogram();
+        private final LatencyHistogram materialize = new LatencyHistogram();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        public LatencyHistogram getTotal() {
+            return total;
+        }
+
+        public LatencyHistogram getAcquire() {
+            return acquire;
+        }
+
+        public LatencyHistogram getExecute() {
+            return execute;
+        }
+
+        public LatencyHistogram getMaterialize() {
+            return materialize;
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+
+    /**
+     * One entry of the slow-query log.
+     */
+    public static class SlowQuery {
+        private final long timeMillis;
+        private final String statement;
+        private final String sql;
+        private final String parameters;
+        private final long acquireNanos;
+        private final long executeNanos;
+        private final long materializeNanos;
+        private final long rows;
+        private final String error;
+
+        /**
+         * Constructs a slow-query log entry.
+         *
+         * @param timeMillis       When the query started, in milliseconds since the epoch.
+         * @param statement        The name of the statement.
+         * @param sql              The SQL of the statement.
+         * @param parameters       The parameters bound to the statement.
+         * @param acquireNanos     Time taken to get the connection.
+         * @param executeNanos     Time taken to prepare and execute the statement.
+         * @param materializeNanos Time taken to read the result.
+         * @param rows             Rows read or changed.
+         * @param error            The error message if the query failed, or null.
+         */
+        public SlowQuery(long timeMillis, String statement, String sql, String parameters, long acquireNanos,
+                         long executeNanos, long materializeNanos, long rows, String error) {
+            this.timeMillis = timeMillis;
+            this.statement = statement;
+            this.sql = sql;
+            this.parameters = parameters;
+            this.acquireNanos = acquireNanos;
+            this.executeNanos = executeNanos;
+            this.materializeNanos = materializeNanos;
+            this.rows = rows;
+            this.error = error;
+        }
+
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        public String getStatement() {
+            return statement;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public String getParameters() {
+            return parameters;
+        }
+
+        public long getAcquireNanos() {
+            return acquireNanos;
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos;
+        }
+
+        public long getMaterializeNanos() {
+            return materializeNanos;
+        }
+
+        public long getTotalNanos() {
+            return acquireNanos + executeNanos + materializeNanos;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%tFT%<tT.%<tL %s %.3f ms (acquire %.3f, execute %.3f, materialize %.3f) rows=%d%s%n  %s%n  params=%s",
+                    timeMillis, statement, getTotalNanos() / 1e6, acquireNanos / 1e6, executeNanos / 1e6,
+                    materializeNanos / 1e6, rows, error == null ? "" : " error=" + error, sql, parameters);
+        }
+    }
+}
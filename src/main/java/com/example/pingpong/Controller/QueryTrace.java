@@ -0,0 +1,128 @@
+package com.example.pingpong.Controller;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Times one database query through its phases: getting the connection, executing the statement, and reading the
+ * rows of the result into objects. {@link DatabaseManager} starts a trace for every call, marks the phases as they
+ * end and finishes the trace in a {@code finally} block, which hands it to the {@link QueryLog}. A trace is used by one
+ * thread only.
+ */
+public class QueryTrace {
+    private final String statement;
+    private final String sql;
+    private final Object[] parameters;
+    private final long startNanos = System.nanoTime();
+    private final long startMillis = System.currentTimeMillis();
+
+    private long acquiredNanos;
+    private long executedNanos;
+    private long rows;
+    private SQLException error;
+
+    private QueryTrace(String statement, String sql, Object[] parameters) {
+        this.statement = statement;
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Starts tracing a query.
+     *
+     * @param statement  A short name for the statement, used to group its timings.
+     * @param sql        The SQL of the statement.
+     * @param parameters The parameters bound to the statement, kept for the slow-query log.
+     * @return The trace.
+     */
+    public static QueryTrace start(String statement, String sql, Object... parameters) {
+        return new QueryTrace(statement, sql, parameters);
+    }
+
+    /**
+     * Gets the database connection, timing how long that takes.
+     *
+     * @return The connection from {@link DatabaseConnection#getConnection()}.
+     * @throws SQLException If there is an error connecting to the database.
+     */
+    public Connection connect() throws SQLException {
+        return connected(DatabaseConnection.getConnection());
+    }
+
+    /**
+     * Marks the end of getting a connection the caller obtained itself.
+     *
+     * @param connection The connection the query runs on.
+     * @return The same connection.
+     */
+    public Connection connected(Connection connection) {
+        acquiredNanos = System.nanoTime();
+        return connection;
+    }
+
+    /**
+     * Marks the end of executing the statement; reading the result starts here.
+     */
+    public void executed() {
+        executedNanos = System.nanoTime();
+    }
+
+    /**
+     * Counts one row read from the result.
+     */
+    public void rowFetched() {
+        rows++;
+    }
+
+    /**
+     * Counts rows changed by an update or batch.
+     *
+     * @param count The number of rows.
+     */
+    public void rowsAffected(long count) {
+        rows += count;
+    }
+
+    /**
+     * Marks the query as failed.
+     *
+     * @param error The exception the query failed with.
+     */
+    public void failed(SQLException error) {
+        this.error = error;
+    }
+
+    /**
+     * Ends the trace and records it in the {@link QueryLog}. A phase that was never reached takes no time.
+     */
+    public void finish() {
+        long endNanos = System.nanoTime();
+        long acquired = acquiredNanos == 0 ? endNanos : acquiredNanos;
+        long executed = executedNanos == 0 ? endNanos : executedNanos;
+        QueryLog.getInstance().record(this, acquired - startNanos, executed - acquired, endNanos - executed);
+    }
+
+    public String getStatement() {
+        return statement;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Object[] getParameters() {
+        return parameters;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public SQLException getError() {
+        return error;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+
+/**
+ * Interface for anything that moves a racket without the keyboard, such as a computer player or a trained bot.
+ */
+public interface RacketController {
+    /**
+     * Called once per simulation tick to let the controller move its racket.
+     *
+     * @param game The game being played.
+     */
+    void update(Game game);
+}
@@ -0,0 +1,178 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+import com.example.pingpong.Model.Player;
+import com.example.pingpong.Model.Replay;
+import com.example.pingpong.View.GameView;
+import javafx.application.Platform;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Plays a {@link Replay} back into a game and draws it through the {@link GameView}. Playback runs at a speed between
+ * {@value #MIN_SPEED}x and {@value #MAX_SPEED}x of real time by simulating a varying number of recorded ticks per
+ * loop tick, and can jump to any tick with {@link #seek(int)}. Like {@link BallManager}, the player can run its own
+ * loop or be ticked by a scheduler.
+ */
+public class ReplayPlayer implements Runnable {
+    /** Slowest playback speed, as a multiple of real time. */
+    public static final double MIN_SPEED = 0.25;
+    /** Fastest playback speed, as a multiple of real time. */
+    public static final double MAX_SPEED = 64;
+
+    private static final long TICK_NANOS = BallManager.TICK_MILLIS * 1_000_000L;
+
+    private final Replay replay;
+    private final Game game;
+    private final GameView gameView;
+
+    private volatile double speed = 1;
+    private volatile boolean paused;
+    // Tick asked for by seek, or -1; taken with getAndSet so a seek made while one is handled is never lost
+    private final AtomicInteger seekTarget = new AtomicInteger(-1);
+    private int tick;
+    private double pendingTicks;
+    private long lastTickNanos;
+
+    /**
+     * Constructs a player for a replay, positioned at its first tick.
+     *
+     * @param replay   The replay to play back.
+     * @param game     The game to play the replay into.
+     * @param gameView The view to draw the game on, or null to play back without drawing.
+     */
+    public ReplayPlayer(Replay replay, Game game, GameView gameView) {
+        this.replay = replay;
+        this.game = game;
+        this.gameView = gameView;
+        seekNow(0);
+    }
+
+    /**
+     * The main run loop of the player. Ticks the playback every {@link BallManager#TICK_MILLIS} milliseconds until
+     * the thread is interrupted.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            try {
+                Thread.sleep(BallManager.TICK_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return; // Exit loop
+            }
+            tick(System.nanoTime());
+        }
+    }
+
+    /**
+     * Advances the playback by the recorded ticks due since the last call at the current speed, handles a pending
+     * seek, and draws the game.
+     *
+     * @param nowNanos The current time from {@link System#nanoTime()}.
+     */
+    public void tick(long nowNanos) {
+        long elapsed = lastTickNanos == 0 ? 0 : nowNanos - lastTickNanos;
+        lastTickNanos = nowNanos;
+
+        int target = seekTarget.getAndSet(-1);
+        if (target >= 0) {
+            seekNow(target);
+        } else if (!paused && !isFinished()) {
+            pendingTicks += speed * elapsed / TICK_NANOS;
+            while (pendingTicks >= 1 && !isFinished()) {
+                simulateTick(game, replay, tick++);
+                pendingTicks--;
+            }
+        }
+
+        if (gameView != null) Platform.runLater(() -> gameView.drawGame(game));
+    }
+
+    /**
+     * Asks the playback to jump to a tick; the jump happens on the next {@link #tick(long)}, on the playback thread.
+     *
+     * @param target The tick to jump to, clamped to the part of the replay that is kept.
+     */
+    public void seek(int target) {
+        seekTarget.set(Math.max(replay.getFirstTick(), Math.min(target, replay.getTicks())));
+    }
+
+    /**
+     * Jumps to a tick right away, on the calling thread: restores the nearest keyframe at or before the tick and
+     * simulates forward from there. Takes at most one keyframe interval of simulation, however long the replay is.
+     *
+     * @param target The tick to jump to, clamped to the part of the replay that is kept.
+     */
+    public void seekNow(int target) {
+        target = Math.max(replay.getFirstTick(), Math.min(target, replay.getTicks()));
+        if (replay.getKeyframeCount() == 0) return;
+        GameSnapshot keyframe = replay.keyframeBefore(target);
+        keyframe.applyTo(game);
+        int from = (int) keyframe.getSequence();
+        for (int i = from; i < target; i++) {
+            simulateTick(game, replay, i);
+        }
+        tick = target;
+        pendingTicks = 0;
+    }
+
+    /**
+     * Simulates one recorded tick: puts the rackets where they were, moves the ball, and after a point puts the ball
+     * back in the middle, as the game loop does.
+     *
+     * @param game   The game to advance.
+     * @param replay The replay holding the recorded input.
+     * @param tick   The tick to simulate.
+     */
+    static void simulateTick(Game game, Replay replay, int tick) {
+        game.getPlayer1().getRacket().setPosY(replay.getRacket1Y(tick));
+        game.getPlayer2().getRacket().setPosY(replay.getRacket2Y(tick));
+        int point = GameRules.step(game);
+        if (point != GameRules.NO_POINT) {
+            Player scorer = point == GameRules.POINT_PLAYER1 ? game.getPlayer1() : game.getPlayer2();
+            scorer.scorePoint();
+            game.getBall().resetPosition(game.getWidth(), game.getHeight());
+            game.getBall().resetSpeed();
+        }
+    }
+
+    /**
+     * Checks whether the playback has reached the end of the replay.
+     *
+     * @return true if every recorded tick has been played, false otherwise.
+     */
+    public boolean isFinished() {
+        return tick >= replay.getTicks();
+    }
+
+    /**
+     * Sets the playback speed.
+     *
+     * @param speed The speed as a multiple of real time, clamped between {@link #MIN_SPEED} and {@link #MAX_SPEED}.
+     */
+    public void setSpeed(double speed) {
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+}
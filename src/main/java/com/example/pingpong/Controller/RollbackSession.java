@@ -0,0 +1,236 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+import com.example.pingpong.Model.MatchStatistics;
+import com.example.pingpong.Model.Player;
+import com.example.pingpong.Model.Racket;
+
+import java.util.Arrays;
+
+/**
+ * One player's side of a networked match using rollback: the local input is applied right away, and the remote
+ * player's input is predicted to be the same as on the tick before. When the real remote input for a past tick
+ * arrives and differs from the prediction, the game is restored to the state before that tick and re-simulated up to
+ * the current tick within the same frame, so the local player never waits for the network.
+ *
+ * <p>States and inputs are kept in rings allocated once when the session is created; saving and restoring a state
+ * copies it to and from a {@link GameSnapshot} in place, so ticking, predicting and rolling back allocate nothing. A
+ * session goes back at most {@code maxRollback} ticks: if the remote input is further behind than that, the session
+ * stalls, and {@link #advance(int)} returns false until the input has caught up.</p>
+ *
+ * <p>The game's {@link MatchStatistics} are saved with every state and restored with it, so a rollback takes back what
+ * the mispredicted ticks counted and counts the re-simulated ticks instead. Once every input has arrived, the
+ * statistics are those of a game that knew every input in advance.</p>
+ */
+public class RollbackSession {
+    /** No racket movement. */
+    public static final int INPUT_NONE = 0;
+    /** Move the racket up. */
+    public static final int INPUT_UP = 1;
+    /** Move the racket down. */
+    public static final int INPUT_DOWN = 2;
+
+    private final Game game;
+    private final boolean localIsPlayer1;
+    private final int maxRollback;
+    private final InputTransport transport;
+
+    // Rings indexed by tick modulo their capacity
+    private final int capacity;
+    private final GameSnapshot[] states;
+    private final MatchStatistics[] statistics;
+    private final int[] localInputs;
+    private final int[] remoteInputs;
+    private final int[] remoteConfirmedFrames;
+
+    private int frame;
+    private int lastConfirmedFrame = -1;
+    private int rollbackFrom = Integer.MAX_VALUE;
+
+    private long rollbacks;
+    private long resimulatedFrames;
+    private long stalls;
+    private int deepestRollback;
+    private long lastRollbackNanos;
+
+    /**
+     * Constructs a session starting from the current state of a game.
+     *
+     * @param game           The game to simulate; both players' sessions must start from the same state.
+     * @param localIsPlayer1 true if the local player plays player 1's racket, false for player 2's.
+     * @param maxRollback    Most ticks the session rolls back; also how far it runs ahead of the remote input.
+     * @param transport      The transport to the remote player's session.
+     */
+    public RollbackSession(Game game, boolean localIsPlayer1, int maxRollback, InputTransport transport) {
+        this.game = game;
+        this.localIsPlayer1 = localIsPlayer1;
+        this.maxRollback = maxRollback;
+        this.transport = transport;
+
+        // The remote session can run up to maxRollback ticks ahead, and rollback reaches maxRollback ticks back
+        this.capacity = 2 * (maxRollback + 1);
+        this.states = new GameSnapshot[capacity];
+        for (int i = 0; i < capacity; i++) states[i] = new GameSnapshot();
+        this.statistics = new MatchStatistics[capacity];
+        for (int i = 0; i < capacity; i++) statistics[i] = new MatchStatistics();
+        this.localInputs = new int[capacity];
+        this.remoteInputs = new int[capacity];
+        this.remoteConfirmedFrames = new int[capacity];
+        Arrays.fill(remoteConfirmedFrames, -1);
+    }
+
+    /**
+     * Simulates the next tick with the local player's input, after applying any remote input that has arrived and
+     * rolling back if it shows a prediction was wrong.
+     *
+     * @param localInput The local player's input for the tick: {@link #INPUT_NONE}, {@link #INPUT_UP} or
+     *                   {@link #INPUT_DOWN}.
+     * @return true if the tick was simulated, false if the session stalled waiting for remote input.
+     */
+    public boolean advance(int localInput) {
+        synchronize();
+        if (frame - lastConfirmedFrame > maxRollback) {
+            stalls++;
+            return false;
+        }
+
+        int slot = frame % capacity;
+        localInputs[slot] = localInput;
+        transport.send(frame, localInput);
+        if (remoteConfirmedFrames[slot] != frame) remoteInputs[slot] = predictRemote(frame);
+        save(slot);
+        simulate(frame);
+        frame++;
+        return true;
+    }
+
+    /**
+     * Applies the remote input that has arrived so far, and rolls back and re-simulates to the current tick if any
+     * of it differs from what was predicted. Does not simulate a new tick.
+     */
+    public void synchronize() {
+        long message;
+        while ((message = transport.poll()) != InputTransport.NONE) {
+            receive((int) (message >>> 32), (int) message);
+        }
+        while (remoteConfirmedFrames[(lastConfirmedFrame + 1) % capacity] == lastConfirmedFrame + 1) {
+            lastConfirmedFrame++;
+        }
+        if (rollbackFrom < frame) rollBack();
+        rollbackFrom = Integer.MAX_VALUE;
+    }
+
+    private void receive(int remoteFrame, int input) {
+        int slot = remoteFrame % capacity;
+        if (remoteFrame < frame && remoteInputs[slot] != input) {
+            rollbackFrom = Math.min(rollbackFrom, remoteFrame);
+        }
+        remoteInputs[slot] = input;
+        remoteConfirmedFrames[slot] = remoteFrame;
+    }
+
+    /**
+     * Restores the state before the first mispredicted tick and simulates forward to the current tick again, with
+     * the corrected input and fresh predictions for the ticks that are still unconfirmed.
+     */
+    private void rollBack() {
+        long startTime = System.nanoTime();
+        states[rollbackFrom % capacity].applyTo(game);
+        game.getStatistics().copyFrom(statistics[rollbackFrom % capacity]);
+        for (int f = rollbackFrom; f < frame; f++) {
+            int slot = f % capacity;
+            if (remoteConfirmedFrames[slot] != f) remoteInputs[slot] = predictRemote(f);
+            if (f > rollbackFrom) save(slot);
+            simulate(f);
+        }
+        rollbacks++;
+        resimulatedFrames += frame - rollbackFrom;
+        deepestRollback = Math.max(deepestRollback, frame - rollbackFrom);
+        lastRollbackNanos = System.nanoTime() - startTime;
+    }
+
+    /**
+     * Saves the state and statistics of the game before the tick of a slot is simulated.
+     */
+    private void save(int slot) {
+        states[slot].capture(game);
+        statistics[slot].copyFrom(game.getStatistics());
+    }
+
+    /**
+     * Predicts the remote input of a tick: the remote player is assumed to keep doing what they did on the tick before.
+     */
+    private int predictRemote(int f) {
+        return f == 0 ? INPUT_NONE : remoteInputs[(f - 1) % capacity];
+    }
+
+    private void simulate(int f) {
+        int slot = f % capacity;
+        int player1Input = localIsPlayer1 ? localInputs[slot] : remoteInputs[slot];
+        int player2Input = localIsPlayer1 ? remoteInputs[slot] : localInputs[slot];
+        simulate(game, player1Input, player2Input);
+    }
+
+    /**
+     * Simulates one tick of a game with both players' inputs: moves the rackets, moves the ball, and after a point
+     * puts the ball and rackets back in the middle, as a {@link HeadlessMatch} does.
+     *
+     * @param game         The game to advance.
+     * @param player1Input Player 1's input for the tick.
+     * @param player2Input Player 2's input for the tick.
+     */
+    public static void simulate(Game game, int player1Input, int player2Input) {
+        applyInput(game.getPlayer1().getRacket(), player1Input, game.getHeight());
+        applyInput(game.getPlayer2().getRacket(), player2Input, game.getHeight());
+        int point = GameRules.step(game);
+        if (point != GameRules.NO_POINT) {
+            Player scorer = point == GameRules.POINT_PLAYER1 ? game.getPlayer1() : game.getPlayer2();
+            scorer.scorePoint();
+            game.getBall().resetPosition(game.getWidth(), game.getHeight());
+            game.getBall().resetSpeed();
+            game.getPlayer1().getRacket().resetPosition(game.getHeight());
+            game.getPlayer2().getRacket().resetPosition(game.getHeight());
+        }
+    }
+
+    private static void applyInput(Racket racket, int input, double gameHeight) {
+        if (input == INPUT_UP) {
+            racket.moveUp();
+        } else if (input == INPUT_DOWN) {
+            racket.moveDown(gameHeight);
+        }
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public int getFrame() {
+        return frame;
+    }
+
+    public int getLastConfirmedFrame() {
+        return lastConfirmedFrame;
+    }
+
+    public long getRollbacks() {
+        return rollbacks;
+    }
+
+    public long getResimulatedFrames() {
+        return resimulatedFrames;
+    }
+
+    public long getStalls() {
+        return stalls;
+    }
+
+    public int getDeepestRollback() {
+        return deepestRollback;
+    }
+
+    public long getLastRollbackNanos() {
+        return lastRollbackNanos;
+    }
+}
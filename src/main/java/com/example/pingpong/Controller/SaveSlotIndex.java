@@ -0,0 +1,191 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.SaveSlotMetadata;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Singleton index of what is saved in each save slot, so the load menu can describe every slot without touching the
+ * disk. A background thread reads the header of every slot once, and then watches the saves directory with a
+ * {@link WatchService} and re-reads a slot whenever its file is created, changed or deleted. Readers only see
+ * complete {@link SaveSlotMetadata} entries and never block; listeners are told on the index thread when an entry
+ * changed.
+ */
+public class SaveSlotIndex {
+    private static final Pattern SLOT_FILE = Pattern.compile("settingsSave(\\d+)\\.ser");
+
+    private static SaveSlotIndex instance;
+
+    private final Path directory;
+    private final int slotCount;
+    private final AtomicReferenceArray<SaveSlotMetadata> slots;
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    private Thread indexer;
+    private WatchService watchService;
+    private volatile boolean ready;
+
+    /**
+     * Constructs an index of the save slots in a directory. The application uses the single instance from
+     * {@link #getInstance()}; other instances index other directories.
+     *
+     * @param directory The directory holding the save slots; it is created if it does not exist yet.
+     * @param slotCount The number of slots.
+     */
+    public SaveSlotIndex(Path directory, int slotCount) {
+        this.directory = directory;
+        this.slotCount = slotCount;
+        this.slots = new AtomicReferenceArray<>(slotCount + 1);
+    }
+
+    /**
+     * Provides access to the singleton instance of {@link SaveSlotIndex}, indexing {@link GameSaver#SAVES_DIRECTORY}.
+     *
+     * @return The single instance of the {@link SaveSlotIndex}.
+     */
+    public static synchronized SaveSlotIndex getInstance() {
+        if (instance == null) {
+            instance = new SaveSlotIndex(Path.of(GameSaver.SAVES_DIRECTORY), GameSaver.SLOT_COUNT);
+        }
+        return instance;
+    }
+
+    /**
+     * Starts building the index in the background and keeping it up to date. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (indexer != null) return;
+        indexer = new Thread(this::run, "save-slot-index");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    /**
+     * Stops watching the saves directory.
+     */
+    public synchronized void stop() {
+        if (indexer == null) return;
+        indexer.interrupt();
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close save directory watcher: " + e.getMessage());
+            }
+        }
+        indexer = null;
+    }
+
+    /**
+     * Adds a listener that is called on the index thread whenever the index has been built or a slot has changed.
+     *
+     * @param listener The listener to call.
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets the metadata of a slot.
+     *
+     * @param slot The slot number, starting at 1.
+     * @return The slot's metadata, or null if the slot is empty or has not been indexed yet.
+     */
+    public SaveSlotMetadata get(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Checks whether every slot has been read at least once.
+     *
+     * @return true once the initial scan has finished, false before.
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void run() {
+        WatchService watcher = openWatchService();
+        scanAll();
+
+        if (watcher == null) return;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scanAll();
+                        continue;
+                    }
+                    Matcher matcher = SLOT_FILE.matcher(event.context().toString());
+                    if (matcher.matches()) {
+                        int slot = Integer.parseInt(matcher.group(1));
+                        if (slot >= 1 && slot <= slotCount) {
+                            refresh(slot);
+                            changed = true;
+                        }
+                    }
+                }
+                if (changed) notifyListeners();
+                if (!key.reset()) {
+                    System.err.println("Save directory " + directory + " is no longer watched");
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Registers the watcher before the first scan, so a save written during the scan is not missed. The directory is
+     * created first, as a missing directory cannot be watched and the first save would never be indexed.
+     */
+    private synchronized WatchService openWatchService() {
+        try {
+            Files.createDirectories(directory);
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            return watchService;
+        } catch (IOException e) {
+            System.err.println("Cannot watch save directory " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void scanAll() {
+        for (int slot = 1; slot <= slotCount; slot++) {
+            refresh(slot);
+        }
+        ready = true;
+        notifyListeners();
+    }
+
+    private void refresh(int slot) {
+        String fullPath = directory.resolve(GameSaver.slotFileName(slot)).toString();
+        slots.set(slot, GameSaver.getInstance().readSlotMetadata(fullPath, slot));
+    }
+
+    private void notifyListeners() {
+        for (Runnable listener : listeners) {
+            listener.run();
+        }
+    }
+}
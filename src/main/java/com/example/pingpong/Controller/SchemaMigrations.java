@@ -0,0 +1,154 @@
+package com.example.pingpong.Controller;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Creates and upgrades the database schema. Each migration has a version number and is applied once, in order; the
+ * versions applied so far are recorded in the {@code schema_version} table, so starting the application against an
+ * up-to-date database only costs one query. {@link DatabaseConnection} applies the migrations when it opens its first
+ * connection.
+ *
+ * <p>MySQL commits every schema change on its own, so a migration is not atomic; its version is only recorded after
+ * all of its statements succeeded.</p>
+ */
+public class SchemaMigrations {
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Create the game, statistics and standings tables",
+                    "CREATE TABLE IF NOT EXISTS Game ("
+                            + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                            + "game_name VARCHAR(255) NOT NULL, "
+                            + "player1_name VARCHAR(255) NOT NULL, "
+                            + "player1_score INT NOT NULL, "
+                            + "player2_name VARCHAR(255) NOT NULL, "
+                            + "player2_score INT NOT NULL, "
+                            + "game_limit INT NOT NULL)",
+                    "CREATE TABLE IF NOT EXISTS GameStatistics ("
+                            + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                            + "game_name VARCHAR(255) NOT NULL, "
+                            + "player_name VARCHAR(255) NOT NULL, "
+                            + "hits BIGINT NOT NULL, "
+                            + "hit_speed_mean DOUBLE, "
+                            + "hit_speed_p95 DOUBLE, "
+                            + "hit_offset_p50 DOUBLE, "
+                            + "points_won BIGINT NOT NULL, "
+                            + "rally_hits_mean DOUBLE, "
+                            + "rally_hits_p95 DOUBLE, "
+                            + "rally_ticks_p50 DOUBLE, "
+                            + "point_duration_ms_p50 DOUBLE)",
+                    "CREATE TABLE IF NOT EXISTS TournamentStanding ("
+                            + "id INT AUTO_INCREMENT PRIMARY KEY, "
+                            + "tournament_name VARCHAR(255) NOT NULL, "
+                            + "player_name VARCHAR(255) NOT NULL, "
+                            + "rating DOUBLE NOT NULL, "
+                            + "points DOUBLE NOT NULL, "
+                            + "wins INT NOT NULL, "
+                            + "draws INT NOT NULL, "
+                            + "losses INT NOT NULL)"),
+            // Games were looked up by name with a full scan. Older databases may hold the same name more than once;
+            // the newest keeps its name and the older ones are kept under the name with "-<id>" appended.
+            new Migration(2, "Make game names unique",
+                    "UPDATE Game SET game_name = CONCAT(game_name, '-', id) "
+                            + "WHERE id NOT IN (SELECT id FROM (SELECT MAX(id) AS id FROM Game GROUP BY game_name) AS newest)",
+                    "CREATE UNIQUE INDEX ux_game_name ON Game (game_name)"),
+            // Meant to list the newest games by name from the index alone; no query uses it, see migration 6
+            new Migration(3, "Index games by recency",
+                    "CREATE INDEX ix_game_recency ON Game (id, game_name)"),
+            new Migration(4, "Index statistics and standings by the name they are replaced under",
+                    "CREATE INDEX ix_game_statistics_game ON GameStatistics (game_name)",
+                    "CREATE INDEX ix_tournament_standing_tournament ON TournamentStanding (tournament_name)"),
+            new Migration(5, "Record every goal of a match",
+                    "CREATE TABLE IF NOT EXISTS match_event ("
+                            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                            + "match_id VARCHAR(255) NOT NULL, "
+                            + "scorer_name VARCHAR(255) NOT NULL, "
+                            + "scored_by_player1 BOOLEAN NOT NULL, "
+                            + "player1_score INT NOT NULL, "
+                            + "player2_score INT NOT NULL, "
+                            + "rally_hits INT NOT NULL, "
+                            + "rally_ticks BIGINT NOT NULL, "
+                            + "ball_speed DOUBLE NOT NULL, "
+                            + "scored_at TIMESTAMP(3) NOT NULL)",
+                    "CREATE INDEX ix_match_event_match ON match_event (match_id, id)"),
+            // The newest game is found by walking the primary key backwards and names are listed from ux_game_name,
+            // so ix_game_recency only slowed down every insert
+            new Migration(6, "Drop the unused game recency index",
+                    "DROP INDEX ix_game_recency ON Game"));
+
+    /** Version of the newest migration. */
+    public static final int LATEST_VERSION = MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private SchemaMigrations() { }
+
+    /**
+     * Applies every migration the database does not have yet.
+     *
+     * @param connection The connection to the database.
+     * @return The number of migrations applied.
+     * @throws SQLException If a migration fails; the migrations before it stay applied.
+     */
+    public static int migrate(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(255) NOT NULL, "
+                    + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        int current = currentVersion(connection);
+        int applied = 0;
+        for (Migration migration : MIGRATIONS) {
+            if (migration.version <= current) continue;
+            try (Statement statement = connection.createStatement()) {
+                for (String sql : migration.statements) {
+                    statement.executeUpdate(sql);
+                }
+            } catch (SQLException e) {
+                throw new SQLException("Schema migration " + migration.version + " (" + migration.description + ") failed: " + e.getMessage(), e);
+            }
+            try (PreparedStatement record = connection.prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                record.setInt(1, migration.version);
+                record.setString(2, migration.description);
+                record.executeUpdate();
+            }
+            applied++;
+        }
+        return applied;
+    }
+
+    /**
+     * Gets the version of the newest migration applied to a database.
+     *
+     * @param connection The connection to the database.
+     * @return The version, or 0 if no migration has been applied.
+     * @throws SQLException If the version table cannot be read.
+     */
+    public static int currentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * One versioned step of the schema.
+     */
+    private static class Migration {
+        private final int version;
+        private final String description;
+        private final String[] statements;
+
+        private Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchPhase;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams the state of a live match to spectators over non-blocking sockets. The game loop calls
+ * {@link #publish(Game)} once per tick, which encodes the state once into a small frame that all spectators share and
+ * returns without touching any socket. A single selector thread then sends every spectator the newest frame.
+ *
+ * <p>Frames are encoded into a ring of {@value #RING_SIZE} buffers allocated with the server, so publishing allocates
+ * nothing. The game loop never waits for the selector thread: each buffer carries a stamp that is cleared while the
+ * buffer is rewritten, and the selector thread copies a frame into the spectator's own buffer and checks the stamp
+ * afterwards, retrying with the newest frame if the copy was overwritten on the way.</p>
+ *
+ * <p>Each spectator has at most one frame in flight. A spectator that cannot keep up does not build up a queue:
+ * when its frame has been sent it skips straight to the newest one, and the frames in between are counted as
+ * dropped. So a slow spectator never slows down the match, the other spectators or the memory use of the server.
+ * Bytes sent, frames sent and dropped, and how many frames each spectator lags behind are available from
+ * {@link #getSpectatorStats()}.</p>
+ */
+public class SpectatorServer {
+    /** Size of one frame in bytes. */
+    public static final int FRAME_BYTES = 61;
+    /** Number of frame buffers the game loop cycles through. */
+    private static final int RING_SIZE = 4;
+
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final List<Spectator> spectators = new ArrayList<>();
+    private final AtomicLong totalBytesSent = new AtomicLong();
+    private final Frame[] ring = new Frame[RING_SIZE];
+
+    private volatile Frame latest;
+    private volatile long publishedSequence;
+    private Thread thread;
+    private long sequence;
+
+    /**
+     * Constructs a server listening on the loopback interface.
+     *
+     * @param port The port to listen on, or 0 for any free port.
+     * @throws IOException If the server socket cannot be opened.
+     */
+    public SpectatorServer(int port) throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        for (int i = 0; i < RING_SIZE; i++) ring[i] = new Frame();
+    }
+
+    /**
+     * Starts accepting spectators and sending them frames on a daemon thread.
+     */
+    public synchronized void start() {
+        if (thread != null) return;
+        thread = new Thread(this::run, "spectator-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the server and disconnects all spectators.
+     */
+    public void stop() {
+        try {
+            selector.close();
+            serverChannel.close();
+        } catch (IOException e) {
+            System.err.println("Failed to close spectator server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the current state of the game to all spectators. Encodes the state once into the next buffer of the
+     * ring and never blocks or allocates, so the game loop can call it every tick. Must be called from one thread.
+     *
+     * @param game The game whose state to publish.
+     */
+    public void publish(Game game) {
+        Frame frame = ring[(int) (++sequence % RING_SIZE)];
+        frame.sequence = Frame.WRITING;
+        // Keep the writes below from becoming visible before the stamp is cleared
+        VarHandle.storeStoreFence();
+        ByteBuffer data = frame.data;
+        data.clear();
+        data.putInt(FRAME_BYTES - Integer.BYTES);
+        data.putLong(sequence);
+        data.putDouble(game.getBall().getPosX());
+        data.putDouble(game.getBall().getPosY());
+        data.putDouble(game.getPlayer1().getRacket().getPosY());
+        data.putDouble(game.getPlayer2().getRacket().getPosY());
+        data.putInt(game.getPlayer1().getScore());
+        data.putInt(game.getPlayer2().getScore());
+        data.putLong(System.nanoTime());
+        data.put((byte) game.getPhase().ordinal());
+        frame.sequence = sequence;
+        latest = frame;
+        publishedSequence = sequence;
+        selector.wakeup();
+    }
+
+    /**
+     * Reads one frame written by {@link #publish(Game)} into a spectator's copy of the game.
+     *
+     * @param frame A buffer holding a complete frame, including its length prefix.
+     * @param game  The spectator's game to update.
+     * @return The sequence number of the frame.
+     */
+    public static long readFrame(ByteBuffer frame, Game game) {
+        frame.getInt();
+        long frameSequence = frame.getLong();
+        game.getBall().setPosX(frame.getDouble());
+        game.getBall().setPosY(frame.getDouble());
+        game.getPlayer1().getRacket().setPosY(frame.getDouble());
+        game.getPlayer2().getRacket().setPosY(frame.getDouble());
+        game.getPlayer1().setScore(frame.getInt());
+        game.getPlayer2().setScore(frame.getInt());
+        frame.getLong();
+        game.setPhase(MatchPhase.values()[frame.get()]);
+        return frameSequence;
+    }
+
+    private void run() {
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isWritable()) {
+                        send((Spectator) key.attachment());
+                    }
+                }
+                // Start the newest frame for every spectator that is not busy with one
+                long newest = publishedSequence;
+                for (int i = spectators.size() - 1; i >= 0; i--) {
+                    Spectator spectator = spectators.get(i);
+                    if (spectator.inFlightSequence == 0 && spectator.lastSequence < newest) {
+                        send(spectator);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            // Stopped
+        } catch (IOException e) {
+            System.err.println("Spectator server failed: " + e.getMessage());
+        } finally {
+            synchronized (spectators) {
+                for (Spectator spectator : spectators) spectator.close();
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Spectator spectator = new Spectator(channel);
+        spectator.key = channel.register(selector, 0, spectator);
+        synchronized (spectators) {
+            spectators.add(spectator);
+        }
+    }
+
+    /**
+     * Writes as much of the spectator's frame as the socket takes. Once a frame is complete, continues with the
+     * newest frame if there is a newer one; if the socket is full, waits for it to become writable again.
+     */
+    private void send(Spectator spectator) {
+        try {
+            while (true) {
+                if (spectator.inFlightSequence == 0) {
+                    long frameSequence = copyLatest(spectator);
+                    if (frameSequence == 0) break;
+                    if (spectator.lastSequence > 0) spectator.framesDropped += frameSequence - spectator.lastSequence - 1;
+                    spectator.inFlightSequence = frameSequence;
+                }
+                int written = spectator.channel.write(spectator.buffer);
+                spectator.bytesSent += written;
+                totalBytesSent.addAndGet(written);
+                if (spectator.buffer.hasRemaining()) {
+                    spectator.key.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                spectator.lastSequence = spectator.inFlightSequence;
+                spectator.framesSent++;
+                spectator.inFlightSequence = 0;
+            }
+            spectator.key.interestOps(0);
+        } catch (IOException e) {
+            // The spectator disconnected
+            synchronized (spectators) {
+                spectators.remove(spectator);
+            }
+            spectator.close();
+        }
+    }
+
+    /**
+     * Copies the newest frame into the spectator's buffer if it is newer than the last one sent. A copy that the game
+     * loop overwrote meanwhile is detected by its stamp and taken again from the then newest frame.
+     *
+     * @return The sequence number of the copied frame, or 0 if there is no newer frame.
+     */
+    private long copyLatest(Spectator spectator) {
+        while (true) {
+            Frame frame = latest;
+            if (frame == null) return 0;
+            long before = frame.sequence;
+            if (before == Frame.WRITING) continue;
+            if (before <= spectator.lastSequence) return 0;
+            System.arraycopy(frame.bytes, 0, spectator.bytes, 0, FRAME_BYTES);
+            // Keep the copy above from being read after the stamp below
+            VarHandle.loadLoadFence();
+            if (frame.sequence == before) {
+                spectator.buffer.clear();
+                return before;
+            }
+        }
+    }
+
+    /**
+     * Gets the metrics of every connected spectator.
+     *
+     * @return One entry per spectator, in the order they connected.
+     */
+    public List<SpectatorStats> getSpectatorStats() {
+        long newest = publishedSequence;
+        List<SpectatorStats> stats = new ArrayList<>();
+        synchronized (spectators) {
+            for (Spectator spectator : spectators) {
+                stats.add(new SpectatorStats(spectator.bytesSent, spectator.framesSent, spectator.framesDropped,
+                        newest - spectator.lastSequence));
+            }
+        }
+        return stats;
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getSpectatorCount() {
+        synchronized (spectators) {
+            return spectators.size();
+        }
+    }
+
+    public long getTotalBytesSent() {
+        return totalBytesSent.get();
+    }
+
+    public long getFramesPublished() {
+        return publishedSequence;
+    }
+
+    /**
+     * One buffer of the frame ring, shared by all spectators. Only the game loop writes it.
+     */
+    private static class Frame {
+        /** Stamp of a frame that is being rewritten. */
+        private static final long WRITING = -1;
+
+        private final byte[] bytes = new byte[FRAME_BYTES];
+        private final ByteBuffer data = ByteBuffer.wrap(bytes);
+        private volatile long sequence;
+    }
+
+    /**
+     * The connection and sending state of one spectator, only touched by the selector thread apart from the
+     * metrics, which are read without locking and may be slightly out of date.
+     */
+    private static class Spectator {
+        private final SocketChannel channel;
+        private final byte[] bytes = new byte[FRAME_BYTES];
+        private final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        private SelectionKey key;
+        private long inFlightSequence;
+        private volatile long lastSequence;
+        private volatile long bytesSent;
+        private volatile long framesSent;
+        private volatile long framesDropped;
+
+        private Spectator(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+
+    /**
+     * A point-in-time copy of one spectator's metrics.
+     */
+    public static class SpectatorStats {
+        private final long bytesSent;
+        private final long framesSent;
+        private final long framesDropped;
+        private final long lagFrames;
+
+        /**
+         * Constructs the metrics of a spectator.
+         *
+         * @param bytesSent     Bytes sent to the spectator.
+         * @param framesSent    Complete frames sent to the spectator.
+         * @param framesDropped Frames skipped because the spectator was still busy with an earlier frame.
+         * @param lagFrames     How many frames the last complete frame sent is behind the newest frame.
+         */
+        public SpectatorStats(long bytesSent, long framesSent, long framesDropped, long lagFrames) {
+            this.bytesSent = bytesSent;
+            this.framesSent = framesSent;
+            this.framesDropped = framesDropped;
+            this.lagFrames = lagFrames;
+        }
+
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        public long getFramesSent() {
+            return framesSent;
+        }
+
+        public long getFramesDropped() {
+            return framesDropped;
+        }
+
+        public long getLagFrames() {
+            return lagFrames;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.pingpong.Controller;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utility class creating the thread factories used to host game loops on different thread models.
+ * The project is compiled for Java 17, so virtual threads are looked up reflectively and are only available when
+ * the application runs on Java 21 or newer.
+ */
+public final class ThreadModels {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     */
+    private ThreadModels() { }
+
+    /**
+     * Checks whether the running JVM supports virtual threads.
+     *
+     * @return true if virtual threads can be created, false otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return virtualThreadFactory() != null;
+    }
+
+    /**
+     * Creates a factory for virtual threads.
+     *
+     * @return The factory, or null if the running JVM does not support virtual threads.
+     */
+    public static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a factory for daemon platform threads with a requested stack size.
+     *
+     * @param namePrefix Prefix of the thread names.
+     * @param stackSize  Requested stack size in bytes, or 0 for the JVM default ({@code -Xss}).
+     * @return The factory.
+     */
+    public static ThreadFactory platformThreadFactory(String namePrefix, long stackSize) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(null, runnable, namePrefix + "-" + counter.incrementAndGet(), stackSize);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,317 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.TournamentStanding;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a round-robin or Swiss tournament between {@link BotStrategy} bots.
+ * The matches of each round are played as {@link HeadlessMatch}es on a thread pool, and their results are streamed in
+ * as they finish to update the Elo ratings incrementally. Every finished match is appended to a journal file, so a
+ * tournament that crashed can be run again with the same name and picks up where it stopped. Results are written to
+ * the database once per round through a single batched {@link IGameDAO} call, and every goal is saved in the
+ * background by a {@link MatchEventRecorder} under the game name of its match.
+ */
+public class Tournament {
+
+    /**
+     * Tournament formats.
+     */
+    public enum Format {
+        /** Every bot plays every other bot once. */
+        ROUND_ROBIN,
+        /** A fixed number of rounds, each pairing bots with equal points that have not met yet. */
+        SWISS
+    }
+
+    private static final String BYE = "BYE";
+    private static final long EVENT_FLUSH_TIMEOUT_MS = 60_000;
+
+    private final String name;
+    private final Format format;
+    private final List<BotStrategy> bots;
+    private final int swissRounds;
+    private final int winningScore;
+    private final int threads;
+    private final IGameDAO gameDAO;
+    private final MatchEventRecorder eventRecorder;
+    private final Path journalFile;
+
+    private final Map<String, BotStrategy> botsByName = new LinkedHashMap<>();
+    private final Map<String, TournamentStanding> standings = new LinkedHashMap<>();
+    private final Set<String> playedPairs = new HashSet<>();
+
+    /**
+     * Constructs a tournament.
+     *
+     * @param name         Name of the tournament, also used for the journal file and in saved game names.
+     * @param format       The tournament format.
+     * @param bots         The competing bots; their names must be unique.
+     * @param swissRounds  Number of rounds for a Swiss tournament, ignored for round-robin.
+     * @param winningScore Score required to win each match.
+     * @param threads      Number of matches played in parallel.
+     * @param gameDAO      DAO to save results and standings through, or null to only keep the journal.
+     */
+    public Tournament(String name, Format format, List<BotStrategy> bots, int swissRounds, int winningScore, int threads, IGameDAO gameDAO) {
+        this.name = name;
+        this.format = format;
+        this.bots = bots;
+        this.swissRounds = swissRounds;
+        this.winningScore = winningScore;
+        this.threads = threads;
+        this.gameDAO = gameDAO;
+        this.eventRecorder = gameDAO == null ? null : new MatchEventRecorder(gameDAO);
+        this.journalFile = Path.of("tournament-" + name + ".journal");
+
+        for (BotStrategy bot : bots) {
+            if (botsByName.put(bot.getName(), bot) != null) {
+                throw new IllegalArgumentException("Duplicate bot name: " + bot.getName());
+            }
+            standings.put(bot.getName(), new TournamentStanding(bot.getName(), EloRatings.INITIAL_RATING));
+        }
+    }
+
+    /**
+     * Runs the tournament to the end, resuming from the journal if the tournament was started before.
+     *
+     * @return The final standings, best first.
+     * @throws IOException          If the journal cannot be read or written.
+     * @throws InterruptedException If the thread is interrupted while waiting for matches.
+     */
+    public List<TournamentStanding> run() throws IOException, InterruptedException {
+        Map<String, MatchResult> journaled = new LinkedHashMap<>();
+        Set<Integer> savedRounds = new HashSet<>();
+        readJournal(journaled, savedRounds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (BufferedWriter journal = Files.newBufferedWriter(journalFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            int totalRounds = format == Format.ROUND_ROBIN ? roundRobinRounds() : swissRounds;
+            for (int round = 1; round <= totalRounds; round++) {
+                List<String[]> pairs = format == Format.ROUND_ROBIN ? roundRobinPairs(round) : swissPairs();
+                List<MatchResult> roundResults = playRound(round, pairs, journaled, journal, pool);
+
+                if (!savedRounds.contains(round) && saveResults(roundResults)) {
+                    journal.write("SAVED\t" + round);
+                    journal.newLine();
+                    journal.flush();
+                }
+                System.out.println("Tournament " + name + ": round " + round + "/" + totalRounds + " done, leader " + getStandings().get(0).getPlayerName());
+            }
+
+            if (eventRecorder != null && !eventRecorder.flush(EVENT_FLUSH_TIMEOUT_MS)) {
+                System.err.println("Tournament " + name + ": " + eventRecorder.getQueuedCount() + " match events were not saved in time");
+            }
+        } finally {
+            pool.shutdownNow();
+            if (eventRecorder != null) eventRecorder.close();
+        }
+        List<TournamentStanding> finalStandings = getStandings();
+        saveStandings(finalStandings);
+        return finalStandings;
+    }
+
+    /**
+     * Plays the matches of one round. Matches already in the journal are not replayed; their recorded results are
+     * applied in the order they originally finished, so the ratings come out the same as in the original run.
+     */
+    private List<MatchResult> playRound(int round, List<String[]> pairs, Map<String, MatchResult> journaled, BufferedWriter journal, ExecutorService pool) throws IOException, InterruptedException {
+        List<MatchResult> roundResults = new ArrayList<>();
+        Set<String> roundKeys = new HashSet<>();
+        for (String[] pair : pairs) {
+            roundKeys.add(matchKey(round, pair[0], pair[1]));
+        }
+        for (Map.Entry<String, MatchResult> entry : journaled.entrySet()) {
+            if (roundKeys.remove(entry.getKey())) {
+                applyResult(entry.getValue());
+                roundResults.add(entry.getValue());
+            }
+        }
+
+        CompletionService<MatchResult> completion = new ExecutorCompletionService<>(pool);
+        int pending = 0;
+        for (String[] pair : pairs) {
+            if (!roundKeys.contains(matchKey(round, pair[0], pair[1]))) continue;
+            int matchRound = round;
+            completion.submit(() -> playMatch(matchRound, pair[0], pair[1]));
+            pending++;
+        }
+
+        for (int i = 0; i < pending; i++) {
+            MatchResult result;
+            try {
+                result = completion.take().get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Match failed in round " + round, e.getCause());
+            }
+            applyResult(result);
+            roundResults.add(result);
+            journal.write(String.join("\t", "MATCH", String.valueOf(result.getRound()),
+                    result.getPlayer1Name(), result.getPlayer2Name(),
+                    String.valueOf(result.getPlayer1Score()), String.valueOf(result.getPlayer2Score()),
+                    String.valueOf(result.getWinningScore()), String.valueOf(result.getTicks())));
+            journal.newLine();
+            journal.flush();
+        }
+        return roundResults;
+    }
+
+    private MatchResult playMatch(int round, String player1, String player2) {
+        long seed = matchKey(round, player1, player2).hashCode() * 0x9E3779B97F4A7C15L + name.hashCode();
+        RacketController left = botsByName.get(player1).create(true, seed);
+        RacketController right = botsByName.get(player2).create(false, ~seed);
+        HeadlessMatch match = new HeadlessMatch(player1, player2, left, right, winningScore);
+        if (eventRecorder != null) {
+            match.setEventRecorder(eventRecorder, DatabaseManager.matchGameName(name, round, player1, player2));
+        }
+        return match.play(round);
+    }
+
+    /**
+     * Updates points and Elo ratings of both players with a finished match.
+     */
+    private void applyResult(MatchResult result) {
+        TournamentStanding player1 = standings.get(result.getPlayer1Name());
+        TournamentStanding player2 = standings.get(result.getPlayer2Name());
+        double result1 = result.getPlayer1Result();
+        double rating1 = player1.getRating();
+        double rating2 = player2.getRating();
+        player1.setRating(EloRatings.updatedRating(rating1, rating2, result1));
+        player2.setRating(EloRatings.updatedRating(rating2, rating1, 1.0 - result1));
+        player1.recordResult(result1);
+        player2.recordResult(1.0 - result1);
+        playedPairs.add(pairKey(result.getPlayer1Name(), result.getPlayer2Name()));
+    }
+
+    private int roundRobinRounds() {
+        return bots.size() % 2 == 0 ? bots.size() - 1 : bots.size();
+    }
+
+    /**
+     * Pairs the bots for one round-robin round using the circle method: the first bot stays in place and the others
+     * rotate one position per round.
+     */
+    private List<String[]> roundRobinPairs(int round) {
+        List<String> names = new ArrayList<>(botsByName.keySet());
+        if (names.size() % 2 == 1) names.add(BYE);
+        int n = names.size();
+        List<String> rotated = new ArrayList<>(n);
+        rotated.add(names.get(0));
+        for (int i = 0; i < n - 1; i++) {
+            rotated.add(names.get(1 + (i + round - 1) % (n - 1)));
+        }
+
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < n / 2; i++) {
+            String player1 = rotated.get(i);
+            String player2 = rotated.get(n - 1 - i);
+            if (player1.equals(BYE) || player2.equals(BYE)) continue;
+            pairs.add(round % 2 == 0 ? new String[] {player2, player1} : new String[] {player1, player2});
+        }
+        return pairs;
+    }
+
+    /**
+     * Pairs the bots for the next Swiss round: bots are ranked by points and each one is paired with the next ranked
+     * bot it has not played yet. With an odd number of bots the lowest ranked unpaired bot gets a bye.
+     */
+    private List<String[]> swissPairs() {
+        List<TournamentStanding> ranked = new ArrayList<>(standings.values());
+        ranked.sort(Comparator.comparingDouble(TournamentStanding::getPoints).reversed()
+                .thenComparing(TournamentStanding::getPlayerName));
+
+        List<String> unpaired = new ArrayList<>();
+        for (TournamentStanding standing : ranked) {
+            unpaired.add(standing.getPlayerName());
+        }
+        if (unpaired.size() % 2 == 1) {
+            standings.get(unpaired.remove(unpaired.size() - 1)).recordBye();
+        }
+
+        List<String[]> pairs = new ArrayList<>();
+        while (!unpaired.isEmpty()) {
+            String player1 = unpaired.remove(0);
+            int opponent = 0;
+            for (int i = 0; i < unpaired.size(); i++) {
+                if (!playedPairs.contains(pairKey(player1, unpaired.get(i)))) {
+                    opponent = i;
+                    break;
+                }
+            }
+            pairs.add(new String[] {player1, unpaired.remove(opponent)});
+        }
+        return pairs;
+    }
+
+    private void readJournal(Map<String, MatchResult> journaled, Set<Integer> savedRounds) throws IOException {
+        if (!Files.exists(journalFile)) return;
+        for (String line : Files.readAllLines(journalFile)) {
+            String[] fields = line.split("\t");
+            if (fields[0].equals("MATCH") && fields.length == 8) {
+                MatchResult result = new MatchResult(Integer.parseInt(fields[1]), fields[2], fields[3],
+                        Integer.parseInt(fields[4]), Integer.parseInt(fields[5]), Integer.parseInt(fields[6]), Long.parseLong(fields[7]));
+                journaled.put(matchKey(result.getRound(), result.getPlayer1Name(), result.getPlayer2Name()), result);
+            } else if (fields[0].equals("SAVED") && fields.length == 2) {
+                savedRounds.add(Integer.parseInt(fields[1]));
+            }
+        }
+        System.out.println("Tournament " + name + ": resuming with " + journaled.size() + " finished matches");
+    }
+
+    private boolean saveResults(List<MatchResult> results) {
+        if (gameDAO == null) return false;
+        try {
+            gameDAO.saveMatchResults(name, results);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Failed to save tournament results: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void saveStandings(List<TournamentStanding> finalStandings) {
+        if (gameDAO == null) return;
+        try {
+            gameDAO.saveStandings(name, finalStandings);
+        } catch (SQLException e) {
+            System.err.println("Failed to save tournament standings: " + e.getMessage());
+        }
+    }
+
+    private static String matchKey(int round, String player1, String player2) {
+        return round + "\t" + player1 + "\t" + player2;
+    }
+
+    private static String pairKey(String player1, String player2) {
+        return player1.compareTo(player2) < 0 ? player1 + "\t" + player2 : player2 + "\t" + player1;
+    }
+
+    /**
+     * Gets the current standings, ranked by points and then by rating.
+     *
+     * @return The standings, best first.
+     */
+    public List<TournamentStanding> getStandings() {
+        List<TournamentStanding> ranked = new ArrayList<>(standings.values());
+        ranked.sort(Comparator.comparingDouble(TournamentStanding::getPoints)
+                .thenComparingDouble(TournamentStanding::getRating).reversed());
+        return ranked;
+    }
+}
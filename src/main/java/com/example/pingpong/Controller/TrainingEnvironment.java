@@ -0,0 +1,213 @@
+package com.example.pingpong.Controller;
+
+import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.Racket;
+
+/**
+ * A Gym-style reinforcement learning environment over the match simulation, for training bots against the game.
+ * It hosts a batch of independent games that are all stepped with a single call, using the same {@link GameRules}
+ * as the on-screen game but without JavaFX, threads or sleeps. Observations, rewards and done flags are written into
+ * buffers that are allocated once and reused on every step, so stepping creates no garbage.
+ *
+ * <p>Each episode is one point. When an episode ends, its game is reset with a new random serve on the next step.</p>
+ */
+public class TrainingEnvironment {
+    /** Number of floats in the observation of one environment. */
+    public static final int OBSERVATION_SIZE = 8;
+
+    /** Keep the racket where it is. */
+    public static final int ACTION_STAY = 0;
+    /** Move the racket up. */
+    public static final int ACTION_UP = 1;
+    /** Move the racket down. */
+    public static final int ACTION_DOWN = 2;
+
+    /** Distance a racket moves in one step, matching one key press. */
+    private static final double RACKET_STEP = 10;
+
+    private final int numEnvs;
+    private final int maxEpisodeSteps;
+    private final Game[] games;
+    private final long[] randomState;
+    private final int[] episodeSteps;
+    private final float[] racketVelocity;
+
+    private final float[] observations;
+    private final float[] rewards;
+    private final boolean[] dones;
+
+    /**
+     * Constructs an environment batch.
+     *
+     * @param numEnvs         The number of independent games stepped together.
+     * @param maxEpisodeSteps The number of steps after which an episode without a point is cut off.
+     */
+    public TrainingEnvironment(int numEnvs, int maxEpisodeSteps) {
+        if (numEnvs <= 0) {
+            throw new IllegalArgumentException("numEnvs must be positive: " + numEnvs);
+        }
+        this.numEnvs = numEnvs;
+        this.maxEpisodeSteps = maxEpisodeSteps;
+        this.games = new Game[numEnvs];
+        this.randomState = new long[numEnvs];
+        this.episodeSteps = new int[numEnvs];
+        this.racketVelocity = new float[numEnvs * 2];
+        this.observations = new float[numEnvs * OBSERVATION_SIZE];
+        this.rewards = new float[numEnvs];
+        this.dones = new boolean[numEnvs];
+        for (int i = 0; i < numEnvs; i++) {
+            games[i] = new Game();
+        }
+    }
+
+    /**
+     * Resets every environment, seeding each one from the given seed.
+     *
+     * @param seed The seed for the random serves.
+     * @return The observation buffer, holding {@link #OBSERVATION_SIZE} floats per environment.
+     */
+    public float[] reset(long seed) {
+        for (int env = 0; env < numEnvs; env++) {
+            // Spread the seed so neighbouring environments do not serve alike
+            randomState[env] = mix(seed + env * 0x9E3779B97F4A7C15L);
+            resetEnv(env);
+        }
+        return observations;
+    }
+
+    /**
+     * Advances every environment by one tick. Environments whose episode ended on the previous step are reset first.
+     * <p>Observation layout per environment, in logical game units: ball X, ball Y, ball velocity X, ball velocity Y,
+     * player 1 racket centre Y, player 1 racket velocity, player 2 racket centre Y, player 2 racket velocity.</p>
+     * <p>The reward is from player 1's point of view: +1 when player 1 scores, -1 when player 2 scores, 0 otherwise.</p>
+     *
+     * @param actions Two actions per environment: player 1's at {@code 2 * env} and player 2's at {@code 2 * env + 1}.
+     */
+    public void step(int[] actions) {
+        if (actions.length < numEnvs * 2) {
+            throw new IllegalArgumentException("Expected " + numEnvs * 2 + " actions but got " + actions.length);
+        }
+        for (int env = 0; env < numEnvs; env++) {
+            if (dones[env]) resetEnv(env);
+
+            Game game = games[env];
+            applyAction(game, game.getPlayer1().getRacket(), actions[2 * env], 2 * env);
+            applyAction(game, game.getPlayer2().getRacket(), actions[2 * env + 1], 2 * env + 1);
+
+            int point = GameRules.step(game);
+            episodeSteps[env]++;
+            if (point == GameRules.POINT_PLAYER1) {
+                game.getPlayer1().scorePoint();
+                rewards[env] = 1;
+                dones[env] = true;
+            } else if (point == GameRules.POINT_PLAYER2) {
+                game.getPlayer2().scorePoint();
+                rewards[env] = -1;
+                dones[env] = true;
+            } else {
+                rewards[env] = 0;
+                dones[env] = episodeSteps[env] >= maxEpisodeSteps;
+            }
+            writeObservation(env);
+        }
+    }
+
+    private void applyAction(Game game, Racket racket, int action, int racketIndex) {
+        double before = racket.getPosY();
+        if (action == ACTION_UP) {
+            racket.moveUp();
+        } else if (action == ACTION_DOWN) {
+            racket.moveDown(game.getHeight());
+        }
+        racketVelocity[racketIndex] = (float) (racket.getPosY() - before);
+    }
+
+    private void resetEnv(int env) {
+        Game game = games[env];
+        game.resetGame();
+        game.resumeGame();
+
+        // Serve in a random direction
+        Ball ball = game.getBall();
+        ball.setDirectionX(nextDouble(env) < 0.5 ? -1 : 1);
+        ball.setDirectionY(nextDouble(env) * 2 - 1);
+
+        episodeSteps[env] = 0;
+        racketVelocity[2 * env] = 0;
+        racketVelocity[2 * env + 1] = 0;
+        rewards[env] = 0;
+        dones[env] = false;
+        writeObservation(env);
+    }
+
+    private void writeObservation(int env) {
+        Game game = games[env];
+        Ball ball = game.getBall();
+        Racket racket1 = game.getPlayer1().getRacket();
+        Racket racket2 = game.getPlayer2().getRacket();
+        int offset = env * OBSERVATION_SIZE;
+        observations[offset] = (float) ball.getPosX();
+        observations[offset + 1] = (float) ball.getPosY();
+        observations[offset + 2] = (float) (ball.getDirectionX() * ball.getSpeed());
+        observations[offset + 3] = (float) (ball.getDirectionY() * ball.getSpeed());
+        observations[offset + 4] = (float) (racket1.getPosY() + racket1.getLength() / 2.0);
+        observations[offset + 5] = racketVelocity[2 * env];
+        observations[offset + 6] = (float) (racket2.getPosY() + racket2.getLength() / 2.0);
+        observations[offset + 7] = racketVelocity[2 * env + 1];
+    }
+
+    /**
+     * Returns a uniformly distributed double in [0, 1) from the environment's own xorshift generator.
+     */
+    private double nextDouble(int env) {
+        long x = randomState[env];
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState[env] = x;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z = z ^ (z >>> 31);
+        return z == 0 ? 1 : z;
+    }
+
+    public int getNumEnvs() {
+        return numEnvs;
+    }
+
+    /**
+     * @return The observation buffer, overwritten on every step.
+     */
+    public float[] getObservations() {
+        return observations;
+    }
+
+    /**
+     * @return The reward buffer, one reward per environment, overwritten on every step.
+     */
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    /**
+     * @return The done flags, one per environment, overwritten on every step.
+     */
+    public boolean[] getDones() {
+        return dones;
+    }
+
+    /**
+     * Gives direct access to one environment's game, for example to render it or to let a {@link CpuPlayer} act.
+     *
+     * @param env The index of the environment.
+     * @return The game of the environment.
+     */
+    public Game getGame(int env) {
+        return games[env];
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.TrainingEnvironment;
+
+/**
+ * Measures how many environment steps per second the {@link TrainingEnvironment} runs on a single core.
+ * Both rackets follow the ball with a trivial policy so rallies, bounces and points all occur during the run.
+ */
+public class EnvironmentBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional: number of environments, then number of batched steps.
+     */
+    public static void main(String[] args) {
+        int numEnvs = args.length > 0 ? Integer.parseInt(args[0]) : 1024;
+        int steps = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        TrainingEnvironment environment = new TrainingEnvironment(numEnvs, 10_000);
+        int[] actions = new int[numEnvs * 2];
+        environment.reset(42);
+
+        // Warm up so the timed run measures compiled code
+        run(environment, actions, steps / 4);
+
+        long startTime = System.nanoTime();
+        long episodes = run(environment, actions, steps);
+        long endTime = System.nanoTime();
+
+        double seconds = (endTime - startTime) / 1e9;
+        double stepsPerSecond = (double) numEnvs * steps / seconds;
+        System.out.println("Environments: " + numEnvs + ", batched steps: " + steps);
+        System.out.printf("Environment steps per second: %.0f%n", stepsPerSecond);
+        System.out.printf("Nanoseconds per environment step: %.1f%n", 1e9 / stepsPerSecond);
+        System.out.println("Episodes finished: " + episodes);
+    }
+
+    private static long run(TrainingEnvironment environment, int[] actions, int steps) {
+        float[] observations = environment.getObservations();
+        boolean[] dones = environment.getDones();
+        int size = TrainingEnvironment.OBSERVATION_SIZE;
+        long episodes = 0;
+        for (int step = 0; step < steps; step++) {
+            for (int env = 0; env < environment.getNumEnvs(); env++) {
+                float ballY = observations[env * size + 1];
+                actions[2 * env] = follow(ballY, observations[env * size + 4]);
+                actions[2 * env + 1] = follow(ballY, observations[env * size + 6]);
+            }
+            environment.step(actions);
+            for (boolean done : dones) {
+                if (done) episodes++;
+            }
+        }
+        return episodes;
+    }
+
+    private static int follow(float ballY, float racketY) {
+        if (ballY < racketY - 5) return TrainingEnvironment.ACTION_UP;
+        if (ballY > racketY + 5) return TrainingEnvironment.ACTION_DOWN;
+        return TrainingEnvironment.ACTION_STAY;
+    }
+}
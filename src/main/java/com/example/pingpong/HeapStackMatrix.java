@@ -0,0 +1,182 @@
+package com.example.pingpong;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the {@link HeapStackTest} heap and stack tests across a matrix of heap sizes, stack sizes and garbage
+ * collectors. Every run happens in a freshly forked JVM, so the settings do not have to be edited by hand and the
+ * runs cannot affect each other. All runs are written to one tidy CSV file with the environment they ran in, and
+ * the mean, standard deviation, minimum and maximum per configuration are written to a summary CSV file.
+ *
+ * <p>The matrix is configured with system properties: {@code matrix.heaps}, {@code matrix.stacks} and
+ * {@code matrix.gcs} (comma separated, GCs from G1, Parallel, Serial and Z), {@code matrix.tests} (heap, stack),
+ * {@code matrix.repetitions} and {@code matrix.output}. Run it with {@code mvn -P heap-stack-matrix verify}.</p>
+ */
+public class HeapStackMatrix {
+    private static final Pattern HEAP_ITERATIONS = Pattern.compile("Out of Memory after (\\d+) iterations");
+    private static final Pattern AVERAGE_TIME = Pattern.compile("Average (?:Array Creation|Recursion) Time: ([\\d.E-]+) ms");
+    private static final Pattern STACK_DEPTH = Pattern.compile("Stack depth: (\\d+)");
+    private static final long RUN_TIMEOUT_MINUTES = 10;
+
+    /**
+     * Runs the whole matrix.
+     *
+     * @param args Command line arguments (not used; the matrix is configured with system properties).
+     * @throws Exception If a child JVM cannot be started or the results cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        String[] heaps = System.getProperty("matrix.heaps", "64m,256m").split(",");
+        String[] stacks = System.getProperty("matrix.stacks", "256k,1m").split(",");
+        String[] gcs = System.getProperty("matrix.gcs", "G1,Parallel,Z").split(",");
+        String[] tests = System.getProperty("matrix.tests", "heap,stack").split(",");
+        int repetitions = Integer.parseInt(System.getProperty("matrix.repetitions", "3"));
+        String output = System.getProperty("matrix.output", "heap-stack-matrix");
+
+        String javaVersion = System.getProperty("java.version");
+        String osName = System.getProperty("os.name") + " " + System.getProperty("os.version") + " " + System.getProperty("os.arch");
+        int processors = Runtime.getRuntime().availableProcessors();
+        long physicalMemoryMb = physicalMemoryMb();
+
+        Map<String, List<Double>> resultsByConfiguration = new LinkedHashMap<>();
+        Path runsFile = Path.of(output + ".csv");
+        try (PrintWriter runs = new PrintWriter(Files.newBufferedWriter(runsFile))) {
+            runs.println("timestamp,java_version,os,processors,physical_memory_mb,test,heap,stack,gc,repetition,exit_code,result,average_ms,duration_ms");
+            for (String test : tests) {
+                for (String heap : heaps) {
+                    for (String stack : stacks) {
+                        for (String gc : gcs) {
+                            String configuration = String.join(",", test, heap, stack, gc);
+                            List<Double> results = resultsByConfiguration.computeIfAbsent(configuration, key -> new ArrayList<>());
+                            for (int repetition = 1; repetition <= repetitions; repetition++) {
+                                RunResult run = runChild(test, heap, stack, gc);
+                                runs.println(String.join(",", Instant.now().toString(), javaVersion, csv(osName),
+                                        String.valueOf(processors), String.valueOf(physicalMemoryMb), test, heap, stack, gc,
+                                        String.valueOf(repetition), String.valueOf(run.exitCode), format(run.result),
+                                        format(run.averageMs), String.valueOf(run.durationMs)));
+                                runs.flush();
+                                if (!Double.isNaN(run.result)) results.add(run.result);
+                                System.out.printf("%-5s heap %-5s stack %-5s %-8s #%d: result %s, %d ms%n", test, heap, stack, gc,
+                                        repetition, format(run.result), run.durationMs);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        Path summaryFile = Path.of(output + "-summary.csv");
+        try (PrintWriter summary = new PrintWriter(Files.newBufferedWriter(summaryFile))) {
+            summary.println("test,heap,stack,gc,runs,mean,stddev,min,max");
+            for (Map.Entry<String, List<Double>> entry : resultsByConfiguration.entrySet()) {
+                List<Double> results = entry.getValue();
+                summary.println(entry.getKey() + "," + results.size() + "," + summarize(results));
+            }
+        }
+        System.out.println("Runs written to " + runsFile + ", summary written to " + summaryFile);
+    }
+
+    /**
+     * Forks a JVM with the given settings running one of the tests, and extracts its result from the output:
+     * the number of arrays allocated before running out of heap, or the deepest recursion reached.
+     */
+    private static RunResult runChild(String test, String heap, String stack, String gc) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-Xmx" + heap);
+        command.add("-Xss" + stack);
+        command.add("-XX:+Use" + gc + "GC");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(HeapStackTest.class.getName());
+        command.add(test);
+
+        long startTime = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        RunResult run = new RunResult();
+        // Read the output on another thread so a child that hangs can still be stopped after the timeout
+        Thread reader = new Thread(() -> parseOutput(process, run), "matrix-output-reader");
+        reader.setDaemon(true);
+        reader.start();
+        boolean finished = process.waitFor(RUN_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+        if (!finished) {
+            process.destroyForcibly();
+        }
+        reader.join(TimeUnit.SECONDS.toMillis(10));
+        run.exitCode = finished ? process.exitValue() : -1;
+        run.durationMs = (System.nanoTime() - startTime) / 1_000_000;
+        if (run.exitCode != 0) run.result = Double.NaN;
+        return run;
+    }
+
+    private static void parseOutput(Process process, RunResult run) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = HEAP_ITERATIONS.matcher(line);
+                if (matcher.find()) run.result = Double.parseDouble(matcher.group(1));
+                matcher = STACK_DEPTH.matcher(line);
+                if (matcher.find()) run.result = Double.parseDouble(matcher.group(1));
+                matcher = AVERAGE_TIME.matcher(line);
+                if (matcher.find()) run.averageMs = Double.parseDouble(matcher.group(1));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read output of child JVM: " + e.getMessage());
+        }
+    }
+
+    private static String summarize(List<Double> results) {
+        if (results.isEmpty()) return ",,,";
+        double sum = 0;
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (double result : results) {
+            sum += result;
+            min = Math.min(min, result);
+            max = Math.max(max, result);
+        }
+        double mean = sum / results.size();
+        double squares = 0;
+        for (double result : results) squares += (result - mean) * (result - mean);
+        double stddev = results.size() > 1 ? Math.sqrt(squares / (results.size() - 1)) : 0;
+        return String.join(",", format(mean), format(stddev), format(min), format(max));
+    }
+
+    private static long physicalMemoryMb() {
+        java.lang.management.OperatingSystemMXBean os = java.lang.management.ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getTotalMemorySize() / 1024 / 1024;
+        }
+        return -1;
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.valueOf(value);
+    }
+
+    private static String csv(String value) {
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * The outcome of one forked run.
+     */
+    private static class RunResult {
+        private int exitCode;
+        private double result = Double.NaN;
+        private double averageMs = Double.NaN;
+        private long durationMs;
+    }
+}
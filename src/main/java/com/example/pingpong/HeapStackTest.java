@@ -1,15 +1,42 @@
 package com.example.pingpong;
 
+import com.example.pingpong.Controller.BallManager;
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.GameController;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.HeadlessSession;
+import com.example.pingpong.Controller.ThreadModels;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.View.GameView;
+import javafx.application.Platform;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A utility class for testing and understanding the behavior of Java memory management,
  * specifically focusing on heap and stack size limits. This class performs experiments
  * to determine the effects of heavy memory usage and deep recursion on application performance
- * and stability.
+ * and stability. The allocation profiler measures how much the game loop and the renderer allocate while a match
+ * is played, and how much garbage collection that causes.
  */
 public class HeapStackTest {
+    private static final long TICK_NANOS = BallManager.TICK_MILLIS * 1_000_000L;
+    /** Number of frames the thread stack benchmark descends before parking, about the depth of a running game loop. */
+    private static final int LOOP_STACK_FRAMES = 32;
+
+    private static int stackDepth;
 
     /**
      * Tests the limits of JVM heap memory by repeatedly allocating large arrays and monitoring
@@ -56,62 +83,386 @@ public class HeapStackTest {
 
     /**
      * Tests the JVM stack size limits by performing a deep recursive method call and records
-     * the depth of recursion at which a StackOverflowError occurs.
+     * the depth of recursion at which a StackOverflowError occurs. The recursion does not print while it descends,
+     * so the average time per call is the cost of the call itself rather than of the console output.
      */
     public static void testStackSize() {
-        Runtime runtime = Runtime.getRuntime();
-        long startTime = System.currentTimeMillis();
-        long endTime;
+        long startTime = System.nanoTime();
+        stackDepth = 0;
 
         try {
-            int depth = recursiveStackCall(0, 0);  // Start recursion from depth 0 with no initial time
-            endTime = System.currentTimeMillis();
-            System.out.println("Stack Overflow at depth: " + depth);
-            System.out.println("Stack test duration: " + (endTime - startTime) + " ms");
+            recursiveStackCall(0);  // Start recursion from depth 0
         } catch (StackOverflowError e) {
-            endTime = System.currentTimeMillis();
+            long duration = System.nanoTime() - startTime;
+            double averageRecursionTime = stackDepth > 0 ? duration / 1_000_000.0 / stackDepth : 0;
             System.out.println("Stack Overflow Error caught");
-            System.out.println("Stack test duration: " + (endTime - startTime) + " ms");
+            System.out.println("Stack depth: " + stackDepth);
+            System.out.println("Average Recursion Time: " + averageRecursionTime + " ms");
+            System.out.println("Stack test duration: " + duration / 1_000_000 + " ms");
         }
     }
 
     /**
-     * A recursive method to increment the call depth and track the time spent on each call.
-     * This method aids in measuring the time complexity and stack growth.
+     * A recursive method that records the deepest call depth reached until a StackOverflowError occurs.
+     *
+     * @param depth Current depth of recursion.
+     */
+    private static void recursiveStackCall(int depth) {
+        stackDepth = depth;
+        recursiveStackCall(depth + 1);  // Recursive call
+    }
+
+    /**
+     * Measures what a parked thread costs with each thread model, and how the game loop runs on it. For every thread
+     * count and model, that many threads each descend {@link #LOOP_STACK_FRAMES} frames, as deep as the game loop
+     * runs below its thread's entry point, and park. The start time per thread and the resident and heap memory per
+     * parked thread are recorded. Then every thread runs a {@link HeadlessSession} at the on-screen tick rate for a
+     * number of seconds, and the tick rate achieved and the 99th percentile tick lateness are recorded. Finally the
+     * number of matches whose thread stacks would fit in physical memory is estimated from the memory per thread.
      *
-     * @param depth             Current depth of recursion.
-     * @param totalRecursionTime Cumulative time spent in recursion to this point.
-     * @return The depth of recursion when a StackOverflowError occurs.
+     * <p>Platform thread stacks are native memory and only show up in the resident set size; virtual thread stacks
+     * are copied to the heap while parked, so the larger of the two is taken as the stack cost of a match.</p>
+     *
+     * @param counts     Numbers of threads to start.
+     * @param models     Thread models: {@code virtual}, or the stack size of platform threads such as {@code 256k},
+     *                   {@code 1m} or {@code default} for the {@code -Xss} size.
+     * @param seconds    Number of seconds the game loop runs on the threads.
+     * @param outputFile File to write the results to.
+     * @throws IOException          If the results cannot be written.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    public static void testThreadStacks(int[] counts, String[] models, int seconds, String outputFile) throws IOException, InterruptedException {
+        System.out.println("Java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors()
+                + " processors, max heap " + Runtime.getRuntime().maxMemory() / 1024 / 1024 + " MB");
+        List<String> rows = new ArrayList<>();
+        String header = "\"Model\" \"Threads\" \"Started\" \"Start time (us)\" \"Resident (KB)\" \"Heap (KB)\" "
+                + "\"Tick rate (%)\" \"Late p99 (us)\" \"Capacity\"";
+        System.out.println(header);
+        for (int count : counts) {
+            for (String model : models) {
+                String row = runThreadStacks(count, model, seconds);
+                System.out.println(row);
+                rows.add(row);
+            }
+        }
+
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(outputFile)))) {
+            out.println(header);
+            for (String row : rows) out.println(row);
+        }
+        System.out.println("Thread stack results written to " + outputFile);
+    }
+
+    /**
+     * Starts, measures and stops one thread count on one thread model, and formats the result as a row.
+     */
+    private static String runThreadStacks(int count, String model, int seconds) throws InterruptedException {
+        ThreadFactory factory = model.equals("virtual")
+                ? ThreadModels.virtualThreadFactory()
+                : ThreadModels.platformThreadFactory("stack-" + model, parseSize(model));
+        if (factory == null) {
+            return String.format("%-9s %-9d skipped: virtual threads need Java 21 or newer", model, count);
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        List<HeadlessSession> sessions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BotStrategy left = BotStrategy.cpu("left-" + i, CpuPlayer.Difficulty.MEDIUM);
+            BotStrategy right = BotStrategy.cpu("right-" + i, CpuPlayer.Difficulty.HARD);
+            HeadlessMatch match = new HeadlessMatch(left.getName(), right.getName(), left.create(true, i),
+                    right.create(false, ~i), Integer.MAX_VALUE);
+            sessions.add(new HeadlessSession(match, TICK_NANOS));
+        }
+        // The matches exist before the baseline is taken, so only the threads count towards the memory
+        long baselineHeap = usedHeapAfterGc(memory);
+        long baselineResident = residentMemory();
+
+        CountDownLatch parked = new CountDownLatch(count);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(count);
+        long startTime = System.nanoTime();
+        try {
+            for (HeadlessSession session : sessions) {
+                Thread thread = factory.newThread(() -> descendAndRun(LOOP_STACK_FRAMES, parked, release, session));
+                thread.start();
+                threads.add(thread);
+            }
+        } catch (OutOfMemoryError e) {
+            // Typically "unable to create native thread" once the platform threads exhaust a system limit
+            stopThreads(sessions, threads, release);
+            return String.format("%-9s %-9d failed after %d threads: %s", model, count, threads.size(), e.getMessage());
+        }
+        parked.await();
+        double startMicros = (System.nanoTime() - startTime) / 1000.0 / count;
+
+        long residentPerThread = Math.max(0, residentMemory() - baselineResident) / count;
+        long heapPerThread = Math.max(0, usedHeapAfterGc(memory) - baselineHeap) / count;
+
+        // Run the game loop on every thread, skipping the first second while the sessions settle
+        long recordFrom = System.nanoTime() + 1_000_000_000L;
+        for (HeadlessSession session : sessions) session.setRecordFromNanos(recordFrom);
+        release.countDown();
+        TimeUnit.NANOSECONDS.sleep(recordFrom - System.nanoTime());
+        long ticksBefore = totalTicks(sessions);
+        long wallBefore = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        long wallAfter = System.nanoTime();
+        long ticksAfter = totalTicks(sessions);
+        stopThreads(sessions, threads, release);
+
+        double expectedTicks = (double) count * (wallAfter - wallBefore) / TICK_NANOS;
+        double tickRate = 100.0 * (ticksAfter - ticksBefore) / expectedTicks;
+        long[] histogram = new long[HeadlessSession.LATENESS_BUCKETS];
+        for (HeadlessSession session : sessions) {
+            int[] sessionHistogram = session.getLatenessHistogram();
+            for (int b = 0; b < histogram.length; b++) histogram[b] += sessionHistogram[b];
+        }
+        long stackPerThread = Math.max(1, Math.max(residentPerThread, heapPerThread));
+        long capacity = physicalMemory() / stackPerThread;
+
+        return String.format("%-9s %-9d %-9d %-17.1f %-15.1f %-11.1f %-15.1f %-15d %d", model, count, threads.size(),
+                startMicros, residentPerThread / 1024.0, heapPerThread / 1024.0, tickRate,
+                HeadlessSession.percentileMicros(histogram, 0.99), capacity);
+    }
+
+    /**
+     * Descends a number of frames, parks until released, and then runs the session's loop at that depth.
+     */
+    private static void descendAndRun(int frames, CountDownLatch parked, CountDownLatch release, HeadlessSession session) {
+        if (frames > 0) {
+            descendAndRun(frames - 1, parked, release, session);
+            return;
+        }
+        parked.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            return;
+        }
+        session.run();
+    }
+
+    private static void stopThreads(List<HeadlessSession> sessions, List<Thread> threads, CountDownLatch release) throws InterruptedException {
+        // Stopped sessions return straight away once released
+        for (HeadlessSession session : sessions) session.stop();
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+    }
+
+    private static long totalTicks(List<HeadlessSession> sessions) {
+        long ticks = 0;
+        for (HeadlessSession session : sessions) ticks += session.getTicks();
+        return ticks;
+    }
+
+    /**
+     * Parses a stack size such as 256k or 1m into bytes; {@code default} is 0, the {@code -Xss} size.
      */
-    private static int recursiveStackCall(int depth, long totalRecursionTime) {
-        long callStartTime = System.currentTimeMillis();
+    private static long parseSize(String size) {
+        if (size.equals("default")) return 0;
+        char unit = Character.toLowerCase(size.charAt(size.length() - 1));
+        long multiplier = unit == 'k' ? 1024 : unit == 'm' ? 1024 * 1024 : unit == 'g' ? 1024 * 1024 * 1024 : 1;
+        String digits = multiplier == 1 ? size : size.substring(0, size.length() - 1);
+        return Long.parseLong(digits) * multiplier;
+    }
 
-        if (depth % 100 == 0) {
-            System.out.println("Stack depth: " + depth);
-            double averageCreationTime = depth > 0 ? (double) totalRecursionTime / depth : 0;
-            System.out.println("Average Recursion Time: " + averageCreationTime + " ms");
+    /**
+     * Collects garbage a few times so the heap measured only holds what is still reachable.
+     */
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
         }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
 
-        long callEndTime = System.currentTimeMillis();
-        totalRecursionTime += (callEndTime - callStartTime);
+    /**
+     * Reads the resident set size of this process from /proc on Linux, or falls back to the committed virtual memory
+     * on other systems.
+     */
+    private static long residentMemory() {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", "")) * 1024;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not Linux, use the fallback below
+        }
+        return operatingSystem().getCommittedVirtualMemorySize();
+    }
 
-        return recursiveStackCall(depth + 1, totalRecursionTime);  // Recursive call
+    private static long physicalMemory() {
+        return operatingSystem().getTotalMemorySize();
+    }
+
+    private static com.sun.management.OperatingSystemMXBean operatingSystem() {
+        return (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
     }
 
     /**
-     * The main method to execute the tests. Change the value of heapTest to switch between
-     * testing heap and stack capabilities.
+     * Plays a match between two computer players at the normal tick rate for a number of seconds and records, once per
+     * second, the bytes allocated per tick by the game loop thread and per frame by the JavaFX thread, and the number
+     * and total pause time of garbage collections. The samples are printed and written to a file in the same
+     * whitespace separated format as the heap and stack results, so the same R plots can be made from them.
+     * Without a display the JavaFX toolkit cannot start; the match is then simulated headless and the frame column is 0.
      *
-     * @param args Command line arguments (not used).
+     * @param seconds    Number of seconds to profile.
+     * @param outputFile File to write the samples to.
+     * @throws IOException          If the samples cannot be written.
+     * @throws InterruptedException If the profiler is interrupted.
      */
-    public static void main(String[] args) {
-        boolean heapTest = true;  // Change false to run stack test
-        if (heapTest) {
-            System.out.println("Starting heap size test...");
-            testHeapSize();
+    public static void testAllocationRate(int seconds, String outputFile) throws IOException, InterruptedException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+        long fxThreadId = startFxToolkit();
+        boolean rendering = fxThreadId >= 0;
+        System.out.println(rendering ? "Profiling game loop and rendering" : "No display available, profiling the headless game loop only");
+
+        // Both rackets are played by the computer so the match keeps going without input
+        Game game;
+        BallManager ballManager = null;
+        HeadlessMatch headlessMatch = null;
+        if (rendering) {
+            GameView view = new GameView(1100, 690);
+            GameController controller = new GameController(null, view);
+            game = controller.getGame();
+            game.setMaxScore(Integer.MAX_VALUE);
+            controller.setCpuPlayer1(new CpuPlayer(true, CpuPlayer.Difficulty.MEDIUM, 1));
+            controller.setCpuPlayer2(new CpuPlayer(false, CpuPlayer.Difficulty.HARD, 2));
+            game.resumeGame();
+            ballManager = new BallManager(game, view, controller);
         } else {
-            System.out.println("Starting stack size test...");
-            testStackSize();
+            headlessMatch = new HeadlessMatch("Left", "Right", BotStrategy.cpu("Left", CpuPlayer.Difficulty.MEDIUM).create(true, 1),
+                    BotStrategy.cpu("Right", CpuPlayer.Difficulty.HARD).create(false, 2), Integer.MAX_VALUE);
+        }
+
+        long loopThreadId = Thread.currentThread().getId();
+        long[] loopBytes = new long[seconds];
+        long[] frameBytes = new long[seconds];
+        long[] gcCounts = new long[seconds];
+        long[] gcTimes = new long[seconds];
+        int[] ticks = new int[seconds];
+
+        long lastLoopBytes = threads.getThreadAllocatedBytes(loopThreadId);
+        long lastFrameBytes = rendering ? threads.getThreadAllocatedBytes(fxThreadId) : 0;
+        long lastGcCount = totalGcCount(collectors);
+        long lastGcTime = totalGcTime(collectors);
+
+        long nextTick = System.nanoTime();
+        for (int second = 0; second < seconds; second++) {
+            long secondEnd = nextTick + 1_000_000_000L;
+            while (nextTick < secondEnd) {
+                long wait = nextTick - System.nanoTime();
+                if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+                if (rendering) {
+                    ballManager.tick(System.nanoTime());
+                } else {
+                    headlessMatch.tick();
+                }
+                ticks[second]++;
+                nextTick += TICK_NANOS;
+            }
+
+            // Sample the counters without allocating in between
+            long currentLoopBytes = threads.getThreadAllocatedBytes(loopThreadId);
+            long currentFrameBytes = rendering ? threads.getThreadAllocatedBytes(fxThreadId) : 0;
+            long currentGcCount = totalGcCount(collectors);
+            long currentGcTime = totalGcTime(collectors);
+            loopBytes[second] = currentLoopBytes - lastLoopBytes;
+            frameBytes[second] = currentFrameBytes - lastFrameBytes;
+            gcCounts[second] = currentGcCount - lastGcCount;
+            gcTimes[second] = currentGcTime - lastGcTime;
+            lastLoopBytes = currentLoopBytes;
+            lastFrameBytes = currentFrameBytes;
+            lastGcCount = currentGcCount;
+            lastGcTime = currentGcTime;
+        }
+        if (rendering) Platform.exit();
+
+        // Every tick posts exactly one frame to the JavaFX thread
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(outputFile)))) {
+            out.println("\"Second\" \"Bytes per tick\" \"Bytes per frame\" \"GC count\" \"GC time (ms)\"");
+            for (int second = 0; second < seconds; second++) {
+                String row = String.format("%-14d %-16.1f %-17.1f %-10d %d", second + 1, (double) loopBytes[second] / ticks[second],
+                        (double) frameBytes[second] / ticks[second], gcCounts[second], gcTimes[second]);
+                out.println(row);
+                System.out.println(row);
+            }
+        }
+        System.out.println("Allocation profile written to " + outputFile);
+    }
+
+    /**
+     * Starts the JavaFX toolkit and looks up its application thread.
+     *
+     * @return The id of the JavaFX application thread, or -1 if the toolkit could not be started.
+     * @throws InterruptedException If interrupted while waiting for the toolkit.
+     */
+    private static long startFxToolkit() throws InterruptedException {
+        long[] fxThreadId = {-1};
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(() -> {
+                fxThreadId[0] = Thread.currentThread().getId();
+                started.countDown();
+            });
+        } catch (RuntimeException e) {
+            return -1;
+        }
+        return started.await(5, TimeUnit.SECONDS) ? fxThreadId[0] : -1;
+    }
+
+    private static long totalGcCount(List<GarbageCollectorMXBean> collectors) {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) count += Math.max(0, collector.getCollectionCount());
+        return count;
+    }
+
+    private static long totalGcTime(List<GarbageCollectorMXBean> collectors) {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : collectors) time += Math.max(0, collector.getCollectionTime());
+        return time;
+    }
+
+    /**
+     * The main method to execute the tests. The first argument chooses the test: {@code heap} (the default),
+     * {@code stack}, {@code alloc} or {@code threads}. The allocation profiler takes the number of seconds and the
+     * output file as further arguments; the thread stack benchmark takes comma separated thread counts, comma
+     * separated thread models, the number of seconds and the output file.
+     *
+     * @param args Command line arguments: test, then the settings of {@code alloc} or {@code threads}.
+     * @throws Exception If the allocation profile cannot be written.
+     */
+    public static void main(String[] args) throws Exception {
+        String test = args.length > 0 ? args[0] : "heap";
+        switch (test) {
+            case "stack":
+                System.out.println("Starting stack size test...");
+                testStackSize();
+                break;
+            case "alloc":
+                System.out.println("Starting allocation profile...");
+                testAllocationRate(args.length > 1 ? Integer.parseInt(args[1]) : 30, args.length > 2 ? args[2] : "allocation.txt");
+                break;
+            case "threads":
+                System.out.println("Starting thread stack test...");
+                String[] counts = (args.length > 1 ? args[1] : "1,1000,100000").split(",");
+                int[] threadCounts = new int[counts.length];
+                for (int i = 0; i < counts.length; i++) threadCounts[i] = Integer.parseInt(counts[i]);
+                testThreadStacks(threadCounts, (args.length > 2 ? args[2] : "256k,1m,virtual").split(","),
+                        args.length > 3 ? Integer.parseInt(args[3]) : 5, args.length > 4 ? args[4] : "threads.txt");
+                break;
+            default:
+                System.out.println("Starting heap size test...");
+                testHeapSize();
+                break;
         }
     }
 }
@@ -1,9 +1,10 @@
 package com.example.pingpong.Model;
 
 /**
- * Represents the ball used in the game, including its movement mechanics, collision detection, and resizing capabilities.
+ * Represents the ball used in the game, including its movement mechanics and collision detection.
+ * Positions and sizes are in the game's fixed logical units, independent of the window size.
  */
-public class Ball implements Resizable {
+public class Ball {
     private double speed;
     private double speedIncreaseFrequency;
     private double radius;
@@ -17,6 +18,10 @@ public class Ball implements Resizable {
 
     private double speedTemp; // Temporary storage for speed to reset after game pauses or resets.
 
+    private double lastHitOffset; // Where the ball last hit a racket, from -1 (top end) to 1 (bottom end).
+
+    private int bounceCount; // Number of racket hits so far, so the view can notice new hits without callbacks.
+
     /**
      * Constructs a new Ball with initial settings.
      *
@@ -97,6 +102,7 @@ public class Ball implements Resizable {
      */
     public void bounce(Racket racket) {
         this.directionX = -this.directionX;
+        this.bounceCount++;
 
         // Increase speed consistently upon bouncing.
         this.speed += this.speedIncreaseFrequency;
@@ -104,6 +110,7 @@ public class Ball implements Resizable {
         double hitPositionY = this.posY - racket.getPosY();
         double racketCenterY = racket.getLength() / 2;
         double relativeHitPosition = (hitPositionY - racketCenterY) / racketCenterY;
+        this.lastHitOffset = relativeHitPosition;
 
         // Adjust vertical direction and speed based on hit position
         this.directionY += relativeHitPosition * 0.5;
@@ -124,6 +131,10 @@ public class Ball implements Resizable {
         this.directionY = directionY;
     }
 
+    public double getDirectionX() {
+        return directionX;
+    }
+
     public double getDirectionY() {
         return directionY;
     }
@@ -168,24 +179,19 @@ public class Ball implements Resizable {
         this.posY = posY;
     }
 
-    public double getSpeedTemp() {
-        return speedTemp;
+    public double getLastHitOffset() {
+        return lastHitOffset;
     }
 
-    public void setSpeedTemp(double speedTemp) {
-        this.speedTemp = speedTemp;
+    public int getBounceCount() {
+        return bounceCount;
     }
 
-    @Override
-    public void resizeX(double factor) {
-        // Resize logic for the game along the x-axis
-        this.posX *= factor;
-        this.radius *= factor;
+    public double getSpeedTemp() {
+        return speedTemp;
     }
 
-    @Override
-    public void resizeY(double factor) {
-        // Resize logic for the game along the Y-axis
-        this.posY *= factor;
+    public void setSpeedTemp(double speedTemp) {
+        this.speedTemp = speedTemp;
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.example.pingpong.Model;
+
+/**
+ * The extra balls of the multi-ball mode. Up to hundreds of balls are in play at once, so they are stored as
+ * parallel primitive arrays rather than as {@link Ball} objects: a tick walks the arrays without allocating or
+ * chasing pointers. Every extra ball has the same radius. Positions and speeds are in the game's fixed logical units.
+ */
+public class BallSwarm {
+    /** Radius of every extra ball, smaller than the main ball so many fit on the table. */
+    public static final double RADIUS = 8;
+
+    /** Speed along each axis a ball is served with. */
+    private static final double SERVE_SPEED = 2.0;
+
+    private final int count;
+    private final double[] posX;
+    private final double[] posY;
+    private final double[] velX;
+    private final double[] velY;
+
+    private long randomState;
+
+    /**
+     * Constructs a swarm of extra balls. The balls are not placed until {@link #resetPositions} is called.
+     *
+     * @param count Number of extra balls.
+     * @param seed  Seed for the random serve directions.
+     */
+    public BallSwarm(int count, long seed) {
+        this.count = count;
+        this.posX = new double[count];
+        this.posY = new double[count];
+        this.velX = new double[count];
+        this.velY = new double[count];
+        this.randomState = seed == 0 ? 1 : seed;
+    }
+
+    /**
+     * Spreads all balls over the middle of the table and serves each one in a random direction.
+     *
+     * @param gameWidth  The width of the game area.
+     * @param gameHeight The height of the game area.
+     */
+    public void resetPositions(double gameWidth, double gameHeight) {
+        int columns = Math.max(1, (int) Math.ceil(Math.sqrt(count / 2.0)));
+        int rows = (count + columns - 1) / Math.max(1, columns);
+        double spacing = RADIUS * 3;
+        double startX = gameWidth / 2 - (columns - 1) * spacing / 2;
+        double startY = gameHeight / 2 - (rows - 1) * spacing / 2;
+        for (int i = 0; i < count; i++) {
+            posX[i] = startX + (i % columns) * spacing;
+            posY[i] = Math.max(RADIUS, Math.min(gameHeight - RADIUS, startY + (i / columns) * spacing));
+            serve(i);
+        }
+    }
+
+    /**
+     * Puts a ball back in the middle of the table and serves it in a random direction, as after a point.
+     *
+     * @param i          Index of the ball.
+     * @param gameWidth  The width of the game area.
+     * @param gameHeight The height of the game area.
+     */
+    public void respawn(int i, double gameWidth, double gameHeight) {
+        posX[i] = gameWidth / 2;
+        posY[i] = RADIUS + nextDouble() * (gameHeight - 2 * RADIUS);
+        serve(i);
+    }
+
+    private void serve(int i) {
+        velX[i] = nextDouble() < 0.5 ? -SERVE_SPEED : SERVE_SPEED;
+        velY[i] = (nextDouble() * 2 - 1) * SERVE_SPEED;
+    }
+
+    /**
+     * Returns a pseudo-random number in [0, 1) from an xorshift generator, so serving does not allocate.
+     */
+    private double nextDouble() {
+        long x = randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState = x;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double[] getPosX() {
+        return posX;
+    }
+
+    public double[] getPosY() {
+        return posY;
+    }
+
+    public double[] getVelX() {
+        return velX;
+    }
+
+    public double[] getVelY() {
+        return velY;
+    }
+}
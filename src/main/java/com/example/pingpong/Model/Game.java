@@ -3,12 +3,16 @@ package com.example.pingpong.Model;
  * Represents the entire game state for a Ping-Pong game. This class encapsulates all aspects of the game,
  * including players, ball, game area dimensions, and scoring. It provides methods to manage game flow, such as
  * start, pause, and reset functionalities.
+ * The game area has a fixed logical size; the view scales it to the window when drawing, so the model never
+ * changes when the window is resized.
  */
-public class Game implements Resizable {
+public class Game {
     // Game settings
     private Player player1;
     private Player player2;
     private Ball ball;
+    private BallSwarm extraBalls; // Extra balls of the multi-ball mode, or null for a classic game
+    private final MatchStatistics statistics = new MatchStatistics();
 
     private double width;
     private double height;
@@ -16,6 +20,7 @@ public class Game implements Resizable {
 
     private boolean ballMoving;
     private boolean isPaused;
+    private MatchPhase phase;
 
     /**
      * Initializes a new Game instance with default settings.
@@ -29,6 +34,7 @@ public class Game implements Resizable {
         this.player2 = new Player("PLAYER 2", this.height);
         this.ballMoving = false;
         this.isPaused = true;
+        this.phase = MatchPhase.PLAYING;
 
         this.player2.getRacket().setPosX(this.width - this.player2.getRacket().getWidth() - 20);
     }
@@ -57,6 +63,11 @@ public class Game implements Resizable {
         this.ball.setDirectionY(1);
 
         this.isPaused = true;
+        this.phase = MatchPhase.PLAYING;
+
+        if (this.extraBalls != null) this.extraBalls.resetPositions(this.width, this.height);
+
+        this.statistics.reset();
     }
 
     /**
@@ -108,6 +119,26 @@ public class Game implements Resizable {
         this.ball = ball;
     }
 
+    public MatchPhase getPhase() {
+        return phase;
+    }
+
+    public void setPhase(MatchPhase phase) {
+        this.phase = phase;
+    }
+
+    public BallSwarm getExtraBalls() {
+        return extraBalls;
+    }
+
+    public void setExtraBalls(BallSwarm extraBalls) {
+        this.extraBalls = extraBalls;
+    }
+
+    public MatchStatistics getStatistics() {
+        return statistics;
+    }
+
     public int getMaxScore() {
         return maxScore;
     }
@@ -143,28 +174,4 @@ public class Game implements Resizable {
     public boolean isBallMoving() {
         return ballMoving;
     }
-
-    /**
-     * Updates game components proportionally based on a change in the X-axis dimension.
-     * @param factor The scaling factor for resizing along the X-axis.
-     */
-    @Override
-    public void resizeX(double factor) {
-        // Resize logic for the game along the X-axis
-        player1.getRacket().resizeX(factor);
-        player2.getRacket().resizeX(factor);
-        ball.resizeX(factor);
-    }
-
-    /**
-     * Updates game components proportionally based on a change in the Y-axis dimension.
-     * @param factor The scaling factor for resizing along the Y-axis.
-     */
-    @Override
-    public void resizeY(double factor) {
-        // Resize logic for the game along the Y-axis
-        player1.getRacket().resizeY(factor);
-        player2.getRacket().resizeY(factor);
-        ball.resizeY(factor);
-    }
 }
\ No newline at end of file
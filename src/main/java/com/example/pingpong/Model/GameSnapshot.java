@@ -0,0 +1,209 @@
+package com.example.pingpong.Model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * A flat, reusable copy of the complete live state of a {@link Game}: ball position, direction and speed, racket
+ * positions and sizes, scores, the paused state and the match phase. A snapshot is allocated once and then overwritten in place, so
+ * capturing the state of a running game takes constant time and creates no garbage.
+ */
+public class GameSnapshot {
+    // 1: positions in window pixels, with the size of the area they were taken in. 2: logical units and match phase.
+    private static final int FORMAT_VERSION = 2;
+
+    private long sequence;
+
+    private int maxScore;
+    private boolean ballMoving;
+    private boolean paused;
+    private MatchPhase phase = MatchPhase.PLAYING;
+
+    private double ballPosX;
+    private double ballPosY;
+    private double ballDirectionX;
+    private double ballDirectionY;
+    private double ballSpeed;
+    private double ballSpeedTemp;
+    private double ballSpeedIncreaseFrequency;
+    private double ballRadius;
+
+    private String player1Name;
+    private int player1Score;
+    private final double[] racket1 = new double[4];
+
+    private String player2Name;
+    private int player2Score;
+    private final double[] racket2 = new double[4];
+
+    /**
+     * Copies the current state of the game into this snapshot, overwriting whatever it held before.
+     *
+     * @param game The game to capture.
+     */
+    public void capture(Game game) {
+        maxScore = game.getMaxScore();
+        ballMoving = game.isBallMoving();
+        paused = game.isGamePaused();
+        phase = game.getPhase();
+
+        Ball ball = game.getBall();
+        ballPosX = ball.getPosX();
+        ballPosY = ball.getPosY();
+        ballDirectionX = ball.getDirectionX();
+        ballDirectionY = ball.getDirectionY();
+        ballSpeed = ball.getSpeed();
+        ballSpeedTemp = ball.getSpeedTemp();
+        ballSpeedIncreaseFrequency = ball.getSpeedIncreaseFrequency();
+        ballRadius = ball.getRadius();
+
+        player1Name = game.getPlayer1().getName();
+        player1Score = game.getPlayer1().getScore();
+        captureRacket(game.getPlayer1().getRacket(), racket1);
+
+        player2Name = game.getPlayer2().getName();
+        player2Score = game.getPlayer2().getScore();
+        captureRacket(game.getPlayer2().getRacket(), racket2);
+    }
+
+    /**
+     * Restores the state held by this snapshot into the given game.
+     *
+     * @param game The game to restore into.
+     */
+    public void applyTo(Game game) {
+        game.setMaxScore(maxScore);
+
+        Ball ball = game.getBall();
+        ball.setPosX(ballPosX);
+        ball.setPosY(ballPosY);
+        ball.setDirectionX(ballDirectionX);
+        ball.setDirectionY(ballDirectionY);
+        ball.setSpeed(ballSpeed);
+        ball.setSpeedTemp(ballSpeedTemp);
+        ball.setSpeedIncreaseFrequency(ballSpeedIncreaseFrequency);
+        ball.setRadius(ballRadius);
+
+        game.getPlayer1().setName(player1Name);
+        game.getPlayer1().setScore(player1Score);
+        applyRacket(game.getPlayer1().getRacket(), racket1);
+
+        game.getPlayer2().setName(player2Name);
+        game.getPlayer2().setScore(player2Score);
+        applyRacket(game.getPlayer2().getRacket(), racket2);
+
+        game.setPhase(phase);
+        if (paused) {
+            game.pauseGame();
+        } else {
+            game.resumeGame();
+            if (!ballMoving) game.stopBallMovement();
+        }
+    }
+
+    /**
+     * Writes this snapshot to a binary stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If an I/O error occurs during the writing process.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeLong(sequence);
+        out.writeInt(maxScore);
+        out.writeBoolean(ballMoving);
+        out.writeBoolean(paused);
+        out.writeInt(phase.ordinal());
+
+        out.writeDouble(ballPosX);
+        out.writeDouble(ballPosY);
+        out.writeDouble(ballDirectionX);
+        out.writeDouble(ballDirectionY);
+        out.writeDouble(ballSpeed);
+        out.writeDouble(ballSpeedTemp);
+        out.writeDouble(ballSpeedIncreaseFrequency);
+        out.writeDouble(ballRadius);
+
+        out.writeUTF(player1Name == null ? "" : player1Name);
+        out.writeInt(player1Score);
+        for (double value : racket1) out.writeDouble(value);
+
+        out.writeUTF(player2Name == null ? "" : player2Name);
+        out.writeInt(player2Score);
+        for (double value : racket2) out.writeDouble(value);
+    }
+
+    /**
+     * Reads a snapshot previously written by {@link #writeTo(DataOutputStream)} into this instance. Snapshots of the
+     * first format stored positions in window pixels rather than logical units, and are rejected.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If an I/O error occurs or the data was written in an unsupported format.
+     */
+    public void readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version == 1) {
+            throw new IOException("Snapshot format 1 stores window pixel positions and is no longer supported");
+        }
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format: " + version);
+        }
+        sequence = in.readLong();
+        maxScore = in.readInt();
+        ballMoving = in.readBoolean();
+        paused = in.readBoolean();
+        phase = MatchPhase.values()[in.readInt()];
+
+        ballPosX = in.readDouble();
+        ballPosY = in.readDouble();
+        ballDirectionX = in.readDouble();
+        ballDirectionY = in.readDouble();
+        ballSpeed = in.readDouble();
+        ballSpeedTemp = in.readDouble();
+        ballSpeedIncreaseFrequency = in.readDouble();
+        ballRadius = in.readDouble();
+
+        player1Name = in.readUTF();
+        player1Score = in.readInt();
+        for (int i = 0; i < racket1.length; i++) racket1[i] = in.readDouble();
+
+        player2Name = in.readUTF();
+        player2Score = in.readInt();
+        for (int i = 0; i < racket2.length; i++) racket2[i] = in.readDouble();
+    }
+
+    private static void captureRacket(Racket racket, double[] target) {
+        target[0] = racket.getPosX();
+        target[1] = racket.getPosY();
+        target[2] = racket.getWidth();
+        target[3] = racket.getLength();
+    }
+
+    private static void applyRacket(Racket racket, double[] source) {
+        racket.setPosX(source[0]);
+        racket.setPosY(source[1]);
+        racket.setWidth(source[2]);
+        racket.setLength(source[3]);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public int getPlayer1Score() {
+        return player1Score;
+    }
+
+    public int getPlayer2Score() {
+        return player2Score;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.pingpong.Model;
+
+/**
+ * One goal of a match, as stored in the match event history.
+ */
+public class MatchEvent {
+    private final String matchId;
+    private final String scorerName;
+    private final boolean scoredByPlayer1;
+    private final int player1Score;
+    private final int player2Score;
+    private final int rallyHits;
+    private final long rallyTicks;
+    private final double ballSpeed;
+    private final long timeMillis;
+
+    /**
+     * Constructs a match event.
+     *
+     * @param matchId         Identifies the match the goal was scored in.
+     * @param scorerName      Name of the player who scored.
+     * @param scoredByPlayer1 true if player 1 scored, false for player 2.
+     * @param player1Score    Score of player 1 after the point.
+     * @param player2Score    Score of player 2 after the point.
+     * @param rallyHits       Racket hits in the rally that ended with the point.
+     * @param rallyTicks      Simulation ticks the rally lasted.
+     * @param ballSpeed       Speed of the ball when it crossed the goal line.
+     * @param timeMillis      When the point was scored, in milliseconds since the epoch.
+     */
+    public MatchEvent(String matchId, String scorerName, boolean scoredByPlayer1, int player1Score, int player2Score,
+                      int rallyHits, long rallyTicks, double ballSpeed, long timeMillis) {
+        this.matchId = matchId;
+        this.scorerName = scorerName;
+        this.scoredByPlayer1 = scoredByPlayer1;
+        this.player1Score = player1Score;
+        this.player2Score = player2Score;
+        this.rallyHits = rallyHits;
+        this.rallyTicks = rallyTicks;
+        this.ballSpeed = ballSpeed;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Constructs the event of the point just scored in a game, after the scorer's score has been increased.
+     *
+     * @param matchId Identifies the match the goal was scored in.
+     * @param game    The game the point was scored in.
+     * @param scorer  The player who scored.
+     * @return The event.
+     */
+    public static MatchEvent of(String matchId, Game game, Player scorer) {
+        MatchStatistics statistics = game.getStatistics();
+        return new MatchEvent(matchId, scorer.getName(), scorer == game.getPlayer1(),
+                game.getPlayer1().getScore(), game.getPlayer2().getScore(), statistics.getLastRallyHits(),
+                statistics.getLastRallyTicks(), game.getBall().getSpeed(), System.currentTimeMillis());
+    }
+
+    public String getMatchId() {
+        return matchId;
+    }
+
+    public String getScorerName() {
+        return scorerName;
+    }
+
+    public boolean isScoredByPlayer1() {
+        return scoredByPlayer1;
+    }
+
+    public int getPlayer1Score() {
+        return player1Score;
+    }
+
+    public int getPlayer2Score() {
+        return player2Score;
+    }
+
+    public int getRallyHits() {
+        return rallyHits;
+    }
+
+    public long getRallyTicks() {
+        return rallyTicks;
+    }
+
+    public double getBallSpeed() {
+        return ballSpeed;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.pingpong.Model;
+
+/**
+ * The phases of a match. The game loop moves between them based on the time spent in each phase instead of sleeping,
+ * so the loop keeps drawing and reacting to pause and exit while a goal message or countdown is shown.
+ */
+public enum MatchPhase {
+    /** The ball is in play, or waiting for the players to start or resume. */
+    PLAYING,
+    /** A goal was just scored; the goal message is shown before the countdown. */
+    GOAL_PAUSE,
+    /** Counting down from 3 before the ball is served again. */
+    COUNTDOWN,
+    /** A player has won; the win message is shown before returning to the menu. */
+    WON
+}
@@ -0,0 +1,73 @@
+package com.example.pingpong.Model;
+
+/**
+ * The outcome of one finished match between two players.
+ */
+public class MatchResult {
+    private final int round;
+    private final String player1Name;
+    private final String player2Name;
+    private final int player1Score;
+    private final int player2Score;
+    private final int winningScore;
+    private final long ticks;
+
+    /**
+     * Constructs a match result.
+     *
+     * @param round        The tournament round the match was played in.
+     * @param player1Name  Name of player 1.
+     * @param player2Name  Name of player 2.
+     * @param player1Score Final score of player 1.
+     * @param player2Score Final score of player 2.
+     * @param winningScore Score required to win the match.
+     * @param ticks        Number of simulation ticks the match took.
+     */
+    public MatchResult(int round, String player1Name, String player2Name, int player1Score, int player2Score, int winningScore, long ticks) {
+        this.round = round;
+        this.player1Name = player1Name;
+        this.player2Name = player2Name;
+        this.player1Score = player1Score;
+        this.player2Score = player2Score;
+        this.winningScore = winningScore;
+        this.ticks = ticks;
+    }
+
+    /**
+     * Gets the result from player 1's point of view: 1 for a win, 0.5 for a draw and 0 for a loss.
+     *
+     * @return The score of player 1 in the match.
+     */
+    public double getPlayer1Result() {
+        if (player1Score == player2Score) return 0.5;
+        return player1Score > player2Score ? 1.0 : 0.0;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public String getPlayer1Name() {
+        return player1Name;
+    }
+
+    public String getPlayer2Name() {
+        return player2Name;
+    }
+
+    public int getPlayer1Score() {
+        return player1Score;
+    }
+
+    public int getPlayer2Score() {
+        return player2Score;
+    }
+
+    public int getWinningScore() {
+        return winningScore;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+}
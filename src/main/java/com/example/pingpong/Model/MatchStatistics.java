@@ -0,0 +1,97 @@
+package com.example.pingpong.Model;
+
+/**
+ * Streams statistics about a match as it is played and keeps a fixed-memory summary per player.
+ * The simulation reports ticks, racket hits and points; each report only updates counters and sketch bins, so the
+ * cost to the game loop stays constant and nothing is allocated. A simulation that runs ticks again, as a rollback
+ * does, first restores the statistics it saved with {@link #copyFrom(MatchStatistics)}, so no tick is counted twice.
+ * Durations are measured in simulated time, so they are the same however fast the match was simulated.
+ */
+public class MatchStatistics {
+    /** Simulated time of one tick in milliseconds; the game loop ticks at this rate. */
+    public static final long TICK_MILLIS = 10;
+
+    private final PlayerStatistics player1 = new PlayerStatistics();
+    private final PlayerStatistics player2 = new PlayerStatistics();
+
+    private long rallyTicks;
+    private int rallyHits;
+    private long lastRallyTicks;
+    private int lastRallyHits;
+
+    /**
+     * Called on every simulation tick while the ball is in play.
+     */
+    public void onTick() {
+        rallyTicks++;
+    }
+
+    /**
+     * Called when a racket hits the ball.
+     *
+     * @param byPlayer1 true if player 1 hit the ball, false for player 2.
+     * @param speed     The ball's speed after the hit.
+     * @param offset    Where the ball hit the racket, from -1 at the top end to 1 at the bottom end.
+     */
+    public void onHit(boolean byPlayer1, double speed, double offset) {
+        rallyHits++;
+        (byPlayer1 ? player1 : player2).recordHit(speed, offset);
+    }
+
+    /**
+     * Called when a point is scored, with the main ball or an extra ball of the multi-ball mode; closes the current
+     * rally.
+     *
+     * @param byPlayer1 true if player 1 scored, false for player 2.
+     */
+    public void onPoint(boolean byPlayer1) {
+        (byPlayer1 ? player1 : player2).recordPointWon(rallyTicks, rallyHits, rallyTicks * TICK_MILLIS);
+        lastRallyTicks = rallyTicks;
+        lastRallyHits = rallyHits;
+        rallyTicks = 0;
+        rallyHits = 0;
+    }
+
+    /**
+     * Clears all statistics for a new match.
+     */
+    public void reset() {
+        player1.reset();
+        player2.reset();
+        rallyTicks = 0;
+        rallyHits = 0;
+        lastRallyTicks = 0;
+        lastRallyHits = 0;
+    }
+
+    /**
+     * Makes these statistics the same as other statistics, including the rally in progress, copying in place without
+     * allocating.
+     *
+     * @param other The statistics to copy.
+     */
+    public void copyFrom(MatchStatistics other) {
+        player1.copyFrom(other.player1);
+        player2.copyFrom(other.player2);
+        rallyTicks = other.rallyTicks;
+        rallyHits = other.rallyHits;
+        lastRallyTicks = other.lastRallyTicks;
+        lastRallyHits = other.lastRallyHits;
+    }
+
+    public PlayerStatistics getPlayer1() {
+        return player1;
+    }
+
+    public PlayerStatistics getPlayer2() {
+        return player2;
+    }
+
+    public long getLastRallyTicks() {
+        return lastRallyTicks;
+    }
+
+    public int getLastRallyHits() {
+        return lastRallyHits;
+    }
+}
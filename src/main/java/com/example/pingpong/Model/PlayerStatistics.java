@@ -0,0 +1,89 @@
+package com.example.pingpong.Model;
+
+/**
+ * Fixed-memory summary of one player's play during a match: the speed and racket offset of every hit, and the
+ * length, number of hits and duration of every rally the player won.
+ */
+public class PlayerStatistics {
+    private final QuantileSketch hitSpeed = new QuantileSketch(0, 40, 160);
+    private final QuantileSketch hitOffset = new QuantileSketch(-1, 1, 40);
+    private final QuantileSketch rallyTicks = new QuantileSketch(0, 20000, 100);
+    private final QuantileSketch rallyHits = new QuantileSketch(0, 100, 100);
+    private final QuantileSketch pointDurationMs = new QuantileSketch(0, 200000, 100);
+
+    /**
+     * Records a hit of the ball with this player's racket.
+     *
+     * @param speed  The ball's speed after the hit.
+     * @param offset Where the ball hit the racket, from -1 at the top end through 0 at the centre to 1 at the bottom.
+     */
+    public void recordHit(double speed, double offset) {
+        hitSpeed.record(speed);
+        hitOffset.record(offset);
+    }
+
+    /**
+     * Records a rally that ended with a point for this player.
+     *
+     * @param ticks      The number of simulation ticks the ball was in play.
+     * @param hits       The number of racket hits in the rally.
+     * @param durationMs The time from the first tick of the rally to the point, in milliseconds.
+     */
+    public void recordPointWon(long ticks, int hits, double durationMs) {
+        rallyTicks.record(ticks);
+        rallyHits.record(hits);
+        pointDurationMs.record(durationMs);
+    }
+
+    /**
+     * Makes these statistics the same as another player's, copying in place without allocating.
+     *
+     * @param other The statistics to copy.
+     */
+    public void copyFrom(PlayerStatistics other) {
+        hitSpeed.copyFrom(other.hitSpeed);
+        hitOffset.copyFrom(other.hitOffset);
+        rallyTicks.copyFrom(other.rallyTicks);
+        rallyHits.copyFrom(other.rallyHits);
+        pointDurationMs.copyFrom(other.pointDurationMs);
+    }
+
+    /**
+     * Clears all statistics for a new match.
+     */
+    public void reset() {
+        hitSpeed.reset();
+        hitOffset.reset();
+        rallyTicks.reset();
+        rallyHits.reset();
+        pointDurationMs.reset();
+    }
+
+    public long getHits() {
+        return hitSpeed.getCount();
+    }
+
+    public long getPointsWon() {
+        return rallyTicks.getCount();
+    }
+
+    public QuantileSketch getHitSpeed() {
+        return hitSpeed;
+    }
+
+    public QuantileSketch getHitOffset() {
+        return hitOffset;
+    }
+
+    public QuantileSketch getRallyTicks() {
+        return rallyTicks;
+    }
+
+    public QuantileSketch getRallyHits() {
+        return rallyHits;
+    }
+
+    public QuantileSketch getPointDurationMs() {
+        return pointDurationMs;
+    }
+}
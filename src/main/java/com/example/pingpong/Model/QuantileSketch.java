@@ -0,0 +1,117 @@
+package com.example.pingpong.Model;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-memory streaming summary of a series of values, answering count, mean, min, max and approximate quantiles.
+ * Values are counted in equal-width bins over a fixed range, so recording a value is a constant-time array update and
+ * memory does not grow no matter how many values are recorded. Quantiles are accurate to within one bin width;
+ * values outside the range are counted in the first or last bin.
+ */
+public class QuantileSketch {
+    private final double min;
+    private final double max;
+    private final double binWidth;
+    private final int[] bins;
+
+    private long count;
+    private double sum;
+    private double observedMin = Double.POSITIVE_INFINITY;
+    private double observedMax = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Constructs an empty sketch.
+     *
+     * @param min  The lower end of the expected range.
+     * @param max  The upper end of the expected range.
+     * @param bins The number of bins; more bins give more accurate quantiles.
+     */
+    public QuantileSketch(double min, double max, int bins) {
+        this.min = min;
+        this.max = max;
+        this.binWidth = (max - min) / bins;
+        this.bins = new int[bins];
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param value The value to record.
+     */
+    public void record(double value) {
+        int bin = (int) ((value - min) / binWidth);
+        if (bin < 0) bin = 0;
+        if (bin >= bins.length) bin = bins.length - 1;
+        bins[bin]++;
+        count++;
+        sum += value;
+        if (value < observedMin) observedMin = value;
+        if (value > observedMax) observedMax = value;
+    }
+
+    /**
+     * Estimates the value below which the given fraction of recorded values fall.
+     *
+     * @param q The quantile, between 0 and 1, for example 0.95 for the 95th percentile.
+     * @return The estimated quantile, or 0 if nothing was recorded.
+     */
+    public double quantile(double q) {
+        if (count == 0) return 0;
+        double rank = q * count;
+        long seen = 0;
+        for (int i = 0; i < bins.length; i++) {
+            if (bins[i] == 0) continue;
+            if (seen + bins[i] >= rank) {
+                // Interpolate within the bin, then keep the estimate inside what was actually observed
+                double fraction = (rank - seen) / bins[i];
+                double estimate = min + (i + fraction) * binWidth;
+                return Math.max(observedMin, Math.min(observedMax, estimate));
+            }
+            seen += bins[i];
+        }
+        return observedMax;
+    }
+
+    /**
+     * Makes this sketch hold exactly what another sketch holds, copying in place without allocating.
+     *
+     * @param other A sketch with the same range and number of bins.
+     */
+    public void copyFrom(QuantileSketch other) {
+        if (other.bins.length != bins.length || other.min != min || other.max != max) {
+            throw new IllegalArgumentException("Sketches have different bins");
+        }
+        System.arraycopy(other.bins, 0, bins, 0, bins.length);
+        count = other.count;
+        sum = other.sum;
+        observedMin = other.observedMin;
+        observedMax = other.observedMax;
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(bins, 0);
+        count = 0;
+        sum = 0;
+        observedMin = Double.POSITIVE_INFINITY;
+        observedMax = Double.NEGATIVE_INFINITY;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : sum / count;
+    }
+
+    public double getMin() {
+        return count == 0 ? 0 : observedMin;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0 : observedMax;
+    }
+}
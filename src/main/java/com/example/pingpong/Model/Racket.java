@@ -2,8 +2,9 @@ package com.example.pingpong.Model;
 
 /**
  * Represents a racket in the game. A racket can move up and down and has a position, size, and ability to hit the ball.
+ * Positions and sizes are in the game's fixed logical units, independent of the window size.
  */
-public class Racket implements Resizable {
+public class Racket {
     private double width;
     private double length;
     private double posX;
@@ -102,18 +103,4 @@ public class Racket implements Resizable {
     public void setThickness(int thickness) {
         this.thickness = thickness;
     }
-
-    @Override
-    public void resizeX(double factor) {
-        // Resize logic for the game along the X-axis
-        this.posX *= factor;
-        this.width = this.width * factor;
-    }
-
-    @Override
-    public void resizeY(double factor) {
-        // Resize logic for the game along the Y-axis
-        this.posY *= factor;
-        this.length = this.length * factor;
-    }
 }
\ No newline at end of file
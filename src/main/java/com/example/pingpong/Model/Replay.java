@@ -0,0 +1,217 @@
+package com.example.pingpong.Model;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A recorded match that can be played back from any point. The input of every simulated tick, the positions of both
+ * rackets, is stored in two arrays, and every {@link #getKeyframeInterval()} ticks a {@link GameSnapshot} of the full
+ * game state is stored as a keyframe. Seeking restores the nearest keyframe at or before the target tick and simulates
+ * at most one keyframe interval forward, so seeking takes the same time however long the match was.
+ * <p>
+ * A replay keeps at most {@link #getMaxKeyframes()} keyframes. Once that many have been taken, every new keyframe
+ * replaces the oldest one, reusing its snapshot, and the input from before the oldest kept keyframe is overwritten, so
+ * a replay of an endless match keeps only its most recent part, from {@link #getFirstTick()} on, in bounded memory.
+ */
+public class Replay {
+    /** Default number of ticks between two keyframes: 5 seconds of play at the on-screen tick rate. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 500;
+    /** Default number of keyframes kept: one hour of play at the default keyframe interval. */
+    public static final int DEFAULT_MAX_KEYFRAMES = 720;
+
+    private static final int FORMAT_VERSION = 2;
+
+    private final int keyframeInterval;
+    private final int maxKeyframes;
+    // Keyframe number k, taken at tick k * keyframeInterval, is kept at index k % maxKeyframes
+    private final GameSnapshot[] keyframes;
+    // The input of tick t is kept at index t % inputCapacity; the arrays grow until they reach that capacity
+    private final int inputCapacity;
+    private double[] racket1Y;
+    private double[] racket2Y;
+    private int keyframesTaken;
+    private int ticks;
+
+    /**
+     * Constructs an empty replay that keeps the last {@value #DEFAULT_MAX_KEYFRAMES} keyframes.
+     *
+     * @param keyframeInterval Number of ticks between two keyframes.
+     */
+    public Replay(int keyframeInterval) {
+        this(keyframeInterval, DEFAULT_MAX_KEYFRAMES);
+    }
+
+    /**
+     * Constructs an empty replay.
+     *
+     * @param keyframeInterval Number of ticks between two keyframes.
+     * @param maxKeyframes     Number of keyframes kept; older keyframes and their input are dropped.
+     */
+    public Replay(int keyframeInterval, int maxKeyframes) {
+        if (keyframeInterval <= 0) throw new IllegalArgumentException("Keyframe interval must be positive");
+        if (maxKeyframes <= 0) throw new IllegalArgumentException("Maximum number of keyframes must be positive");
+        if ((long) keyframeInterval * maxKeyframes > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Replay of " + maxKeyframes + " keyframes of " + keyframeInterval + " ticks is too long");
+        }
+        this.keyframeInterval = keyframeInterval;
+        this.maxKeyframes = maxKeyframes;
+        this.keyframes = new GameSnapshot[maxKeyframes];
+        this.inputCapacity = keyframeInterval * maxKeyframes;
+        this.racket1Y = new double[Math.min(1024, inputCapacity)];
+        this.racket2Y = new double[racket1Y.length];
+    }
+
+    /**
+     * Records the tick the game is about to simulate: stores a keyframe of the game's state if the tick starts a
+     * keyframe interval, and then the racket positions the tick will be simulated with. Call this after the rackets
+     * have been moved and before the ball is moved.
+     *
+     * @param game The game about to be advanced.
+     */
+    public void recordTick(Game game) {
+        if (ticks % keyframeInterval == 0) {
+            int index = keyframesTaken % maxKeyframes;
+            if (keyframes[index] == null) keyframes[index] = new GameSnapshot();
+            keyframes[index].capture(game);
+            keyframes[index].setSequence(ticks);
+            keyframesTaken++;
+        }
+        ensureInputCapacity(ticks + 1);
+        int index = ticks % inputCapacity;
+        racket1Y[index] = game.getPlayer1().getRacket().getPosY();
+        racket2Y[index] = game.getPlayer2().getRacket().getPosY();
+        ticks++;
+    }
+
+    // Grows the input arrays to hold the given number of ticks, up to the input capacity, after which they wrap
+    private void ensureInputCapacity(int tickCount) {
+        if (tickCount <= racket1Y.length || racket1Y.length == inputCapacity) return;
+        int length = (int) Math.min(inputCapacity, Math.max(tickCount, 2L * racket1Y.length));
+        racket1Y = Arrays.copyOf(racket1Y, length);
+        racket2Y = Arrays.copyOf(racket2Y, length);
+    }
+
+    /**
+     * Gets the keyframe to start from when seeking to a tick: the last keyframe kept at or before it.
+     *
+     * @param tick The tick to seek to.
+     * @return The keyframe, whose sequence is the tick it was taken at.
+     */
+    public GameSnapshot keyframeBefore(int tick) {
+        int number = Math.max(Math.max(0, tick) / keyframeInterval, firstKeyframe());
+        number = Math.min(number, keyframesTaken - 1);
+        return keyframes[number % maxKeyframes];
+    }
+
+    // Number of the oldest keyframe still kept
+    private int firstKeyframe() {
+        return Math.max(0, keyframesTaken - maxKeyframes);
+    }
+
+    /**
+     * Writes the replay to a binary stream.
+     *
+     * @param out The stream to write to.
+     * @throws IOException If an I/O error occurs during the writing process.
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(keyframeInterval);
+        out.writeInt(maxKeyframes);
+        out.writeInt(getFirstTick());
+        out.writeInt(ticks);
+        for (int i = getFirstTick(); i < ticks; i++) {
+            out.writeDouble(getRacket1Y(i));
+            out.writeDouble(getRacket2Y(i));
+        }
+        out.writeInt(getKeyframeCount());
+        for (int number = firstKeyframe(); number < keyframesTaken; number++) {
+            keyframes[number % maxKeyframes].writeTo(out);
+        }
+    }
+
+    /**
+     * Reads a replay previously written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in The stream to read from.
+     * @return The replay.
+     * @throws IOException If an I/O error occurs or the data was written in an unknown format.
+     */
+    public static Replay readFrom(DataInputStream in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported replay format: " + version);
+        }
+        Replay replay = new Replay(in.readInt(), in.readInt());
+        int firstTick = in.readInt();
+        int ticks = in.readInt();
+        if (firstTick % replay.keyframeInterval != 0 || firstTick > ticks || ticks - firstTick > replay.inputCapacity) {
+            throw new IOException("Corrupt replay: ticks " + firstTick + " to " + ticks);
+        }
+        // Inputs are placed where recording would have put them, so the arrays must hold every tick or wrap
+        replay.racket1Y = new double[ticks > replay.inputCapacity ? replay.inputCapacity : Math.max(1, ticks)];
+        replay.racket2Y = new double[replay.racket1Y.length];
+        for (int i = firstTick; i < ticks; i++) {
+            replay.racket1Y[i % replay.inputCapacity] = in.readDouble();
+            replay.racket2Y[i % replay.inputCapacity] = in.readDouble();
+        }
+        replay.ticks = ticks;
+        int keyframeCount = in.readInt();
+        if (keyframeCount > replay.maxKeyframes) throw new IOException("Corrupt replay: " + keyframeCount + " keyframes");
+        replay.keyframesTaken = firstTick / replay.keyframeInterval;
+        for (int i = 0; i < keyframeCount; i++) {
+            GameSnapshot keyframe = new GameSnapshot();
+            keyframe.readFrom(in);
+            replay.keyframes[replay.keyframesTaken % replay.maxKeyframes] = keyframe;
+            replay.keyframesTaken++;
+        }
+        return replay;
+    }
+
+    /**
+     * Gets the position of the left racket during a tick.
+     *
+     * @param tick The tick, from {@link #getFirstTick()} up to {@link #getTicks()}.
+     * @return The position the tick was simulated with.
+     */
+    public double getRacket1Y(int tick) {
+        return racket1Y[tick % inputCapacity];
+    }
+
+    /**
+     * Gets the position of the right racket during a tick.
+     *
+     * @param tick The tick, from {@link #getFirstTick()} up to {@link #getTicks()}.
+     * @return The position the tick was simulated with.
+     */
+    public double getRacket2Y(int tick) {
+        return racket2Y[tick % inputCapacity];
+    }
+
+    /**
+     * Gets the first tick that can still be played back: the tick of the oldest keyframe kept.
+     *
+     * @return The first tick, 0 until keyframes have been dropped.
+     */
+    public int getFirstTick() {
+        return firstKeyframe() * keyframeInterval;
+    }
+
+    public int getTicks() {
+        return ticks;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getMaxKeyframes() {
+        return maxKeyframes;
+    }
+
+    public int getKeyframeCount() {
+        return keyframesTaken - firstKeyframe();
+    }
+}
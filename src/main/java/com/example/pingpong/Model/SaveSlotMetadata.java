@@ -0,0 +1,64 @@
+package com.example.pingpong.Model;
+
+/**
+ * What the load menu shows about a saved game slot: the players, the score, the winning score and when the slot was
+ * last saved. It is read from the small header in front of a save, so it is known without loading the whole save.
+ */
+public class SaveSlotMetadata {
+    private final int slot;
+    private final String player1Name;
+    private final String player2Name;
+    private final int player1Score;
+    private final int player2Score;
+    private final int winningScore;
+    private final long lastModified;
+
+    /**
+     * Constructs the metadata of a saved slot.
+     *
+     * @param slot         The slot number, starting at 1.
+     * @param player1Name  Name of player 1.
+     * @param player2Name  Name of player 2.
+     * @param player1Score Saved score of player 1.
+     * @param player2Score Saved score of player 2.
+     * @param winningScore Score required to win the game.
+     * @param lastModified Time the slot was saved, in milliseconds since the epoch.
+     */
+    public SaveSlotMetadata(int slot, String player1Name, String player2Name, int player1Score, int player2Score, int winningScore, long lastModified) {
+        this.slot = slot;
+        this.player1Name = player1Name;
+        this.player2Name = player2Name;
+        this.player1Score = player1Score;
+        this.player2Score = player2Score;
+        this.winningScore = winningScore;
+        this.lastModified = lastModified;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public String getPlayer1Name() {
+        return player1Name;
+    }
+
+    public String getPlayer2Name() {
+        return player2Name;
+    }
+
+    public int getPlayer1Score() {
+        return player1Score;
+    }
+
+    public int getPlayer2Score() {
+        return player2Score;
+    }
+
+    public int getWinningScore() {
+        return winningScore;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
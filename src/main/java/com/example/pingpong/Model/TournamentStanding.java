@@ -0,0 +1,75 @@
+package com.example.pingpong.Model;
+
+/**
+ * The standing of one player in a tournament: Elo rating, match points and win/draw/loss record.
+ */
+public class TournamentStanding {
+    private final String playerName;
+    private double rating;
+    private double points;
+    private int wins;
+    private int draws;
+    private int losses;
+
+    /**
+     * Constructs a standing for a player who has not played yet.
+     *
+     * @param playerName    Name of the player.
+     * @param initialRating The Elo rating the player starts with.
+     */
+    public TournamentStanding(String playerName, double initialRating) {
+        this.playerName = playerName;
+        this.rating = initialRating;
+    }
+
+    /**
+     * Records the result of one match.
+     *
+     * @param result 1 for a win, 0.5 for a draw and 0 for a loss.
+     */
+    public void recordResult(double result) {
+        points += result;
+        if (result == 1.0) {
+            wins++;
+        } else if (result == 0.0) {
+            losses++;
+        } else {
+            draws++;
+        }
+    }
+
+    /**
+     * Awards a free win for a round without an opponent.
+     */
+    public void recordBye() {
+        points += 1.0;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public void setRating(double rating) {
+        this.rating = rating;
+    }
+
+    public double getPoints() {
+        return points;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+}
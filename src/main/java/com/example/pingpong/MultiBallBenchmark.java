@@ -0,0 +1,62 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.GameBuilder;
+import com.example.pingpong.Controller.MultiBallPhysics;
+import com.example.pingpong.Model.Game;
+
+import java.util.Arrays;
+
+/**
+ * Measures how long one tick of the multi-ball mode takes with many extra balls, and checks it against the 1 ms
+ * budget. Also reports how many ball pairs the grid broadphase actually tested compared to testing every pair.
+ */
+public class MultiBallBenchmark {
+    private static final long BUDGET_NANOS = 1_000_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional: number of extra balls, then number of timed ticks.
+     */
+    public static void main(String[] args) {
+        int balls = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        Game game = new GameBuilder()
+                .withPlayer1Name("Left")
+                .withPlayer2Name("Right")
+                .withTarget(Integer.MAX_VALUE)
+                .withExtraBalls(balls)
+                .build();
+        MultiBallPhysics physics = new MultiBallPhysics(game);
+
+        // Warm up so the timed run measures compiled code
+        for (int i = 0; i < ticks / 4; i++) {
+            physics.step(game);
+        }
+
+        long[] tickNanos = new long[ticks];
+        long pairTests = 0;
+        long points = 0;
+        for (int i = 0; i < ticks; i++) {
+            long startTime = System.nanoTime();
+            physics.step(game);
+            tickNanos[i] = System.nanoTime() - startTime;
+            pairTests += physics.getPairTests();
+            points += physics.getPointsPlayer1() + physics.getPointsPlayer2();
+        }
+
+        Arrays.sort(tickNanos);
+        double mean = Arrays.stream(tickNanos).average().orElse(0);
+        long p99 = tickNanos[(int) (ticks * 0.99)];
+        long max = tickNanos[ticks - 1];
+        long allPairs = (long) balls * (balls - 1) / 2;
+
+        System.out.println("Extra balls: " + balls + ", ticks: " + ticks);
+        System.out.printf("Tick time: mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                mean / 1000, tickNanos[ticks / 2] / 1000.0, p99 / 1000.0, max / 1000.0);
+        System.out.printf("Pair tests per tick: %.0f (all pairs: %d)%n", (double) pairTests / ticks, allPairs);
+        System.out.println("Points scored: " + points);
+        System.out.println(p99 < BUDGET_NANOS ? "PASS: p99 tick time is under 1 ms" : "FAIL: p99 tick time is over 1 ms");
+    }
+}
@@ -3,27 +3,46 @@ package com.example.pingpong;
 import com.example.pingpong.Controller.*;
 import com.example.pingpong.View.GameMenu;
 import com.example.pingpong.View.GameView;
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
+import javafx.beans.InvalidationListener;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import javafx.util.Duration;
+
+import java.io.IOException;
 
 /**
  * The main application class for the Ping Pong game. This class sets up the game environment, initializes controllers,
  * and manages the primary stage and scene of the application. It serves as the entry point for the JavaFX application,
  * handling the transition between different views (menus and game view) and coordinating the overall game control flow.
+ * Every screen is built and styled once at startup and stays in the scene graph; switching screens only toggles
+ * which of them is visible, so a transition needs no new nodes, no new CSS pass and no re-registered handlers.
+ * Startup and transition timings are printed only when the {@code pingpong.logTimings} system property is
+ * {@code true}.
  */
 public class PingPongGame extends Application implements SceneToScene {
+    private static final boolean LOG_TIMINGS = Boolean.getBoolean("pingpong.logTimings");
+
     private GameController game;
     private MenuListener menuListener;
     private GameMenu gameMenu;
-    private Thread thread;
-    private BallManager ballManager;
+    private GameSession session;
+    private SpectatorServer spectatorServer;
+    private MetricsServer metricsServer;
     private GameView canvas;
     private final String title = "Mine-Pong";
+    private final Duration resizeDebounce = Duration.millis(100);
     private StackPane rootPane;
+    private VBox menuScreen;
+    private VBox loadMenuScreen;
+    private HBox gameMenuBar;
     private KeyboardListener keyboardListener;
+    private long startupStartTime;
+    private long startupPhaseTime;
 
     /**
      * Starts the primary stage of the application, setting up the game environment and user interface components.
@@ -33,17 +52,53 @@ public class PingPongGame extends Application implements SceneToScene {
      */
     @Override
     public void start(Stage primaryStage) {
+        startupStartTime = System.nanoTime();
+        startupPhaseTime = startupStartTime;
+
         setupGameControllers(primaryStage);
+        logStartupPhase("controllers");
         setupUIComponents(primaryStage);
         initialSetup(primaryStage);
+        logStartupPhase("scene");
 
         toMenu();
 
         setupSceneListeners(primaryStage);
+        logStartupPhase("menu");
 
-        ballManager = new BallManager(game.getGame(), canvas, game);
-
+        logFirstPaint(primaryStage.getScene());
         primaryStage.show();
+        logStartupPhase("show");
+    }
+
+    /**
+     * Logs how long the startup phase that just finished took, so startup regressions are visible in the console.
+     *
+     * @param phase The name of the phase that just finished.
+     */
+    private void logStartupPhase(String phase) {
+        if (!LOG_TIMINGS) return;
+        long now = System.nanoTime();
+        System.out.printf("Startup %-12s %6.1f ms (total %6.1f ms)%n", phase,
+                (now - startupPhaseTime) / 1_000_000.0, (now - startupStartTime) / 1_000_000.0);
+        startupPhaseTime = now;
+    }
+
+    /**
+     * Logs the total startup time once the first frame of the main menu has been laid out and is about to be painted.
+     *
+     * @param scene The scene whose first pulse marks the end of startup.
+     */
+    private void logFirstPaint(Scene scene) {
+        if (!LOG_TIMINGS) return;
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                logStartupPhase("first-paint");
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
     }
 
     /**
@@ -54,9 +109,31 @@ public class PingPongGame extends Application implements SceneToScene {
      */
     private void setupGameControllers(Stage primaryStage) {
         canvas = new GameView(1100, 690);
+        canvas.loadBackground();
         game = new GameController(this, canvas);
         menuListener = new MenuListener(game.getGame(), this, canvas, game);
         gameMenu = new GameMenu(menuListener);
+        session = new GameSession(game, canvas);
+        menuListener.setSession(session);
+        startSpectatorServer();
+        metricsServer = MetricsServer.startFromSystemProperty();
+    }
+
+    /**
+     * Starts streaming the game to spectators on the loopback port given by the {@code pingpong.spectatorPort}
+     * system property. Does nothing if the property is not set.
+     */
+    private void startSpectatorServer() {
+        String port = System.getProperty("pingpong.spectatorPort");
+        if (port == null) return;
+        try {
+            spectatorServer = new SpectatorServer(Integer.parseInt(port));
+            spectatorServer.start();
+            session.setSpectatorServer(spectatorServer);
+            System.out.println("Spectators can connect on port " + spectatorServer.getPort());
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to start spectator server on port " + port + ": " + e.getMessage());
+        }
     }
 
     /**
@@ -75,14 +152,23 @@ public class PingPongGame extends Application implements SceneToScene {
 
     /**
      * Sets up the UI components of the game, including the canvas for drawing the game and the keyboard listener for input.
-     * This method prepares the visual and interactive elements of the game.
+     * This method prepares the visual and interactive elements of the game. The main menu, load menu, canvas and game
+     * menu bar are all added to the root pane here, once, and are then only shown or hidden.
      *
      * @param primaryStage The primary stage of the application for reference.
      */
     private void setupUIComponents(Stage primaryStage) {
+        menuScreen = gameMenu.getMenuMain();
+        loadMenuScreen = gameMenu.getLoadMenu();
+        gameMenuBar = gameMenu.getGameMenu();
+        StackPane.setAlignment(canvas, Pos.CENTER);
+        StackPane.setAlignment(gameMenuBar, Pos.TOP_RIGHT);
+        // The menu bar only takes the space of its buttons, so clicks around it still reach the canvas
+        gameMenuBar.setPickOnBounds(false);
+
         rootPane = new StackPane();
         rootPane.setAlignment(Pos.CENTER);
-        rootPane.getChildren().add(canvas);
+        rootPane.getChildren().addAll(canvas, gameMenuBar, menuScreen, loadMenuScreen);
 
         Scene scene = new Scene(rootPane, 1100, 690);
         primaryStage.setScene(scene);
@@ -94,42 +180,80 @@ public class PingPongGame extends Application implements SceneToScene {
     }
 
     /**
-     * Sets up listeners for the primary stage's width and height properties to dynamically resize the game.
-     * This method is responsible for adjusting the game's components in response to changes in window size.
+     * Sets up listeners for the scene's width and height properties to fit the canvas to the window.
+     * The game model keeps its logical size; only the canvas is resized and the view scales the game when drawing.
+     * Resizes are debounced so dragging the window edge resizes the canvas once the drag settles.
      *
      * @param primaryStage The primary stage of the application for reference.
      */
     private void setupSceneListeners(Stage primaryStage) {
-        primaryStage.widthProperty().addListener(observable -> {
-            double factor = primaryStage.getWidth() / game.getGame().getWidth();
-            System.out.println("Width changed: " + primaryStage.getWidth() + ", Factor: " + factor);
-            game.getGame().setWidth(primaryStage.getWidth());
-            game.getGame().resizeX(factor);
+        Scene scene = primaryStage.getScene();
+        PauseTransition pendingResize = new PauseTransition(resizeDebounce);
+        pendingResize.setOnFinished(e -> {
+            canvas.setWidth(scene.getWidth());
+            canvas.setHeight(scene.getHeight());
             canvas.drawGame(game.getGame());
         });
 
-        primaryStage.heightProperty().addListener(observable -> {
-            double factor = primaryStage.getHeight() / game.getGame().getHeight();
-            System.out.println("Height changed: " + primaryStage.getHeight() + ", Factor: " + factor);
-            game.getGame().setHeight(primaryStage.getHeight());
-            game.getGame().resizeY(factor);
-            canvas.drawGame(game.getGame());
-        });
+        InvalidationListener onResize = observable -> pendingResize.playFromStart();
+        scene.widthProperty().addListener(onResize);
+        scene.heightProperty().addListener(onResize);
+    }
+
+    /**
+     * Shows the given screens and hides all others. Hidden screens are also unmanaged, so they take no part in the
+     * layout of the root pane while they are not visible.
+     *
+     * @param name    The name of the screen switched to, for the transition log.
+     * @param visible The nodes to show.
+     */
+    private void showScreen(String name, Node... visible) {
+        long startTime = System.nanoTime();
+        for (Node screen : rootPane.getChildren()) {
+            boolean show = false;
+            for (Node node : visible) {
+                if (node == screen) show = true;
+            }
+            screen.setVisible(show);
+            screen.setManaged(show);
+        }
+        logTransition(name, startTime);
     }
 
     /**
-     * Switches the view to the main menu. It clears previous UI components and displays the menu UI.
+     * Logs how long a screen switch took until the following frame had been laid out, so transitions that start to
+     * rebuild or restyle nodes again are visible in the console.
+     *
+     * @param name      The name of the screen switched to.
+     * @param startTime The {@link System#nanoTime()} at which the switch started.
+     */
+    private void logTransition(String name, long startTime) {
+        Scene scene = rootPane.getScene();
+        if (!LOG_TIMINGS || scene == null) return;
+        long switchTime = System.nanoTime() - startTime;
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                System.out.printf("Transition to %-9s switch %5.2f ms, laid out after %6.2f ms%n", name,
+                        switchTime / 1_000_000.0, (System.nanoTime() - startTime) / 1_000_000.0);
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
+    }
+
+    /**
+     * Switches the view to the main menu. It hides the other screens and shows the menu UI.
      */
     @Override
     public void toMenu() {
-        rootPane.getChildren().clear(); // Clear the previous UI components
-        VBox menuRoot = gameMenu.getMenuMain();
-        rootPane.getChildren().add(menuRoot);
+        // Refresh the continue button before the menu becomes visible
+        gameMenu.getMenuMain();
+        showScreen("menu", menuScreen);
+        // GameSession.stop() waits for a running tick to finish, so unless that wait times out the loop cannot
+        // capture the reset state for the autosave
+        session.stop();
         game.resetGame();
-        if (thread != null) {
-            thread.interrupt();
-            thread = null;
-        }
     }
 
     /**
@@ -137,15 +261,12 @@ public class PingPongGame extends Application implements SceneToScene {
      */
     @Override
     public void toLoadMenu() {
-        rootPane.getChildren().clear(); // Clear the previous UI components
-        VBox menuRoot = gameMenu.getLoadMenu();
-        rootPane.getChildren().add(menuRoot);
+        // Refresh the slot buttons before the load menu becomes visible
+        gameMenu.getLoadMenu();
+        showScreen("load menu", loadMenuScreen);
         if(game.getGame() != null) {
+            session.stop();
             game.resetGame();
-            if (thread != null) {
-                thread.interrupt();
-                thread = null;
-            }
         }
     }
 
@@ -154,29 +275,38 @@ public class PingPongGame extends Application implements SceneToScene {
      */
     @Override
     public void toGame() {
-        rootPane.getChildren().clear(); // Clear the previous UI components
+        showScreen("game", canvas, gameMenuBar);
         canvas.requestFocus();
 
+        // A loaded game replaces the game model, so point the existing listeners at the current one
         menuListener.setGame(game.getGame());
+        keyboardListener.setGame(game.getGame());
 
-        keyboardListener = new KeyboardListener(game.getGame());
-        canvas.setOnKeyPressed(keyboardListener);
-        canvas.setOnKeyReleased(keyboardListener);
-
-
-        ballManager = new BallManager(game.getGame(), canvas, game);
-        thread = new Thread(ballManager);
-        thread.start();
-        thread.yield();
-
-        // Add the canvas and game menu to the rootPane
-        StackPane.setAlignment(canvas, Pos.CENTER);
-        rootPane.getChildren().add(canvas);
+        session.start();
         canvas.drawGame(game.getGame());
+    }
 
-        HBox gameMenuHBox = this.gameMenu.getGameMenu();
-        StackPane.setAlignment(gameMenuHBox, Pos.TOP_RIGHT);
-        rootPane.getChildren().add(gameMenuHBox);
+    /**
+     * Stops the game loop when the application exits, saves any match events still queued, and reports whether any
+     * loop failed to stop.
+     */
+    @Override
+    public void stop() {
+        session.stop();
+        GameSession.shutdown();
+        if (spectatorServer != null) spectatorServer.stop();
+        if (metricsServer != null) metricsServer.stop();
+        if (MatchEventRecorder.isEnabled()) {
+            try {
+                MatchEventRecorder.getInstance().flush(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                MatchEventRecorder.getInstance().close();
+            }
+        }
+        System.out.println("Game sessions started: " + GameSession.getStartCount()
+                + ", stopped: " + GameSession.getStopCount() + ", leaked: " + GameSession.getLeakCount());
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,63 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.ReplayPlayer;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.Replay;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Measures how long seeking to a random point of a replay takes for replays of increasing length, to check that
+ * keyframes keep the seek latency constant instead of growing with the length of the match.
+ */
+public class ReplayBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional: comma separated replay lengths in minutes, then the keyframe interval in ticks.
+     */
+    public static void main(String[] args) {
+        String[] minutes = (args.length > 0 ? args[0] : "1,10,100").split(",");
+        int keyframeInterval = args.length > 1 ? Integer.parseInt(args[1]) : Replay.DEFAULT_KEYFRAME_INTERVAL;
+        int seeks = 2_000;
+
+        System.out.println("Keyframe interval: " + keyframeInterval + " ticks");
+        for (String length : minutes) {
+            int ticks = Integer.parseInt(length) * 60 * 100;
+            HeadlessMatch match = new HeadlessMatch("Left", "Right", BotStrategy.cpu("Left", CpuPlayer.Difficulty.MEDIUM).create(true, 1),
+                    BotStrategy.cpu("Right", CpuPlayer.Difficulty.HARD).create(false, 2), Integer.MAX_VALUE);
+            // Keep the whole match, so the seeks range over all of it
+            Replay replay = new Replay(keyframeInterval, ticks / keyframeInterval + 1);
+            match.setReplay(replay);
+            for (int i = 0; i < ticks; i++) {
+                match.tick();
+            }
+
+            ReplayPlayer player = new ReplayPlayer(replay, new Game(), null);
+            Random random = new Random(42);
+            // Warm up so the timed seeks measure compiled code
+            for (int i = 0; i < seeks; i++) {
+                player.seekNow(random.nextInt(ticks));
+            }
+
+            long[] seekNanos = new long[seeks];
+            for (int i = 0; i < seeks; i++) {
+                int target = random.nextInt(ticks);
+                long startTime = System.nanoTime();
+                player.seekNow(target);
+                seekNanos[i] = System.nanoTime() - startTime;
+            }
+
+            Arrays.sort(seekNanos);
+            double mean = Arrays.stream(seekNanos).average().orElse(0);
+            System.out.printf("%4s min (%7d ticks, %5d keyframes): seek mean %.1f us, p99 %.1f us, max %.1f us%n", length,
+                    ticks, replay.getKeyframeCount(), mean / 1000, seekNanos[(int) (seeks * 0.99)] / 1000.0,
+                    seekNanos[seeks - 1] / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.LoopbackTransport;
+import com.example.pingpong.Controller.RollbackSession;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures what rollback costs: the time and allocation of saving and restoring a game state with a
+ * {@link GameSnapshot}, and the time of a full rollback between two {@link RollbackSession}s over a jittery link.
+ * Saving and restoring should take well under a microsecond and allocate nothing.
+ */
+public class RollbackBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional: number of snapshot operations, then number of frames per peer.
+     */
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        Game game = new Game();
+        game.resumeGame();
+        GameSnapshot snapshot = new GameSnapshot();
+        // Warm up so the timed runs measure compiled code
+        captureAndApply(game, snapshot, operations / 4);
+
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            snapshot.capture(game);
+        }
+        long captureNanos = System.nanoTime() - startTime;
+        long captureBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        startBytes = threads.getThreadAllocatedBytes(threadId);
+        startTime = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            snapshot.applyTo(game);
+        }
+        long applyNanos = System.nanoTime() - startTime;
+        long applyBytes = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        System.out.println("Snapshot operations: " + operations);
+        System.out.printf("capture: %.1f ns/op, %.3f bytes/op%n", (double) captureNanos / operations, (double) captureBytes / operations);
+        System.out.printf("applyTo: %.1f ns/op, %.3f bytes/op%n", (double) applyNanos / operations, (double) applyBytes / operations);
+
+        runPeers(frames / 4);
+        runPeers(frames);
+    }
+
+    private static void captureAndApply(Game game, GameSnapshot snapshot, int operations) {
+        for (int i = 0; i < operations; i++) {
+            snapshot.capture(game);
+            snapshot.applyTo(game);
+        }
+    }
+
+    /**
+     * Plays two peers against each other over a link with latency and jitter, with inputs that change every few
+     * frames so predictions fail, and reports the rollbacks.
+     */
+    private static void runPeers(int frames) {
+        int maxRollback = 8;
+        LoopbackTransport[] transports = LoopbackTransport.pair(3, 4, 42);
+        Game game1 = new Game();
+        game1.resumeGame();
+        Game game2 = new Game();
+        game2.resumeGame();
+        RollbackSession peer1 = new RollbackSession(game1, true, maxRollback, transports[0]);
+        RollbackSession peer2 = new RollbackSession(game2, false, maxRollback, transports[1]);
+
+        long worstRollbackNanos = 0;
+        long rollbacks = 0;
+        long startTime = System.nanoTime();
+        while (peer1.getFrame() < frames || peer2.getFrame() < frames) {
+            if (peer1.getFrame() < frames) peer1.advance(input(peer1.getFrame(), 7));
+            if (peer2.getFrame() < frames) peer2.advance(input(peer2.getFrame(), 11));
+            transports[0].tick();
+            transports[1].tick();
+            if (peer1.getRollbacks() > rollbacks) {
+                rollbacks = peer1.getRollbacks();
+                worstRollbackNanos = Math.max(worstRollbackNanos, peer1.getLastRollbackNanos());
+            }
+        }
+        long totalNanos = System.nanoTime() - startTime;
+
+        System.out.println("Frames per peer: " + frames + ", max rollback: " + maxRollback);
+        System.out.printf("Rollbacks: %d, re-simulated frames: %d, deepest: %d, worst rollback %.1f us%n",
+                peer1.getRollbacks(), peer1.getResimulatedFrames(), peer1.getDeepestRollback(), worstRollbackNanos / 1000.0);
+        System.out.printf("Mean time per frame of both peers: %.1f us%n", totalNanos / 1000.0 / frames);
+    }
+
+    private static int input(int frame, int period) {
+        return (frame / period) % 3;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.HeadlessSession;
+import com.example.pingpong.Controller.ThreadModels;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many concurrent headless matches one JVM can host at the on-screen tick rate with three thread models:
+ * a virtual thread per match, a platform thread per match, and a fixed pool of platform threads scheduling the ticks
+ * of all matches. For each number of sessions it reports CPU utilisation of the carrier/pool threads, how late ticks
+ * started, the tick rate achieved and the heap used per session.
+ *
+ * <p>Usage: {@code SessionHostingBenchmark [sessions,...] [virtual,platform,pool] [seconds]}. Virtual threads need
+ * Java 21 or newer at run time; 100k sessions need a heap of about 2 GB ({@code -Xmx2g}).</p>
+ */
+public class SessionHostingBenchmark {
+    private static final long TICK_NANOS = 10_000_000L;
+    private static final long WARMUP_NANOS = 2_000_000_000L;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional: comma separated session counts, comma separated modes, then seconds measured per run.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String[] sizes = (args.length > 0 ? args[0] : "1000,10000,100000").split(",");
+        String[] modes = (args.length > 1 ? args[1] : "virtual,platform,pool").split(",");
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.out.println("Java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors()
+                + " processors, max heap " + Runtime.getRuntime().maxMemory() / 1024 / 1024 + " MB");
+        System.out.printf("%-9s %8s %9s %8s %9s %9s %9s %9s %11s%n", "mode", "sessions", "started", "cpu%",
+                "tick rate", "late p50", "late p99", "late p999", "heap/sess");
+
+        for (String size : sizes) {
+            for (String mode : modes) {
+                run(mode, Integer.parseInt(size), seconds);
+            }
+        }
+    }
+
+    private static void run(String mode, int sessionCount, int seconds) throws InterruptedException {
+        ThreadFactory virtualFactory = ThreadModels.virtualThreadFactory();
+        if (mode.equals("virtual") && virtualFactory == null) {
+            System.out.printf("%-9s %8d   skipped: virtual threads need Java 21 or newer%n", mode, sessionCount);
+            return;
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long baselineHeap = usedHeapAfterGc(memory);
+
+        List<HeadlessSession> sessions = new ArrayList<>(sessionCount);
+        for (int i = 0; i < sessionCount; i++) {
+            sessions.add(new HeadlessSession(newMatch(i), TICK_NANOS));
+        }
+
+        // Start the sessions on the chosen thread model
+        List<Thread> threads = new ArrayList<>();
+        ScheduledThreadPoolExecutor pool = null;
+        int started = 0;
+        try {
+            if (mode.equals("pool")) {
+                pool = new ScheduledThreadPoolExecutor(Runtime.getRuntime().availableProcessors(),
+                        ThreadModels.platformThreadFactory("match-pool", 0));
+                // Leave time to schedule all sessions before the first one is due
+                long start = System.nanoTime() + 1_000_000_000L;
+                for (HeadlessSession session : sessions) {
+                    // Spread the sessions over one tick so they do not all fire at once
+                    long firstTick = start + TICK_NANOS * started / sessionCount;
+                    pool.scheduleAtFixedRate(new Runnable() {
+                        private long nextTick = firstTick;
+
+                        @Override
+                        public void run() {
+                            session.tick(nextTick);
+                            nextTick += TICK_NANOS;
+                        }
+                    }, firstTick - System.nanoTime(), TICK_NANOS, TimeUnit.NANOSECONDS);
+                    started++;
+                }
+            } else {
+                ThreadFactory factory = mode.equals("virtual") ? virtualFactory : ThreadModels.platformThreadFactory("match", 0);
+                for (HeadlessSession session : sessions) {
+                    Thread thread = factory.newThread(session);
+                    thread.start();
+                    threads.add(thread);
+                    started++;
+                }
+            }
+        } catch (OutOfMemoryError e) {
+            // Typically "unable to create native thread" for a platform thread per session
+            System.out.printf("%-9s %8d   failed after %d sessions: %s%n", mode, sessionCount, started, e.getMessage());
+            stop(sessions, threads, pool);
+            return;
+        }
+
+        long recordFrom = System.nanoTime() + WARMUP_NANOS;
+        for (HeadlessSession session : sessions) {
+            session.setRecordFromNanos(recordFrom);
+        }
+        TimeUnit.NANOSECONDS.sleep(WARMUP_NANOS);
+
+        long ticksBefore = totalTicks(sessions);
+        long cpuBefore = os.getProcessCpuTime();
+        long wallBefore = System.nanoTime();
+        TimeUnit.SECONDS.sleep(seconds);
+        long wallAfter = System.nanoTime();
+        long cpuAfter = os.getProcessCpuTime();
+        long ticksAfter = totalTicks(sessions);
+
+        long heapPerSession = Math.max(0, usedHeapAfterGc(memory) - baselineHeap) / sessionCount;
+        stop(sessions, threads, pool);
+
+        double wallNanos = wallAfter - wallBefore;
+        double cpuUtilisation = 100.0 * (cpuAfter - cpuBefore) / (wallNanos * Runtime.getRuntime().availableProcessors());
+        double expectedTicks = sessionCount * wallNanos / TICK_NANOS;
+        double tickRate = 100.0 * (ticksAfter - ticksBefore) / expectedTicks;
+
+        long[] histogram = new long[HeadlessSession.LATENESS_BUCKETS];
+        for (HeadlessSession session : sessions) {
+            int[] sessionHistogram = session.getLatenessHistogram();
+            for (int b = 0; b < histogram.length; b++) histogram[b] += sessionHistogram[b];
+        }
+        System.out.printf("%-9s %8d %9d %7.1f%% %8.1f%% %9s %9s %9s %9.1f KB%n", mode, sessionCount, started,
+                cpuUtilisation, tickRate, percentile(histogram, 0.5), percentile(histogram, 0.99),
+                percentile(histogram, 0.999), heapPerSession / 1024.0);
+    }
+
+    private static HeadlessMatch newMatch(int i) {
+        BotStrategy left = BotStrategy.cpu("left-" + i, CpuPlayer.Difficulty.MEDIUM);
+        BotStrategy right = BotStrategy.cpu("right-" + i, CpuPlayer.Difficulty.HARD);
+        return new HeadlessMatch(left.getName(), right.getName(), left.create(true, i), right.create(false, ~i), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Collects garbage a few times so leftovers of the previous run do not count towards this one.
+     */
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static long totalTicks(List<HeadlessSession> sessions) {
+        long ticks = 0;
+        for (HeadlessSession session : sessions) ticks += session.getTicks();
+        return ticks;
+    }
+
+    private static void stop(List<HeadlessSession> sessions, List<Thread> threads, ScheduledThreadPoolExecutor pool) throws InterruptedException {
+        for (HeadlessSession session : sessions) session.stop();
+        if (pool != null) {
+            pool.shutdownNow();
+            pool.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        for (Thread thread : threads) thread.join(10_000);
+    }
+
+    /**
+     * Formats the upper bound of the lateness bucket containing a percentile.
+     */
+    private static String percentile(long[] histogram, double q) {
+        long upperMicros = HeadlessSession.percentileMicros(histogram, q);
+        if (upperMicros < 0) return "-";
+        return upperMicros < 1000 ? "<" + upperMicros + "us" : "<" + upperMicros / 1000 + "ms";
+    }
+}
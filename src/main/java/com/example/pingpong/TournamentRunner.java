@@ -0,0 +1,58 @@
+package com.example.pingpong;
+
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.GameDAO;
+import com.example.pingpong.Controller.MetricsServer;
+import com.example.pingpong.Controller.Tournament;
+import com.example.pingpong.Model.TournamentStanding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command line entry point for running an AI-vs-AI tournament between the built-in computer players.
+ * Running it again with the same tournament name resumes an interrupted tournament.
+ *
+ * <p>Usage: {@code TournamentRunner <name> [ROUND_ROBIN|SWISS] [botsPerDifficulty] [swissRounds] [threads] [--db]}</p>
+ *
+ * <p>With the {@code pingpong.metricsPort} system property set, metrics are served while the tournament runs.</p>
+ */
+public class TournamentRunner {
+
+    /**
+     * Runs the tournament and prints the final standings.
+     *
+     * @param args Command line arguments, see the class description.
+     * @throws Exception If the tournament fails.
+     */
+    public static void main(String[] args) throws Exception {
+        String name = args.length > 0 ? args[0] : "cpu-cup";
+        Tournament.Format format = args.length > 1 ? Tournament.Format.valueOf(args[1]) : Tournament.Format.ROUND_ROBIN;
+        int botsPerDifficulty = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int swissRounds = args.length > 3 ? Integer.parseInt(args[3]) : 9;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        boolean useDatabase = args.length > 5 && args[5].equals("--db");
+
+        List<BotStrategy> bots = new ArrayList<>();
+        for (CpuPlayer.Difficulty difficulty : CpuPlayer.Difficulty.values()) {
+            for (int i = 1; i <= botsPerDifficulty; i++) {
+                bots.add(BotStrategy.cpu(difficulty.name() + "-" + i, difficulty));
+            }
+        }
+
+        MetricsServer metricsServer = MetricsServer.startFromSystemProperty();
+        long startTime = System.currentTimeMillis();
+        Tournament tournament = new Tournament(name, format, bots, swissRounds, 11, threads, useDatabase ? new GameDAO() : null);
+        List<TournamentStanding> standings = tournament.run();
+        long endTime = System.currentTimeMillis();
+
+        System.out.println("Final standings after " + (endTime - startTime) / 1000.0 + " seconds:");
+        int rank = 1;
+        for (TournamentStanding standing : standings) {
+            System.out.printf("%3d. %-12s rating %7.1f  points %5.1f  (W %d / D %d / L %d)%n", rank++, standing.getPlayerName(),
+                    standing.getRating(), standing.getPoints(), standing.getWins(), standing.getDraws(), standing.getLosses());
+        }
+        if (metricsServer != null) metricsServer.stop();
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.pingpong.View;
 
+import com.example.pingpong.Controller.CpuPlayer;
 import com.example.pingpong.Controller.GameSaver;
 import com.example.pingpong.Controller.MenuListener;
+import com.example.pingpong.Controller.SaveSlotIndex;
 import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.SaveSlotMetadata;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
@@ -10,8 +14,10 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-import java.net.URL;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 
 /**
  * The GameMenu class is responsible for creating and managing the user interface for the game menu.
@@ -19,15 +25,17 @@ import java.sql.SQLException;
  * to start new games, load existing games, adjust game settings, and access other game-related information.
  */
 public class GameMenu {
+    private static final DateTimeFormatter SLOT_TIME_FORMAT = DateTimeFormatter.ofPattern("d MMM HH:mm").withZone(ZoneId.systemDefault());
+
     private MenuListener menuListener;
     private VBox menuMain, loadMenu;
-    private Button menuStartButton, menuLoadButton, menuLoadFromDBButton, menuExitButton, menuAboutButton, exitButton, saveButton, settingsButton, pauseButton, restartButton, playButton, exitLoadButton, firstGameSlot, secondGameSlot, thirdGameSlot, fourthGameSlot, fifthGameSlot, loadStartButton, loadLatestStartButton;
-    private HBox racketSizeOptions, racketThicknessOptions;
+    private Button menuStartButton, menuContinueButton, menuLoadButton, menuLoadFromDBButton, menuExitButton, menuAboutButton, exitButton, saveButton, settingsButton, pauseButton, restartButton, playButton, exitLoadButton, firstGameSlot, secondGameSlot, thirdGameSlot, fourthGameSlot, fifthGameSlot, loadStartButton, loadLatestStartButton;
+    private HBox racketSizeOptions, racketThicknessOptions, opponentOptions;
     private RadioButton largeRacket , mediumRacket, smallRacket, slimRacket, averageRacket, thickRacket;
     private HBox gameMenu;
-    private ToggleGroup racketSizeGroup, racketThickGroup;
+    private ToggleGroup racketSizeGroup, racketThickGroup, opponentGroup;
     private TextField setPlayer1Name, setPlayer2Name;
-    private Slider setBallSpeed, setWinningScore, setSpeedIncreaseFrequency;
+    private Slider setBallSpeed, setWinningScore, setSpeedIncreaseFrequency, setExtraBalls;
 
     /**
      * Constructs a new GameMenu with the specified menuListener which handles actions triggered by the menu.
@@ -45,6 +53,8 @@ public class GameMenu {
 
         loadMenu();
 
+        initializeLoadButtons();
+
         // Add menu items to menu
         menuMain();
 
@@ -61,6 +71,8 @@ public class GameMenu {
 
         menuStartButton = new Button("START");
 
+        menuContinueButton = new Button("CONTINUE");
+
         menuLoadButton = new Button("LOAD GAME");
         menuLoadFromDBButton = new Button("LOAD FROM DB");
 
@@ -70,10 +82,14 @@ public class GameMenu {
 
         racketThickGroup = new ToggleGroup();
 
+        opponentGroup = new ToggleGroup();
+
         setWinningScore = new Slider(1, 20, 10);
 
         setSpeedIncreaseFrequency = new Slider(0.1, 1.0, 0.5);
 
+        setExtraBalls = new Slider(0, 500, 0);
+
         handleRadioButtons();
 
         exitButton.setOnAction(e -> {
@@ -156,9 +172,35 @@ public class GameMenu {
         racketThicknessOptions.getChildren().addAll(slimRacket, averageRacket, thickRacket);
         racketThicknessOptions.setAlignment(Pos.CENTER);
 
+        // Player 2 can be a human or a computer player
+        opponentOptions = new HBox(10);
+        opponentOptions.getChildren().addAll(
+                makeOpponentOption("Human", null, true),
+                makeOpponentOption("CPU Easy", CpuPlayer.Difficulty.EASY, false),
+                makeOpponentOption("CPU Medium", CpuPlayer.Difficulty.MEDIUM, false),
+                makeOpponentOption("CPU Hard", CpuPlayer.Difficulty.HARD, false));
+        opponentOptions.setAlignment(Pos.CENTER);
+
         handleRadioSelection (2, 2);
     }
 
+    /**
+     * Creates a radio button for choosing who controls player 2.
+     *
+     * @param text       The text of the option.
+     * @param difficulty The computer player difficulty, or null for a human player.
+     * @param selected   Whether the option is selected by default.
+     * @return The radio button for the option.
+     */
+    private RadioButton makeOpponentOption(String text, CpuPlayer.Difficulty difficulty, boolean selected) {
+        RadioButton option = new RadioButton(text);
+        option.setUserData(difficulty);
+        option.setToggleGroup(opponentGroup);
+        option.setSelected(selected);
+        option.getStyleClass().add("setting-label");
+        return option;
+    }
+
     /**
      * Sets the selected state of the radio buttons based on the provided racket size and thickness.
      * This method is used to synchronize the radio button selections with current game settings, such as
@@ -222,18 +264,32 @@ public class GameMenu {
             }
         });
 
+        opponentGroup.selectedToggleProperty().addListener((observable, oldValue, newValue) -> {
+            if (newValue != null) {
+                menuListener.setPlayer2Control((CpuPlayer.Difficulty) newValue.getUserData());
+            }
+        });
+
         setWinningScore.valueProperty().addListener((obs, oldVal, newVal) ->
                 menuListener.setWinningScore(newVal.intValue()));
 
         setSpeedIncreaseFrequency.valueProperty().addListener((obs, oldVal, newVal) ->
                 menuListener.setSpeedIncreaseFrequency(newVal.doubleValue()));
 
+        setExtraBalls.valueProperty().addListener((obs, oldVal, newVal) -> {
+            if (oldVal.intValue() != newVal.intValue()) {
+                menuListener.setExtraBalls(newVal.intValue());
+            }
+        });
+
         menuExitButton.setOnAction(e -> menuListener.setExit());
 
         menuAboutButton.setOnAction(e -> menuListener.setAbout());
 
         menuStartButton.setOnAction(e -> menuListener.start());
 
+        menuContinueButton.setOnAction(e -> menuListener.continueGame());
+
         menuLoadButton.setOnAction(e -> menuListener.load());
 
         menuLoadFromDBButton.setOnAction(e -> {
@@ -270,9 +326,11 @@ public class GameMenu {
         setBallSpeed.getStyleClass().add("slider");
         setWinningScore.getStyleClass().add("slider");
         setSpeedIncreaseFrequency.getStyleClass().add("slider");
+        setExtraBalls.getStyleClass().add("slider");
 
         // Style the buttons
         menuStartButton.getStyleClass().add("menu-button");
+        menuContinueButton.getStyleClass().add("menu-button");
         menuLoadButton.getStyleClass().add("menu-button");
         menuLoadFromDBButton.getStyleClass().add("menu-button");
         menuAboutButton.getStyleClass().add("menu-button");
@@ -302,16 +360,21 @@ public class GameMenu {
         winningScoreLabel.getStyleClass().add("setting-label");
         Label speedIncreaseFrequencyLabel = new Label("Set Speed Increase Frequency: ");
         speedIncreaseFrequencyLabel.getStyleClass().add("setting-label");
+        Label extraBallsLabel = new Label("Set Extra Balls: ");
+        extraBallsLabel.getStyleClass().add("setting-label");
         Label racketSizeLabel = new Label("Set Racket Size: ");
         racketSizeLabel.getStyleClass().add("setting-label");
         Label racketThicknessLabel = new Label("Set Racket Thickness: ");
         racketThicknessLabel.getStyleClass().add("setting-label");
+        Label opponentLabel = new Label("Player 2: ");
+        opponentLabel.getStyleClass().add("setting-label");
 
         // Create the settings VBox for sliders
         VBox settingsBox = new VBox(
                 menuMainSettings(ballSpeedLabel, setBallSpeed),
                 menuMainSettings(winningScoreLabel, setWinningScore),
-                menuMainSettings(speedIncreaseFrequencyLabel, setSpeedIncreaseFrequency)
+                menuMainSettings(speedIncreaseFrequencyLabel, setSpeedIncreaseFrequency),
+                menuMainSettings(extraBallsLabel, setExtraBalls)
         );
         settingsBox.setAlignment(Pos.CENTER);
         settingsBox.getStyleClass().add("form-container");
@@ -326,8 +389,13 @@ public class GameMenu {
         racketThickOptionsBox.setAlignment(Pos.CENTER);
         racketThickOptionsBox.getStyleClass().add("form-container");
 
+        // Create the HBox for opponent options
+        HBox opponentOptionsBox = menuMainSettings(opponentLabel, opponentOptions);
+        opponentOptionsBox.setAlignment(Pos.CENTER);
+        opponentOptionsBox.getStyleClass().add("form-container");
+
         // Container for all form elements, centered and spaced appropriately
-        VBox formBox = new VBox(20, titleLabel, menuStartButton, menuLoadButton, menuLoadFromDBButton, menuAboutButton, menuExitButton, playerNamesBox, settingsBox, racketSizeOptionsBox, racketThickOptionsBox);
+        VBox formBox = new VBox(20, titleLabel, menuStartButton, menuContinueButton, menuLoadButton, menuLoadFromDBButton, menuAboutButton, menuExitButton, playerNamesBox, settingsBox, racketSizeOptionsBox, racketThickOptionsBox, opponentOptionsBox);
         formBox.setAlignment(Pos.CENTER);
         formBox.getStyleClass().add("form-container");
 
@@ -430,17 +498,14 @@ public class GameMenu {
     }
 
     /**
-     * Helper method to create a button with an icon.
+     * Helper method to create a button with an icon. The icon comes from the shared {@link ImageCache}, decoded in
+     * the background directly at its display size, so building the menu does not wait on image decoding.
      *
      * @param pathName The path to the icon image.
      * @return A Button with the specified icon.
      */
     private Button createButtonWithIcon(String pathName) {
-        URL url = getClass().getResource(pathName);
-        if (url == null) {
-            throw new IllegalArgumentException("Resource not found: " + pathName);
-        }
-        Image image = new Image(url.toExternalForm());
+        Image image = ImageCache.getInstance().get(pathName, 15, 15);
         ImageView imageView = new ImageView(image);
 
         imageView.setFitWidth(15);
@@ -454,31 +519,52 @@ public class GameMenu {
     }
 
     /**
-     * Initializes the buttons for loading saved games.
+     * Initializes the buttons for loading saved games. The buttons describe their slots from the
+     * {@link SaveSlotIndex}, which reads the saves in the background and tells the menu when a slot changes.
      */
     private void initializeLoadButtons() {
-        String basePath = "C:/Users/mghos/MTU/Year2-Semester2/OO_Prog/testing/Ping-Pong/Saves/";
-        Button[] buttons = {firstGameSlot, secondGameSlot, thirdGameSlot, fourthGameSlot, fifthGameSlot};
+        Button[] buttons = loadButtons();
         for (int i = 0; i < buttons.length; i++) {
-            String filename = "settingsSave" + (i + 1) + ".ser";
-            String fullPath = basePath + filename;
-
-            if (GameSaver.isFileValid(fullPath)) {
-                buttons[i].setText("Load Game " + (i + 1));
-            } else {
-                buttons[i].setText("Empty");
-            }
-
+            int slot = i + 1;
             buttons[i].setOnAction(e -> {
-                if (!GameSaver.isFileValid(fullPath)) {
-                    // Show error if the file does not exist or is not valid
+                if (SaveSlotIndex.getInstance().get(slot) == null) {
+                    // Show error if the slot is empty or its save is not valid
                     menuListener.showFeedback("Error", "No game saved in this slot.", Alert.AlertType.ERROR);
                 } else {
-                    // Proceed with loading if the file is valid
-                    menuListener.loadGameSettings(fullPath);
+                    // Proceed with loading if the slot holds a save
+                    menuListener.loadGameSettings(GameSaver.slotPath(slot));
                 }
             });
         }
+
+        SaveSlotIndex index = SaveSlotIndex.getInstance();
+        index.addListener(() -> Platform.runLater(this::updateLoadButtons));
+        index.start();
+        updateLoadButtons();
+    }
+
+    /**
+     * Shows the indexed metadata of every save slot on its button.
+     */
+    private void updateLoadButtons() {
+        SaveSlotIndex index = SaveSlotIndex.getInstance();
+        Button[] buttons = loadButtons();
+        for (int i = 0; i < buttons.length; i++) {
+            int slot = i + 1;
+            SaveSlotMetadata metadata = index.get(slot);
+            if (metadata != null) {
+                String saved = SLOT_TIME_FORMAT.format(Instant.ofEpochMilli(metadata.getLastModified()));
+                buttons[i].setText(String.format("Game %d: %s %d - %d %s (to %d), %s", slot, metadata.getPlayer1Name(),
+                        metadata.getPlayer1Score(), metadata.getPlayer2Score(), metadata.getPlayer2Name(),
+                        metadata.getWinningScore(), saved));
+            } else {
+                buttons[i].setText(index.isReady() ? "Game " + slot + ": Empty" : "Game " + slot + ": ...");
+            }
+        }
+    }
+
+    private Button[] loadButtons() {
+        return new Button[] {firstGameSlot, secondGameSlot, thirdGameSlot, fourthGameSlot, fifthGameSlot};
     }
 
     /**
@@ -501,11 +587,13 @@ public class GameMenu {
 
     // Getter for menu
     public VBox getMenuMain() {
+        // Only offer to continue when there is an autosave to continue from
+        menuContinueButton.setDisable(!menuListener.hasAutosave());
         return menuMain;
     }
     // Getter for LOAD menu
     public VBox getLoadMenu() {
-        initializeLoadButtons();
+        updateLoadButtons();
         return loadMenu;
     }
     // Getter for gaem menu
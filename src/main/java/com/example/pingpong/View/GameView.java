@@ -1,5 +1,6 @@
 package com.example.pingpong.View;
 
+import com.example.pingpong.Controller.Metrics;
 import com.example.pingpong.Model.*;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
@@ -13,20 +14,33 @@ import javafx.scene.text.Text;
  * Handles the graphical representation of the Ping Pong game. This class extends Canvas and is responsible for drawing
  * the game elements such as the ball, rackets, score, and other UI components related to the game's visual aspect.
  * It provides functionality for updating the game's display during gameplay and responding to changes in game state.
+ * The game model is kept in fixed logical units and is scaled to the canvas with a single transform when drawn.
  */
 public class GameView extends Canvas {
     private Image backgroundImage; // The background image
+    private final ParticleSystem particles = new ParticleSystem(4096); // Hit sparks, goal bursts and ball trails
+    private int lastBounceCount; // Ball bounce count at the previous frame, to spot new racket hits
+    private final Metrics metrics = Metrics.getInstance(); // Counts drawn frames
 
     /**
-     * Initializes a new GameView with specified dimensions and loads the background image.
+     * Initializes a new GameView with specified dimensions. The background image is not loaded until
+     * {@link #loadBackground()} or the first draw, so a view can be built without the JavaFX image loader.
      *
      * @param width  The width of the canvas.
      * @param height The height of the canvas.
      */
     public GameView(double width, double height) {
         super(width, height);
-        // Initialize the background image
-        backgroundImage = new Image(getClass().getResourceAsStream("/com/example/pingpong/gameBackground.jpg"));
+    }
+
+    /**
+     * Starts loading the background image if it is not loading yet. The image is decoded in the background so it does
+     * not delay the first paint of the menu.
+     */
+    public void loadBackground() {
+        if (backgroundImage == null) {
+            backgroundImage = ImageCache.getInstance().get("/com/example/pingpong/gameBackground.jpg");
+        }
     }
 
     /**
@@ -36,17 +50,23 @@ public class GameView extends Canvas {
      * @param game The game model to be drawn.
      */
     public void drawGame(Game game) {
-        if (game == null || backgroundImage == null) return; // Don't draw if the game or image is not set
-        resetSize(game);
+        if (game == null) return; // Don't draw if the game is not set
         GraphicsContext gc = this.getGraphicsContext2D();
 
-        // Draw the various components of the game
+        // Draw the various components of the game in logical units
+        gc.save();
+        applyWorldTransform(gc, game);
         drawBackground(gc, game);
         drawMiddleLine(gc, game);
         drawBall(gc, game.getBall());
+        if (game.getExtraBalls() != null) drawExtraBalls(gc, game.getExtraBalls());
         drawRacket(gc, game.getPlayer1().getRacket());
         drawRacket(gc, game.getPlayer2().getRacket());
         drawScoreBox(gc, game.getPlayer1(), game.getPlayer2(), game);
+        emitBallEffects(game);
+        particles.updateAndDraw(gc);
+        gc.restore();
+        metrics.recordFrame();
 
     }
 
@@ -56,31 +76,19 @@ public class GameView extends Canvas {
      * @param game The game model to be drawn.
      */
     public void initialDrawGame(Game game) {
-        if (game == null || backgroundImage == null) return; // Don't draw if the game or image is not set
-        resetSize(game);
-        GraphicsContext gc = this.getGraphicsContext2D();
-
-        // Draw the various components of the game
-        drawBackground(gc, game);
-        drawMiddleLine(gc, game);
-        drawBall(gc, game.getBall());
-        drawRacket(gc, game.getPlayer1().getRacket());
-        drawRacket(gc, game.getPlayer2().getRacket());
-        drawScoreBox(gc, game.getPlayer1(), game.getPlayer2(), game);
+        drawGame(game);
         drawInstructions();
 
     }
 
     /**
-     * Resets the size of the canvas to match the game dimensions, ensuring the UI elements scale correctly
-     * with the window or canvas size changes.
+     * Scales the drawing surface so the game's logical units map onto the current canvas size.
      *
-     * @param game The game model containing the current dimensions.
+     * @param gc   The GraphicsContext of the canvas.
+     * @param game The game model containing the logical dimensions.
      */
-    private void resetSize(Game game) {
-        // Set the canvas size based on the game dimensions
-        this.setWidth(game.getWidth());
-        this.setHeight(game.getHeight());
+    private void applyWorldTransform(GraphicsContext gc, Game game) {
+        gc.scale(getWidth() / game.getWidth(), getHeight() / game.getHeight());
     }
 
     /**
@@ -90,6 +98,13 @@ public class GameView extends Canvas {
      * @param game The game model for reference.
      */
     private void drawBackground(GraphicsContext gc, Game game) {
+        // Fall back to a plain background until the image has finished decoding
+        loadBackground();
+        if (backgroundImage.getProgress() < 1.0) {
+            gc.setFill(Color.BLACK);
+            gc.fillRect(0, 0, game.getWidth(), game.getHeight());
+            return;
+        }
         // Draw the background image scaled to the game
         gc.drawImage(backgroundImage, 0, 0, game.getWidth(), game.getHeight());
     }
@@ -132,6 +147,51 @@ public class GameView extends Canvas {
         gc.setEffect(null);
     }
 
+    /**
+     * Emits a burst of sparks when the ball has hit a racket since the last frame, and a trail behind the moving ball.
+     *
+     * @param game The game model for reference.
+     */
+    private void emitBallEffects(Game game) {
+        Ball ball = game.getBall();
+        if (ball.getBounceCount() != lastBounceCount) {
+            lastBounceCount = ball.getBounceCount();
+            particles.emit(ball.getPosX(), ball.getPosY(), 40, 3.0, ParticleSystem.SPARK, 30);
+        }
+        if (game.isBallMoving()) {
+            particles.emit(ball.getPosX(), ball.getPosY(), 2, 0.3, ParticleSystem.TRAIL, 20);
+        }
+    }
+
+    /**
+     * Emits a burst of particles in the scoring player's colour where the ball left the table.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param x       Horizontal position of the ball in logical units.
+     * @param y       Vertical position of the ball in logical units.
+     * @param player1 True if player 1 scored, false if player 2 scored.
+     */
+    public void emitGoalBurst(double x, double y, boolean player1) {
+        particles.emit(x, y, 300, 6.0, player1 ? ParticleSystem.PLAYER1 : ParticleSystem.PLAYER2, 60);
+    }
+
+    /**
+     * Draws the extra balls of the multi-ball mode. There can be hundreds of them, so they are drawn in a single
+     * colour without the glow effect of the main ball.
+     *
+     * @param gc         The GraphicsContext of the canvas.
+     * @param extraBalls The extra balls to draw.
+     */
+    private void drawExtraBalls(GraphicsContext gc, BallSwarm extraBalls) {
+        double radius = BallSwarm.RADIUS;
+        double[] posX = extraBalls.getPosX();
+        double[] posY = extraBalls.getPosY();
+        gc.setFill(Color.ORANGE);
+        for (int i = 0; i < extraBalls.getCount(); i++) {
+            gc.fillOval(posX[i] - radius, posY[i] - radius, radius * 2, radius * 2);
+        }
+    }
+
     /**
      * Draws the score box at the top of the canvas. This area displays the current scores of both players
      * and updates dynamically as the game progresses.
@@ -253,6 +313,29 @@ public class GameView extends Canvas {
         gc.setFont(new Font("sans-serif", fontSize));
         gc.setLineWidth(1);
         gc.strokeText("Game will return to menu!", textOffsetX, textOffsetY + 120);
+
+        // Match statistics for both players
+        gc.setFont(new Font("sans-serif", fontSize * 0.8));
+        gc.setStroke(Color.WHITE);
+        gc.strokeText(formatStatistics(game.getPlayer1(), game.getStatistics().getPlayer1()), 20, textOffsetY + 170);
+        gc.strokeText(formatStatistics(game.getPlayer2(), game.getStatistics().getPlayer2()), 20, textOffsetY + 170 + fontSize * 1.5);
+    }
+
+    /**
+     * Formats a one-line summary of a player's match statistics for the win screen.
+     *
+     * @param player     The player the statistics belong to.
+     * @param statistics The player's statistics.
+     * @return The summary line.
+     */
+    private String formatStatistics(Player player, PlayerStatistics statistics) {
+        return String.format("%s: %d hits, hit speed avg %.1f / p95 %.1f, hit offset p50 %+.2f, "
+                        + "%d rallies won: avg %.1f hits / p95 %.0f, p50 length %.1f s",
+                player.getName(), statistics.getHits(),
+                statistics.getHitSpeed().getMean(), statistics.getHitSpeed().quantile(0.95),
+                statistics.getHitOffset().quantile(0.5),
+                statistics.getPointsWon(), statistics.getRallyHits().getMean(), statistics.getRallyHits().quantile(0.95),
+                statistics.getPointDurationMs().quantile(0.5) / 1000.0);
     }
 
     /**
@@ -0,0 +1,238 @@
+package com.example.pingpong.View;
+
+import javafx.scene.image.Image;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Singleton cache shared by all views for images loaded from the application resources.
+ * Images are keyed by resource path and target size, so each variant is decoded only once no matter how many screens
+ * use it. Decoding happens on JavaFX's background loader threads, and the decoded pixel memory the cache holds is
+ * capped by evicting the least recently used images.
+ * <p>
+ * The budget only counts the images the cache itself holds on to. An evicted image that a view still shows stays in
+ * memory until the view lets go of it; the cache keeps a weak reference to it, so asking for it again in the meantime
+ * hands out the same image instead of decoding it a second time.
+ */
+public class ImageCache {
+    /**
+     * Decodes an image for the cache.
+     */
+    public interface Loader {
+        /**
+         * Starts decoding an image.
+         *
+         * @param resourcePath The absolute resource path of the image.
+         * @param width        The target width, or 0 for the natural width.
+         * @param height       The target height, or 0 for the natural height.
+         * @return The loaded or loading image.
+         */
+        Image load(String resourcePath, double width, double height);
+    }
+
+    private static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private static ImageCache instance;
+
+    private final long budgetBytes;
+    private final Loader loader;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted images, found here again for as long as a view still holds them
+    private final Map<String, WeakReference<Image>> evicted = new HashMap<>();
+    private long usedBytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a cache holding at most the given number of bytes of decoded pixels. The application uses the single
+     * instance from {@link #getInstance()}, which decodes images from the application resources in the background.
+     *
+     * @param budgetBytes The decoded pixel memory budget in bytes.
+     * @param loader      Decodes the images that are not cached.
+     */
+    public ImageCache(long budgetBytes, Loader loader) {
+        this.budgetBytes = budgetBytes;
+        this.loader = loader;
+    }
+
+    /**
+     * Provides access to the singleton instance of {@link ImageCache}.
+     *
+     * @return The single instance of the {@link ImageCache}.
+     */
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache(DEFAULT_BUDGET_BYTES, ImageCache::loadResource);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets an image at its natural size.
+     *
+     * @param resourcePath The absolute resource path of the image.
+     * @return The cached or newly loading image.
+     */
+    public Image get(String resourcePath) {
+        return get(resourcePath, 0, 0);
+    }
+
+    /**
+     * Gets an image decoded to fit the given size, preserving its aspect ratio. If the image is not cached yet it
+     * starts decoding in the background and the returned image fills in once ready.
+     *
+     * @param resourcePath The absolute resource path of the image.
+     * @param width        The target width, or 0 for the natural width.
+     * @param height       The target height, or 0 for the natural height.
+     * @return The cached or newly loading image.
+     */
+    public synchronized Image get(String resourcePath, double width, double height) {
+        String key = key(resourcePath, width, height);
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            hits++;
+            return entry.image;
+        }
+
+        WeakReference<Image> evictedImage = evicted.remove(key);
+        Image image = evictedImage == null ? null : evictedImage.get();
+        if (image != null) {
+            // Still shown somewhere since it was evicted, so take it back instead of decoding it again
+            hits++;
+        } else {
+            misses++;
+            image = loader.load(resourcePath, width, height);
+        }
+        entry = new Entry(key, image, (long) (width * height) * BYTES_PER_PIXEL);
+        entries.put(key, entry);
+        usedBytes += entry.bytes;
+
+        // Once decoded, account for the real size of the image
+        if (image.getProgress() >= 1.0) {
+            updateSize(entry);
+        } else {
+            Entry loading = entry;
+            image.progressProperty().addListener((obs, oldVal, newVal) -> {
+                if (newVal.doubleValue() >= 1.0) updateSize(loading);
+            });
+        }
+
+        evictOverBudget(entry);
+        return image;
+    }
+
+    /**
+     * Checks whether the cache holds an image, without counting a hit or making it the most recently used.
+     *
+     * @param resourcePath The absolute resource path of the image.
+     * @param width        The target width, or 0 for the natural width.
+     * @param height       The target height, or 0 for the natural height.
+     * @return true if the image is cached, false if it was never loaded or has been evicted.
+     */
+    public synchronized boolean isCached(String resourcePath, double width, double height) {
+        return entries.containsKey(key(resourcePath, width, height));
+    }
+
+    /**
+     * Starts decoding an image ahead of time so it is ready by the time a view needs it.
+     *
+     * @param resourcePath The absolute resource path of the image.
+     * @param width        The target width, or 0 for the natural width.
+     * @param height       The target height, or 0 for the natural height.
+     */
+    public void preload(String resourcePath, double width, double height) {
+        get(resourcePath, width, height);
+    }
+
+    /**
+     * Gets the estimated number of bytes of decoded pixels currently held by the cache.
+     *
+     * @return The decoded pixel memory in bytes.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Gets the number of images currently held by the cache.
+     *
+     * @return The number of cached images.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of requests answered without decoding, including evicted images taken back.
+     *
+     * @return The number of hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of requests that had to decode the image.
+     *
+     * @return The number of misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static String key(String resourcePath, double width, double height) {
+        return resourcePath + "@" + width + "x" + height;
+    }
+
+    private static Image loadResource(String resourcePath, double width, double height) {
+        URL url = ImageCache.class.getResource(resourcePath);
+        if (url == null) {
+            throw new IllegalArgumentException("Resource not found: " + resourcePath);
+        }
+        return new Image(url.toExternalForm(), width, height, true, true, true);
+    }
+
+    private synchronized void updateSize(Entry entry) {
+        Image image = entry.image;
+        long bytes = (long) (image.getWidth() * image.getHeight()) * BYTES_PER_PIXEL;
+        if (entries.containsValue(entry)) {
+            usedBytes += bytes - entry.bytes;
+        }
+        entry.bytes = bytes;
+        evictOverBudget(entry);
+    }
+
+    private void evictOverBudget(Entry keep) {
+        if (usedBytes <= budgetBytes) return;
+        evicted.values().removeIf(reference -> reference.get() == null);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (usedBytes > budgetBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (eldest == keep) continue; // Never evict the image that was just requested
+            iterator.remove();
+            usedBytes -= eldest.bytes;
+            evicted.put(eldest.key, new WeakReference<>(eldest.image));
+        }
+    }
+
+    /**
+     * A cached image together with its key and decoded size in bytes.
+     */
+    private static class Entry {
+        private final String key;
+        private final Image image;
+        private long bytes;
+
+        Entry(String key, Image image, long bytes) {
+            this.key = key;
+            this.image = image;
+            this.bytes = bytes;
+        }
+    }
+}
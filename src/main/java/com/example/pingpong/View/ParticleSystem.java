@@ -0,0 +1,190 @@
+package com.example.pingpong.View;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * A fixed-capacity pool of short-lived particles for hit sparks, goal bursts and ball trails.
+ * Particles are stored in parallel primitive arrays and a dead particle is replaced by the last live one, so updating,
+ * culling and drawing never allocate. Particles are drawn in batches per colour and fade level, which keeps the number
+ * of fill colour changes on the GraphicsContext small. If drawing the particles takes longer than the frame budget,
+ * fewer new particles are emitted until it fits again. All methods must be called on the JavaFX application thread.
+ */
+public class ParticleSystem {
+    /** Colour index of hit sparks. */
+    public static final int SPARK = 0;
+    /** Colour index of player 1's goal bursts. */
+    public static final int PLAYER1 = 1;
+    /** Colour index of player 2's goal bursts. */
+    public static final int PLAYER2 = 2;
+    /** Colour index of ball trails. */
+    public static final int TRAIL = 3;
+
+    private static final Color[] BASE_COLORS = {Color.YELLOW, Color.rgb(0, 255, 0), Color.rgb(0, 0, 255), Color.RED};
+    private static final int FADE_LEVELS = 4;
+    private static final double GRAVITY = 0.05;
+
+    /** Time particles may take per frame to update and draw, in nanoseconds. */
+    private static final long FRAME_BUDGET_NANOS = 2_000_000;
+
+    private final Color[] palette;
+    private final int capacity;
+    private final double[] posX;
+    private final double[] posY;
+    private final double[] velX;
+    private final double[] velY;
+    private final int[] life;
+    private final int[] maxLife;
+    private final byte[] color;
+    private int live;
+
+    private double emissionScale = 1.0;
+    private long lastFrameNanos;
+    private long randomState = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Constructs a particle pool.
+     *
+     * @param capacity The maximum number of live particles.
+     */
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        this.posX = new double[capacity];
+        this.posY = new double[capacity];
+        this.velX = new double[capacity];
+        this.velY = new double[capacity];
+        this.life = new int[capacity];
+        this.maxLife = new int[capacity];
+        this.color = new byte[capacity];
+
+        // One colour per base colour and fade level, so drawing never creates a Color
+        this.palette = new Color[BASE_COLORS.length * FADE_LEVELS];
+        for (int c = 0; c < BASE_COLORS.length; c++) {
+            for (int f = 0; f < FADE_LEVELS; f++) {
+                palette[c * FADE_LEVELS + f] = BASE_COLORS[c].deriveColor(0, 1, 1, (f + 1) / (double) FADE_LEVELS);
+            }
+        }
+    }
+
+    /**
+     * Emits particles from a point in random directions. Particles that do not fit in the pool are dropped.
+     *
+     * @param x          Horizontal position in logical units.
+     * @param y          Vertical position in logical units.
+     * @param count      Number of particles at full emission rate.
+     * @param speed      Largest initial speed per frame.
+     * @param colorIndex One of {@link #SPARK}, {@link #PLAYER1}, {@link #PLAYER2} or {@link #TRAIL}.
+     * @param lifetime   Number of frames each particle lives.
+     */
+    public void emit(double x, double y, int count, double speed, int colorIndex, int lifetime) {
+        int scaled = (int) Math.ceil(count * emissionScale);
+        for (int n = 0; n < scaled && live < capacity; n++) {
+            int i = live++;
+            posX[i] = x;
+            posY[i] = y;
+            velX[i] = (nextDouble() * 2 - 1) * speed;
+            velY[i] = (nextDouble() * 2 - 1) * speed;
+            life[i] = lifetime;
+            maxLife[i] = lifetime;
+            color[i] = (byte) colorIndex;
+        }
+    }
+
+    /**
+     * Moves all particles by one frame and removes the ones whose lifetime is over, in a single pass.
+     */
+    public void update() {
+        int i = 0;
+        while (i < live) {
+            if (--life[i] <= 0) {
+                // Replace the dead particle with the last live one and look at the same slot again
+                live--;
+                posX[i] = posX[live];
+                posY[i] = posY[live];
+                velX[i] = velX[live];
+                velY[i] = velY[live];
+                life[i] = life[live];
+                maxLife[i] = maxLife[live];
+                color[i] = color[live];
+                continue;
+            }
+            posX[i] += velX[i];
+            posY[i] += velY[i];
+            velY[i] += GRAVITY;
+            i++;
+        }
+    }
+
+    /**
+     * Updates and draws all particles, then adjusts the emission rate to the time it took.
+     *
+     * @param gc The GraphicsContext to draw on, already transformed to logical units.
+     */
+    public void updateAndDraw(GraphicsContext gc) {
+        long startTime = System.nanoTime();
+        update();
+        draw(gc);
+        lastFrameNanos = System.nanoTime() - startTime;
+
+        if (lastFrameNanos > FRAME_BUDGET_NANOS) {
+            emissionScale = Math.max(0.05, emissionScale * 0.5);
+        } else if (emissionScale < 1.0) {
+            emissionScale = Math.min(1.0, emissionScale + 0.02);
+        }
+    }
+
+    /**
+     * Draws all particles as small squares, one batch per palette colour so the fill is set once per batch.
+     */
+    private void draw(GraphicsContext gc) {
+        if (live == 0) return;
+        for (int p = 0; p < palette.length; p++) {
+            boolean filled = false;
+            for (int i = 0; i < live; i++) {
+                if (paletteIndex(i) != p) continue;
+                if (!filled) {
+                    gc.setFill(palette[p]);
+                    filled = true;
+                }
+                double size = 1.5 + 3.0 * life[i] / maxLife[i];
+                gc.fillRect(posX[i] - size / 2, posY[i] - size / 2, size, size);
+            }
+        }
+    }
+
+    private int paletteIndex(int i) {
+        int fade = Math.min(FADE_LEVELS - 1, life[i] * FADE_LEVELS / maxLife[i]);
+        return color[i] * FADE_LEVELS + fade;
+    }
+
+    /**
+     * Removes all particles.
+     */
+    public void clear() {
+        live = 0;
+    }
+
+    /**
+     * Returns a pseudo-random number in [0, 1) from an xorshift generator, so emitting does not allocate.
+     */
+    private double nextDouble() {
+        long x = randomState;
+        x ^= x << 13;
+        x ^= x >>> 7;
+        x ^= x << 17;
+        randomState = x;
+        return (x >>> 11) * 0x1.0p-53;
+    }
+
+    public int getLiveCount() {
+        return live;
+    }
+
+    public long getLastFrameNanos() {
+        return lastFrameNanos;
+    }
+
+    public double getEmissionScale() {
+        return emissionScale;
+    }
+}
@@ -6,6 +6,8 @@ module com.example.pingpong {
     requires org.controlsfx.controls;
     requires org.kordamp.bootstrapfx.core;
     requires java.sql;
+    requires jdk.management;
+    requires jdk.httpserver;
 
     // Export and open the subpackages if they contain classes that are used by FXML or reflection
     opens com.example.pingpong.Controller to javafx.fxml;
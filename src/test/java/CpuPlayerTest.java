@@ -0,0 +1,55 @@
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.Game;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class CpuPlayerTest {
+    private Game game;
+    private Ball ball;
+
+    @Before
+    public void setUp() {
+        game = new Game();
+        ball = game.getBall();
+        ball.setSpeed(2);
+    }
+
+    @Test
+    public void testPredictStraightLine() {
+        ball.setPosX(500);
+        ball.setPosY(300);
+        ball.setDirectionX(1);
+        ball.setDirectionY(0);
+
+        assertEquals(300, CpuPlayer.predictInterceptY(ball, 1000, game.getHeight()), 1e-9);
+    }
+
+    @Test
+    public void testPredictMatchesSimulationWithWallBounces() {
+        ball.setPosX(100);
+        ball.setPosY(200);
+        ball.setDirectionX(1);
+        ball.setDirectionY(0.8);
+        double targetX = 1050;
+
+        double predicted = CpuPlayer.predictInterceptY(ball, targetX, game.getHeight());
+
+        // Step the ball forward the same way BallManager does
+        while (ball.getPosX() < targetX) {
+            ball.move();
+            if (ball.checkCollisionWithCanvas(game.getHeight())) ball.setDirectionY(-ball.getDirectionY());
+        }
+        assertEquals("Prediction should match the simulated bounces", ball.getPosY(), predicted, 10);
+    }
+
+    @Test
+    public void testBallMovingAwayReturnsCurrentPosition() {
+        ball.setPosX(500);
+        ball.setPosY(250);
+        ball.setDirectionX(-1);
+
+        assertEquals(250, CpuPlayer.predictInterceptY(ball, 1000, game.getHeight()), 1e-9);
+    }
+}
@@ -0,0 +1,23 @@
+import com.example.pingpong.Controller.EloRatings;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EloRatingsTest {
+
+    @Test
+    public void testEvenlyRatedWinnerGainsHalfTheKFactor() {
+        assertEquals(0.5, EloRatings.expectedScore(1500, 1500), 0);
+        assertEquals(1516, EloRatings.updatedRating(1500, 1500, 1), 1e-9);
+        assertEquals(1484, EloRatings.updatedRating(1500, 1500, 0), 1e-9);
+        assertEquals(1500, EloRatings.updatedRating(1500, 1500, 0.5), 1e-9);
+    }
+
+    @Test
+    public void testFavouriteLosingToA200PointUnderdog() {
+        // Expected score of the favourite: 1 / (1 + 10^(-200/400)) = 0.7597
+        assertEquals(0.7597, EloRatings.expectedScore(1600, 1400), 1e-4);
+        assertEquals(1575.69, EloRatings.updatedRating(1600, 1400, 0), 1e-2);
+        assertEquals(1424.31, EloRatings.updatedRating(1400, 1600, 1), 1e-2);
+    }
+}
@@ -0,0 +1,65 @@
+import com.example.pingpong.Controller.GameSaver;
+import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.SaveSlotMetadata;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class GameSaverTest {
+    private GameSaver gameSaver;
+    private GameSettings settings;
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        gameSaver = GameSaver.getInstance();
+        settings = new GameSettings("Alice", "Bob", 3, 5, 1.5, 0.5, 10, 100, 10, 2, 2);
+        directory = Files.createTempDirectory("saves");
+        directory.toFile().deleteOnExit();
+    }
+
+    @Test
+    public void testSlotMetadataIsReadFromHeader() throws Exception {
+        String path = directory.resolve(GameSaver.slotFileName(2)).toString();
+        gameSaver.saveSettings(path, settings);
+
+        SaveSlotMetadata metadata = gameSaver.readSlotMetadata(path, 2);
+        assertNotNull(metadata);
+        assertEquals(2, metadata.getSlot());
+        assertEquals("Alice", metadata.getPlayer1Name());
+        assertEquals("Bob", metadata.getPlayer2Name());
+        assertEquals(3, metadata.getPlayer1Score());
+        assertEquals(5, metadata.getPlayer2Score());
+        assertEquals(10, metadata.getWinningScore());
+
+        GameSettings loaded = gameSaver.loadSettings(path);
+        assertEquals("Alice", loaded.getPlayer1Name());
+        assertEquals(5, loaded.getPlayer2Score());
+        assertEquals(1.5, loaded.getGameSpeed(), 1e-9);
+    }
+
+    @Test
+    public void testSaveWithoutHeaderIsStillRead() throws Exception {
+        String path = directory.resolve(GameSaver.slotFileName(1)).toString();
+        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(path))) {
+            out.writeObject(settings);
+        }
+
+        assertEquals("Bob", gameSaver.loadSettings(path).getPlayer2Name());
+        SaveSlotMetadata metadata = gameSaver.readSlotMetadata(path, 1);
+        assertNotNull(metadata);
+        assertEquals(3, metadata.getPlayer1Score());
+    }
+
+    @Test
+    public void testEmptySlotHasNoMetadata() {
+        assertNull(gameSaver.readSlotMetadata(directory.resolve(GameSaver.slotFileName(3)).toString(), 3));
+    }
+}
@@ -0,0 +1,91 @@
+import com.example.pingpong.Model.Ball;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class GameSnapshotTest {
+    private Game game;
+
+    @Before
+    public void setUp() {
+        game = new Game();
+        game.resumeGame();
+
+        // Put the game in the middle of a rally
+        Ball ball = game.getBall();
+        ball.setPosX(321);
+        ball.setPosY(123);
+        ball.setDirectionX(-1);
+        ball.setDirectionY(0.25);
+        ball.setSpeed(4.5);
+        game.getPlayer1().setScore(3);
+        game.getPlayer2().setScore(7);
+        game.getPlayer2().getRacket().setPosY(200);
+    }
+
+    @Test
+    public void testCaptureAndApplyRestoresRally() {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(game);
+
+        Game restored = new Game();
+        snapshot.applyTo(restored);
+
+        assertEquals(321, restored.getBall().getPosX(), 0.0);
+        assertEquals(123, restored.getBall().getPosY(), 0.0);
+        assertEquals(-1, restored.getBall().getDirectionX(), 0.0);
+        assertEquals(0.25, restored.getBall().getDirectionY(), 0.0);
+        assertEquals(4.5, restored.getBall().getSpeed(), 0.0);
+        assertEquals(3, restored.getPlayer1().getScore());
+        assertEquals(7, restored.getPlayer2().getScore());
+        assertEquals(200, restored.getPlayer2().getRacket().getPosY(), 0.0);
+        assertFalse("Restored game should keep the running phase", restored.isGamePaused());
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        GameSnapshot snapshot = new GameSnapshot();
+        snapshot.capture(game);
+        snapshot.setSequence(42);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.writeTo(new DataOutputStream(bytes));
+
+        GameSnapshot loaded = new GameSnapshot();
+        loaded.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(42, loaded.getSequence());
+        Game restored = new Game();
+        loaded.applyTo(restored);
+        assertEquals(321, restored.getBall().getPosX(), 0.0);
+        assertEquals(7, restored.getPlayer2().getScore());
+    }
+
+    @Test
+    public void testFirstFormatWithWindowPixelsIsRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(1);
+        out.writeLong(42);
+        // Size of the window the positions were taken in
+        out.writeDouble(1600);
+        out.writeDouble(900);
+        out.writeInt(10);
+
+        try {
+            new GameSnapshot().readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+            fail("format 1 should be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("format 1"));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+import com.example.pingpong.View.ImageCache;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ImageCacheTest {
+    // A 10x10 image takes 400 bytes of decoded pixels
+    private static final long IMAGE_BYTES = 10 * 10 * 4;
+
+    private int loads;
+    private ImageCache cache;
+
+    @BeforeClass
+    public static void useSoftwareRendering() {
+        // Images are created without a screen
+        System.setProperty("prism.order", "sw");
+    }
+
+    @Before
+    public void setUp() {
+        cache = new ImageCache(3 * IMAGE_BYTES, (resourcePath, width, height) -> {
+            loads++;
+            return new WritableImage((int) width, (int) height);
+        });
+    }
+
+    @Test
+    public void testLeastRecentlyUsedImageIsEvictedFirst() {
+        cache.get("/a", 10, 10);
+        cache.get("/b", 10, 10);
+        cache.get("/c", 10, 10);
+        // Using a makes b the least recently used
+        cache.get("/a", 10, 10);
+        cache.get("/d", 10, 10);
+
+        assertTrue(cache.isCached("/a", 10, 10));
+        assertFalse(cache.isCached("/b", 10, 10));
+        assertTrue(cache.isCached("/c", 10, 10));
+        assertTrue(cache.isCached("/d", 10, 10));
+    }
+
+    @Test
+    public void testImagesAreEvictedOnlyOverTheBudget() {
+        cache.get("/a", 10, 10);
+        cache.get("/b", 10, 10);
+        cache.get("/c", 10, 10);
+        assertEquals(3, cache.size());
+        assertEquals(3 * IMAGE_BYTES, cache.getUsedBytes());
+
+        cache.get("/d", 10, 10);
+        assertEquals(3, cache.size());
+        assertEquals(3 * IMAGE_BYTES, cache.getUsedBytes());
+
+        // An image larger than the whole budget is still handed out, and is all the cache keeps
+        Image large = cache.get("/large", 20, 20);
+        assertNotNull(large);
+        assertEquals(1, cache.size());
+        assertEquals(20 * 20 * 4, cache.getUsedBytes());
+    }
+
+    @Test
+    public void testHitsAndMissesAreCounted() {
+        Image first = cache.get("/a", 10, 10);
+        assertSame(first, cache.get("/a", 10, 10));
+        cache.get("/a", 5, 5);
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void testEvictedImageStillInUseIsNotDecodedAgain() {
+        Image shown = cache.get("/a", 10, 10);
+        cache.get("/b", 10, 10);
+        cache.get("/c", 10, 10);
+        cache.get("/d", 10, 10);
+        assertFalse(cache.isCached("/a", 10, 10));
+        assertEquals(4, loads);
+
+        // The view still shows a, so the cache takes it back instead of decoding it
+        assertSame(shown, cache.get("/a", 10, 10));
+        assertEquals(4, loads);
+        assertEquals(1, cache.getHits());
+        assertTrue(cache.isCached("/a", 10, 10));
+        assertEquals(3 * IMAGE_BYTES, cache.getUsedBytes());
+    }
+}
@@ -0,0 +1,150 @@
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.IGameDAO;
+import com.example.pingpong.Controller.MatchEventRecorder;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.TournamentStanding;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MatchEventRecorderTest {
+
+    @Test
+    public void testEveryGoalOfManyMatchesIsSavedInBatches() throws InterruptedException {
+        RecordingDAO dao = new RecordingDAO();
+        MatchEventRecorder recorder = new MatchEventRecorder(dao);
+
+        int matches = 20;
+        int points = 0;
+        List<MatchResult> results = new ArrayList<>();
+        for (int i = 0; i < matches; i++) {
+            HeadlessMatch match = new HeadlessMatch("Left", "Right", BotStrategy.cpu("Left", CpuPlayer.Difficulty.EASY).create(true, i),
+                    BotStrategy.cpu("Right", CpuPlayer.Difficulty.HARD).create(false, ~i), 5);
+            match.setEventRecorder(recorder, "match-" + i);
+            MatchResult result = match.play(1);
+            results.add(result);
+            points += result.getPlayer1Score() + result.getPlayer2Score();
+        }
+
+        assertTrue(recorder.flush(10_000));
+        assertEquals(points, recorder.getWrittenCount());
+        assertEquals(0, recorder.getDroppedCount());
+        assertEquals(points, dao.events.size());
+        assertTrue("goals should be grouped into batches", dao.batchSizes.size() < points);
+
+        // The last goal of each match carries its final score
+        for (int i = 0; i < matches; i++) {
+            MatchEvent last = null;
+            for (MatchEvent event : dao.events) {
+                if (event.getMatchId().equals("match-" + i)) last = event;
+            }
+            assertNotNull(last);
+            assertEquals(results.get(i).getPlayer1Score(), last.getPlayer1Score());
+            assertEquals(results.get(i).getPlayer2Score(), last.getPlayer2Score());
+            assertTrue(last.getRallyTicks() > 0);
+            assertTrue(last.getBallSpeed() > 0);
+        }
+        recorder.close();
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() throws InterruptedException {
+        RecordingDAO dao = new RecordingDAO();
+        dao.failures = 1;
+        MatchEventRecorder recorder = new MatchEventRecorder(dao);
+        recorder.record(new MatchEvent("retry", "A", true, 1, 0, 2, 100, 3.0, System.currentTimeMillis()));
+
+        assertTrue(recorder.flush(10_000));
+        assertEquals(1, recorder.getWrittenCount());
+        assertEquals(1, dao.events.size());
+        recorder.close();
+    }
+
+    @Test
+    public void testCloseStopsTheWriterThread() throws InterruptedException {
+        MatchEventRecorder recorder = new MatchEventRecorder(new RecordingDAO());
+        recorder.record(new MatchEvent("close", "A", true, 1, 0, 2, 100, 3.0, System.currentTimeMillis()));
+        assertTrue(recorder.flush(10_000));
+        assertTrue(writerRunning());
+
+        recorder.close();
+        assertFalse(writerRunning());
+
+        // Recording again starts a new writer
+        recorder.record(new MatchEvent("close", "B", false, 1, 1, 2, 100, 3.0, System.currentTimeMillis()));
+        assertTrue(recorder.flush(10_000));
+        assertEquals(2, recorder.getWrittenCount());
+        recorder.close();
+    }
+
+    private static boolean writerRunning() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> thread.getName().equals("match-event-writer") && thread.isAlive());
+    }
+
+    /**
+     * Keeps saved events in memory, after failing a given number of times.
+     */
+    private static class RecordingDAO implements IGameDAO {
+        private final List<MatchEvent> events = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile int failures;
+
+        @Override
+        public void saveMatchEvents(List<MatchEvent> batch) throws SQLException {
+            if (failures > 0) {
+                failures--;
+                throw new SQLException("Connection reset");
+            }
+            // Slow enough for events to queue up behind a batch
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.addAll(batch);
+            batchSizes.add(batch.size());
+        }
+
+        @Override
+        public void saveGame(Game game, String gameName) { }
+
+        @Override
+        public void updateGame(Game game, String gameName) { }
+
+        @Override
+        public boolean gameExists(String gameName) {
+            return false;
+        }
+
+        @Override
+        public Game loadGame(String gameName) {
+            return null;
+        }
+
+        @Override
+        public List<String> loadGameNames() {
+            return List.of();
+        }
+
+        @Override
+        public Game loadLatestGame() {
+            return null;
+        }
+
+        @Override
+        public void saveMatchResults(String tournamentName, List<MatchResult> results) { }
+
+        @Override
+        public void saveStandings(String tournamentName, List<TournamentStanding> standings) { }
+    }
+}
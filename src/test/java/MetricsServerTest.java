@@ -0,0 +1,66 @@
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.LatencyHistogram;
+import com.example.pingpong.Controller.Metrics;
+import com.example.pingpong.Controller.MetricsServer;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class MetricsServerTest {
+
+    @Test
+    public void testScrapeServesRecordedMetricsInPrometheusFormat() throws Exception {
+        Metrics metrics = Metrics.getInstance();
+        long ticksBefore = metrics.getTicks();
+        HeadlessMatch match = new HeadlessMatch("Left", "Right", BotStrategy.cpu("Left", CpuPlayer.Difficulty.MEDIUM).create(true, 1),
+                BotStrategy.cpu("Right", CpuPlayer.Difficulty.MEDIUM).create(false, 2), 3);
+        match.play(1);
+        metrics.recordDaoCall("loadGame", 2_500_000, false);
+        metrics.recordDaoCall("loadGame", 40_000_000, true);
+
+        MetricsServer server = new MetricsServer(0);
+        server.start();
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + server.getPort() + "/metrics").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+            String body;
+            try (InputStream in = connection.getInputStream()) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            assertEquals(ticksBefore + match.getTicks(), metrics.getTicks());
+            assertTrue(body.contains("# TYPE pingpong_ticks_total counter\npingpong_ticks_total " + metrics.getTicks() + "\n"));
+            assertTrue(body.contains("pingpong_active_sessions{kind=\"headless\"} 0\n"));
+            // 2.5 ms falls in the bucket up to 4.096 ms, 40 ms in the one up to 65.536 ms
+            assertTrue(body.contains("pingpong_dao_call_seconds_bucket{method=\"loadGame\",le=\"0.002048\"} 0\n"));
+            assertTrue(body.contains("pingpong_dao_call_seconds_bucket{method=\"loadGame\",le=\"0.004096\"} 1\n"));
+            assertTrue(body.contains("pingpong_dao_call_seconds_bucket{method=\"loadGame\",le=\"+Inf\"} 2\n"));
+            assertTrue(body.contains("pingpong_dao_call_seconds_count{method=\"loadGame\"} 2\n"));
+            assertTrue(body.contains("pingpong_dao_errors_total{method=\"loadGame\"} 1\n"));
+            assertTrue(body.contains("jvm_memory_heap_bytes{area=\"used\"} "));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testHistogramBucketsArePowersOfTwoMicroseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(500);          // under 1 us
+        histogram.record(3_000);        // 3 us
+        histogram.record(-10);          // clamped to 0
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getBucket(0));
+        assertEquals(1, histogram.getBucket(2));
+        assertEquals(1, histogram.getBucket(LatencyHistogram.BUCKETS - 1));
+        assertEquals(4, histogram.getCount());
+    }
+}
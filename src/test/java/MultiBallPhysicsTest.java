@@ -0,0 +1,66 @@
+import com.example.pingpong.Controller.GameBuilder;
+import com.example.pingpong.Controller.MultiBallPhysics;
+import com.example.pingpong.Model.BallSwarm;
+import com.example.pingpong.Model.Game;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MultiBallPhysicsTest {
+    private Game game;
+    private BallSwarm swarm;
+    private MultiBallPhysics physics;
+
+    @Before
+    public void setUp() {
+        game = new GameBuilder().withPlayer1Name("A").withPlayer2Name("B").withTarget(10).withExtraBalls(2).build();
+        swarm = game.getExtraBalls();
+        physics = new MultiBallPhysics(game);
+    }
+
+    private void place(int i, double x, double y, double vx, double vy) {
+        swarm.getPosX()[i] = x;
+        swarm.getPosY()[i] = y;
+        swarm.getVelX()[i] = vx;
+        swarm.getVelY()[i] = vy;
+    }
+
+    @Test
+    public void testHeadOnCollisionExchangesVelocities() {
+        place(0, 500, 300, 2, 0);
+        place(1, 500 + BallSwarm.RADIUS * 2 + 1, 300, -2, 0);
+
+        physics.step(game);
+
+        assertEquals(-2, swarm.getVelX()[0], 1e-9);
+        assertEquals(2, swarm.getVelX()[1], 1e-9);
+    }
+
+    @Test
+    public void testCollisionAcrossCellBorderConservesMomentum() {
+        // Balls in different grid cells, meeting at an angle
+        place(0, 495, 295, 1.5, 1.0);
+        place(1, 505, 309, -0.5, -2.0);
+        double momentumX = swarm.getVelX()[0] + swarm.getVelX()[1];
+        double momentumY = swarm.getVelY()[0] + swarm.getVelY()[1];
+
+        physics.step(game);
+
+        assertTrue(physics.getPairTests() > 0);
+        assertNotEquals(1.5, swarm.getVelX()[0], 1e-9);
+        assertEquals(momentumX, swarm.getVelX()[0] + swarm.getVelX()[1], 1e-9);
+        assertEquals(momentumY, swarm.getVelY()[0] + swarm.getVelY()[1], 1e-9);
+    }
+
+    @Test
+    public void testBallPastRacketScoresAndRespawns() {
+        place(0, 12, 600, -5, 0);
+        place(1, 700, 100, 1, 0);
+
+        physics.step(game);
+
+        assertEquals(1, physics.getPointsPlayer2());
+        assertEquals(0, physics.getPointsPlayer1());
+        assertEquals(game.getWidth() / 2, swarm.getPosX()[0], 1e-9);
+    }
+}
@@ -0,0 +1,51 @@
+import com.example.pingpong.View.ParticleSystem;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class ParticleSystemTest {
+
+    @Test
+    public void testEmittingAndUpdatingAllocatesNothing() {
+        ParticleSystem particles = new ParticleSystem(4096);
+        // Warm up so the measured frames run compiled code
+        playFrames(particles, 20_000);
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        playFrames(particles, 20_000);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+
+        assertTrue(particles.getLiveCount() > 0);
+        // Allow for the bytes reading the allocation counter may take itself
+        assertTrue("allocated " + allocated + " bytes in steady state", allocated < 1024);
+    }
+
+    @Test
+    public void testPoolDropsParticlesThatDoNotFitAndCullsDeadOnes() {
+        ParticleSystem particles = new ParticleSystem(100);
+        particles.emit(0, 0, 80, 1.0, ParticleSystem.SPARK, 5);
+        particles.emit(0, 0, 80, 1.0, ParticleSystem.PLAYER1, 10);
+        assertEquals(100, particles.getLiveCount());
+
+        for (int frame = 0; frame < 5; frame++) particles.update();
+        assertEquals(20, particles.getLiveCount());
+        for (int frame = 0; frame < 5; frame++) particles.update();
+        assertEquals(0, particles.getLiveCount());
+    }
+
+    /**
+     * Emits sparks, trails and a goal burst now and then, as a rally does, and moves the particles every frame.
+     */
+    private static void playFrames(ParticleSystem particles, int frames) {
+        for (int frame = 0; frame < frames; frame++) {
+            particles.emit(300, 200, 2, 0.3, ParticleSystem.TRAIL, 20);
+            if (frame % 50 == 0) particles.emit(20, 200, 40, 3.0, ParticleSystem.SPARK, 30);
+            if (frame % 500 == 0) particles.emit(0, 200, 300, 6.0, ParticleSystem.PLAYER2, 60);
+            particles.update();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+import com.example.pingpong.Model.QuantileSketch;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void testUniformValuesGiveQuantilesWithinOneBin() {
+        QuantileSketch sketch = new QuantileSketch(0, 10_000, 100);
+        for (int value = 0; value < 10_000; value++) {
+            sketch.record(value);
+        }
+
+        assertEquals(10_000, sketch.getCount());
+        assertEquals(4999.5, sketch.getMean(), 1e-9);
+        assertEquals(0, sketch.getMin(), 0);
+        assertEquals(9999, sketch.getMax(), 0);
+        for (double q : new double[] {0.01, 0.25, 0.5, 0.95, 0.99}) {
+            assertEquals("quantile " + q, q * 10_000, sketch.quantile(q), 100);
+        }
+    }
+
+    @Test
+    public void testNormalValuesMatchExactQuantiles() {
+        Random random = new Random(42);
+        double[] values = new double[100_000];
+        QuantileSketch sketch = new QuantileSketch(0, 40, 160);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 20 + 3 * random.nextGaussian();
+            sketch.record(values[i]);
+        }
+
+        Arrays.sort(values);
+        double binWidth = 40.0 / 160;
+        for (double q : new double[] {0.05, 0.5, 0.95, 0.999}) {
+            double exact = values[(int) (q * values.length) - 1];
+            assertEquals("quantile " + q, exact, sketch.quantile(q), binWidth);
+        }
+        assertEquals(20, sketch.getMean(), 0.05);
+    }
+
+    @Test
+    public void testValuesOutsideTheRangeAreCountedInTheEndBins() {
+        QuantileSketch sketch = new QuantileSketch(0, 100, 10);
+        sketch.record(-50);
+        sketch.record(500);
+        sketch.record(600);
+
+        // Min, max and mean are exact; quantiles only know which bin a value was counted in
+        assertEquals(-50, sketch.getMin(), 0);
+        assertEquals(600, sketch.getMax(), 0);
+        assertEquals(350, sketch.getMean(), 1e-9);
+        assertEquals(0, sketch.quantile(0.1), 10);
+        assertEquals(100, sketch.quantile(1), 0);
+        assertEquals(95, sketch.quantile(0.5), 5);
+    }
+
+    @Test
+    public void testEmptyAndResetSketchAnswersZero() {
+        QuantileSketch sketch = new QuantileSketch(0, 10, 10);
+        assertEquals(0, sketch.quantile(0.5), 0);
+        assertEquals(0, sketch.getMean(), 0);
+
+        sketch.record(7);
+        sketch.reset();
+        assertEquals(0, sketch.getCount());
+        assertEquals(0, sketch.quantile(0.5), 0);
+        assertEquals(0, sketch.getMax(), 0);
+    }
+}
@@ -0,0 +1,70 @@
+import com.example.pingpong.Controller.QueryLog;
+import com.example.pingpong.Controller.QueryTrace;
+import org.junit.After;
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class QueryLogTest {
+    private final QueryLog queryLog = QueryLog.getInstance();
+
+    @After
+    public void tearDown() {
+        queryLog.setSlowQueryThresholdMillis(QueryLog.DEFAULT_SLOW_QUERY_MILLIS);
+    }
+
+    @Test
+    public void testSlowQueryIsLoggedWithSqlParametersAndPhases() throws InterruptedException {
+        queryLog.setSlowQueryThresholdMillis(5);
+        QueryTrace trace = QueryTrace.start("testSlowSelect", "SELECT * FROM Game WHERE game_name = ?", "slow-game");
+        trace.executed();
+        Thread.sleep(10);
+        trace.rowFetched();
+        trace.finish();
+
+        QueryLog.SlowQuery entry = last(queryLog.getSlowQueries());
+        assertEquals("testSlowSelect", entry.getStatement());
+        assertEquals("SELECT * FROM Game WHERE game_name = ?", entry.getSql());
+        assertEquals("[slow-game]", entry.getParameters());
+        assertEquals(1, entry.getRows());
+        assertNull(entry.getError());
+        // The time after execution is spent reading the result
+        assertTrue(entry.getMaterializeNanos() >= 10_000_000L);
+        assertEquals(1, queryLog.getStatements().get("testSlowSelect").getTotal().getCount());
+    }
+
+    @Test
+    public void testFastQueryIsOnlyCountedAndFailedQueryIsAlwaysLogged() {
+        queryLog.setSlowQueryThresholdMillis(10_000);
+        int logged = queryLog.getSlowQueries().size();
+        QueryTrace fast = QueryTrace.start("testFastSelect", "SELECT 1");
+        fast.executed();
+        fast.finish();
+        assertEquals(logged, queryLog.getSlowQueries().size());
+
+        QueryTrace failed = QueryTrace.start("testFailedUpdate", "UPDATE Game SET game_limit = ?", 7);
+        failed.failed(new SQLException("Lock wait timeout exceeded"));
+        failed.finish();
+        assertEquals("Lock wait timeout exceeded", last(queryLog.getSlowQueries()).getError());
+        assertEquals(1, queryLog.getStatements().get("testFailedUpdate").getErrors());
+    }
+
+    @Test
+    public void testSlowQueryLogIsBounded() {
+        queryLog.setSlowQueryThresholdMillis(0);
+        for (int i = 0; i < QueryLog.SLOW_LOG_CAPACITY + 10; i++) {
+            QueryTrace trace = QueryTrace.start("testBounded", "SELECT ?", i);
+            trace.finish();
+        }
+        List<QueryLog.SlowQuery> entries = queryLog.getSlowQueries();
+        assertEquals(QueryLog.SLOW_LOG_CAPACITY, entries.size());
+        assertEquals("[" + (QueryLog.SLOW_LOG_CAPACITY + 9) + "]", last(entries).getParameters());
+    }
+
+    private static QueryLog.SlowQuery last(List<QueryLog.SlowQuery> entries) {
+        return entries.get(entries.size() - 1);
+    }
+}
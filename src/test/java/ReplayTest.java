@@ -0,0 +1,148 @@
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.HeadlessMatch;
+import com.example.pingpong.Controller.ReplayPlayer;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.GameSnapshot;
+import com.example.pingpong.Model.Replay;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReplayTest {
+    private static final int TICKS = 20_000;
+    private static final int SAMPLE_EVERY = 777;
+
+    private Replay replay;
+    private List<Game> samples;
+
+    @Before
+    public void setUp() {
+        replay = new Replay(100);
+        samples = record(replay);
+    }
+
+    /**
+     * Records a match between two computer players, remembering the live state every few hundred ticks.
+     */
+    private static List<Game> record(Replay replay) {
+        HeadlessMatch match = new HeadlessMatch("Left", "Right", BotStrategy.cpu("Left", CpuPlayer.Difficulty.MEDIUM).create(true, 1),
+                BotStrategy.cpu("Right", CpuPlayer.Difficulty.EASY).create(false, 2), Integer.MAX_VALUE);
+        match.setReplay(replay);
+        List<Game> samples = new ArrayList<>();
+        for (int tick = 0; tick < TICKS; tick++) {
+            if (tick % SAMPLE_EVERY == 0) {
+                GameSnapshot sample = new GameSnapshot();
+                sample.capture(match.getGame());
+                Game copy = new Game();
+                sample.applyTo(copy);
+                samples.add(copy);
+            }
+            match.tick();
+        }
+        return samples;
+    }
+
+    @Test
+    public void testSeekMatchesRecordedState() {
+        ReplayPlayer player = new ReplayPlayer(replay, new Game(), null);
+        // Seek backwards so every seek has to restore a keyframe instead of continuing
+        for (int i = samples.size() - 1; i >= 0; i--) {
+            player.seekNow(i * SAMPLE_EVERY);
+            assertSameState(samples.get(i), player.getGame());
+        }
+    }
+
+    @Test
+    public void testPlaybackSpeedAdvancesTicks() {
+        ReplayPlayer player = new ReplayPlayer(replay, new Game(), null);
+        long now = 1_000_000_000L;
+        player.tick(now);
+
+        player.setSpeed(64);
+        player.tick(now += 10_000_000L);
+        assertEquals(64, player.getTick());
+
+        player.setSpeed(0.25);
+        for (int i = 0; i < 4; i++) player.tick(now += 10_000_000L);
+        assertEquals(65, player.getTick());
+
+        player.setSpeed(1000);
+        assertEquals(ReplayPlayer.MAX_SPEED, player.getSpeed(), 0);
+    }
+
+    @Test
+    public void testWrittenReplayPlaysTheSame() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        replay.writeTo(new DataOutputStream(bytes));
+        Replay read = Replay.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(TICKS, read.getTicks());
+
+        ReplayPlayer player = new ReplayPlayer(read, new Game(), null);
+        int last = samples.size() - 1;
+        player.seekNow(last * SAMPLE_EVERY);
+        assertSameState(samples.get(last), player.getGame());
+    }
+
+    @Test
+    public void testCappedReplayKeepsOnlyTheLastKeyframes() throws IOException {
+        Replay capped = new Replay(100, 20);
+        record(capped);
+        assertEquals(TICKS, capped.getTicks());
+        assertEquals(20, capped.getKeyframeCount());
+        assertEquals(TICKS - 20 * 100, capped.getFirstTick());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        capped.writeTo(new DataOutputStream(bytes));
+        Replay read = Replay.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(capped.getFirstTick(), read.getFirstTick());
+
+        for (Replay kept : List.of(capped, read)) {
+            ReplayPlayer player = new ReplayPlayer(kept, new Game(), null);
+            assertEquals(kept.getFirstTick(), player.getTick());
+            for (int i = samples.size() - 1; i * SAMPLE_EVERY >= kept.getFirstTick(); i--) {
+                player.seekNow(i * SAMPLE_EVERY);
+                assertSameState(samples.get(i), player.getGame());
+            }
+            // Ticks that were dropped cannot be reached
+            player.seekNow(0);
+            assertEquals(kept.getFirstTick(), player.getTick());
+        }
+    }
+
+    @Test
+    public void testSeekIsHandledOnceOnTheNextTick() {
+        ReplayPlayer player = new ReplayPlayer(replay, new Game(), null);
+        player.seek(SAMPLE_EVERY);
+        player.tick(1_000_000_000L);
+        assertEquals(SAMPLE_EVERY, player.getTick());
+        assertSameState(samples.get(1), player.getGame());
+
+        // A handled seek is not repeated
+        player.seekNow(0);
+        player.tick(1_000_000_000L);
+        assertEquals(0, player.getTick());
+    }
+
+    /**
+     * Compares the ball and scores; the rackets are set from the recorded input at the start of every tick.
+     */
+    private static void assertSameState(Game expected, Game actual) {
+        assertEquals(expected.getBall().getPosX(), actual.getBall().getPosX(), 0);
+        assertEquals(expected.getBall().getPosY(), actual.getBall().getPosY(), 0);
+        assertEquals(expected.getBall().getDirectionX(), actual.getBall().getDirectionX(), 0);
+        assertEquals(expected.getBall().getDirectionY(), actual.getBall().getDirectionY(), 0);
+        assertEquals(expected.getBall().getSpeed(), actual.getBall().getSpeed(), 0);
+        assertEquals(expected.getPlayer1().getScore(), actual.getPlayer1().getScore());
+        assertEquals(expected.getPlayer2().getScore(), actual.getPlayer2().getScore());
+    }
+}
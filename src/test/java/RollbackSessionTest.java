@@ -0,0 +1,106 @@
+import com.example.pingpong.Controller.LoopbackTransport;
+import com.example.pingpong.Controller.RollbackSession;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.PlayerStatistics;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RollbackSessionTest {
+    private static final int FRAMES = 3000;
+    private static final int MAX_ROLLBACK = 8;
+
+    @Test
+    public void testPeersConvergeOnTheSameStateDespiteLatencyAndJitter() {
+        int[] inputs1 = scriptedInputs(1);
+        int[] inputs2 = scriptedInputs(2);
+
+        LoopbackTransport[] transports = LoopbackTransport.pair(3, 4, 42);
+        RollbackSession peer1 = new RollbackSession(newGame(), true, MAX_ROLLBACK, transports[0]);
+        RollbackSession peer2 = new RollbackSession(newGame(), false, MAX_ROLLBACK, transports[1]);
+
+        // Each loop is one frame of wall time; a stalled peer tries again on the next frame
+        while (peer1.getFrame() < FRAMES || peer2.getFrame() < FRAMES) {
+            if (peer1.getFrame() < FRAMES) peer1.advance(inputs1[peer1.getFrame()]);
+            if (peer2.getFrame() < FRAMES) peer2.advance(inputs2[peer2.getFrame()]);
+            transports[0].tick();
+            transports[1].tick();
+        }
+        // Let the last inputs arrive
+        while (transports[0].hasPending() || transports[1].hasPending()) {
+            transports[0].tick();
+            transports[1].tick();
+            peer1.synchronize();
+            peer2.synchronize();
+        }
+
+        assertEquals(FRAMES - 1, peer1.getLastConfirmedFrame());
+        assertEquals(FRAMES - 1, peer2.getLastConfirmedFrame());
+        assertTrue("the jitter should cause mispredictions", peer1.getRollbacks() > 0 && peer2.getRollbacks() > 0);
+        assertTrue(peer1.getDeepestRollback() <= MAX_ROLLBACK);
+
+        // Both peers end where a game that knew every input in advance ends
+        Game reference = newGame();
+        for (int f = 0; f < FRAMES; f++) {
+            RollbackSession.simulate(reference, inputs1[f], inputs2[f]);
+        }
+        assertSameState(reference, peer1.getGame());
+        assertSameState(reference, peer2.getGame());
+
+        // Re-simulated ticks replace what the mispredicted ticks counted in the statistics
+        assertTrue(peer1.getResimulatedFrames() > 0);
+        for (RollbackSession peer : new RollbackSession[]{peer1, peer2}) {
+            assertSameStatistics(reference.getStatistics().getPlayer1(), peer.getGame().getStatistics().getPlayer1());
+            assertSameStatistics(reference.getStatistics().getPlayer2(), peer.getGame().getStatistics().getPlayer2());
+            assertEquals(countedRallyTicks(reference), countedRallyTicks(peer.getGame()));
+        }
+    }
+
+    /**
+     * Inputs held for random stretches of ticks, as a player holds down a key.
+     */
+    private static int[] scriptedInputs(long seed) {
+        Random random = new Random(seed);
+        int[] inputs = new int[FRAMES];
+        int f = 0;
+        while (f < FRAMES) {
+            int input = random.nextInt(3);
+            int hold = 1 + random.nextInt(30);
+            for (int i = 0; i < hold && f < FRAMES; i++) inputs[f++] = input;
+        }
+        return inputs;
+    }
+
+    private static long countedRallyTicks(Game game) {
+        long ticks = 0;
+        for (PlayerStatistics player : new PlayerStatistics[]{game.getStatistics().getPlayer1(), game.getStatistics().getPlayer2()}) {
+            ticks += Math.round(player.getRallyTicks().getMean() * player.getRallyTicks().getCount());
+        }
+        return ticks;
+    }
+
+    private static void assertSameStatistics(PlayerStatistics expected, PlayerStatistics actual) {
+        assertEquals(expected.getHits(), actual.getHits());
+        assertEquals(expected.getPointsWon(), actual.getPointsWon());
+        assertEquals(expected.getHitSpeed().getMean(), actual.getHitSpeed().getMean(), 1e-9);
+        assertEquals(expected.getRallyHits().getMean(), actual.getRallyHits().getMean(), 1e-9);
+    }
+
+    private static Game newGame() {
+        Game game = new Game();
+        game.resumeGame();
+        return game;
+    }
+
+    private static void assertSameState(Game expected, Game actual) {
+        assertEquals(expected.getBall().getPosX(), actual.getBall().getPosX(), 0);
+        assertEquals(expected.getBall().getPosY(), actual.getBall().getPosY(), 0);
+        assertEquals(expected.getBall().getSpeed(), actual.getBall().getSpeed(), 0);
+        assertEquals(expected.getPlayer1().getRacket().getPosY(), actual.getPlayer1().getRacket().getPosY(), 0);
+        assertEquals(expected.getPlayer2().getRacket().getPosY(), actual.getPlayer2().getRacket().getPosY(), 0);
+        assertEquals(expected.getPlayer1().getScore(), actual.getPlayer1().getScore());
+        assertEquals(expected.getPlayer2().getScore(), actual.getPlayer2().getScore());
+    }
+}
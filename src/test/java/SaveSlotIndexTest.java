@@ -0,0 +1,74 @@
+import com.example.pingpong.Controller.GameSaver;
+import com.example.pingpong.Controller.SaveSlotIndex;
+import com.example.pingpong.Model.GameSettings;
+import com.example.pingpong.Model.SaveSlotMetadata;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SaveSlotIndexTest {
+    private Path directory;
+    private SaveSlotIndex index;
+    private final Semaphore updates = new Semaphore(0);
+
+    @Before
+    public void setUp() throws IOException {
+        // The saves directory does not exist until the index creates it
+        directory = Files.createTempDirectory("save-slot-index").resolve("Saves");
+        index = new SaveSlotIndex(directory, 3);
+        index.addListener(updates::release);
+    }
+
+    @After
+    public void tearDown() {
+        index.stop();
+    }
+
+    @Test
+    public void testIndexFollowsSavesWrittenAfterTheFirstScan() throws Exception {
+        index.start();
+        assertTrue("index not built", updates.tryAcquire(5, TimeUnit.SECONDS));
+        assertTrue(index.isReady());
+        assertTrue(Files.isDirectory(directory));
+        assertNull(index.get(2));
+
+        String path = directory.resolve(GameSaver.slotFileName(2)).toString();
+        GameSaver.getInstance().saveSettings(path, new GameSettings("Alice", "Bob", 3, 5, 1.5, 0.5, 10, 100, 10, 2, 2));
+        SaveSlotMetadata metadata = awaitSlot(2);
+        assertEquals("Alice", metadata.getPlayer1Name());
+        assertEquals(5, metadata.getPlayer2Score());
+
+        // Saving the slot again replaces its entry
+        GameSaver.getInstance().saveSettings(path, new GameSettings("Carol", "Bob", 4, 5, 1.5, 0.5, 10, 100, 10, 2, 2));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"Carol".equals(index.get(2).getPlayer1Name())) {
+            assertTrue("slot 2 was not re-read", System.nanoTime() < deadline);
+            updates.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(4, index.get(2).getPlayer1Score());
+
+        Files.delete(Path.of(path));
+        deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.get(2) != null) {
+            assertTrue("deleted slot 2 is still indexed", System.nanoTime() < deadline);
+            updates.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private SaveSlotMetadata awaitSlot(int slot) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (index.get(slot) == null) {
+            assertTrue("slot " + slot + " was not indexed", System.nanoTime() < deadline);
+            updates.tryAcquire(100, TimeUnit.MILLISECONDS);
+        }
+        return index.get(slot);
+    }
+}
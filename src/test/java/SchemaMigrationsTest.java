@@ -0,0 +1,133 @@
+import com.example.pingpong.Controller.DatabaseManager;
+import com.example.pingpong.Controller.SchemaMigrations;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the migrations against an in-memory H2 database in MySQL mode.
+ */
+public class SchemaMigrationsTest {
+
+    private static Connection openDatabase(String name) throws SQLException {
+        return DriverManager.getConnection("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+    }
+
+    @Test
+    public void testMigratesEmptyDatabaseOnceAndIndexesGameNames() throws SQLException {
+        try (Connection conn = openDatabase("empty")) {
+            assertEquals(SchemaMigrations.LATEST_VERSION, SchemaMigrations.migrate(conn));
+            assertEquals(0, SchemaMigrations.migrate(conn));
+            assertEquals(SchemaMigrations.LATEST_VERSION, SchemaMigrations.currentVersion(conn));
+
+            try (Statement statement = conn.createStatement()) {
+                assertTrue(plan(statement, "SELECT * FROM Game WHERE game_name = 'a'").contains("ux_game_name"));
+                try (ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM information_schema.indexes WHERE index_name = 'ix_game_recency'")) {
+                    rs.next();
+                    assertEquals(0, rs.getInt(1));
+                }
+                statement.executeUpdate("INSERT INTO Game (game_name, player1_name, player1_score, player2_name, player2_score, game_limit) VALUES ('a', 'x', 1, 'y', 2, 11)");
+                try {
+                    statement.executeUpdate("INSERT INTO Game (game_name, player1_name, player1_score, player2_name, player2_score, game_limit) VALUES ('a', 'x', 3, 'y', 4, 11)");
+                    fail("Game names should be unique");
+                } catch (SQLException expected) {
+                    // Duplicate key
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUpgradesLegacyTableRenamingOlderGamesWithTheSameName() throws SQLException {
+        try (Connection conn = openDatabase("legacy");
+             Statement statement = conn.createStatement()) {
+            // The table as it was created by hand before migrations existed
+            statement.executeUpdate("CREATE TABLE Game (id INT AUTO_INCREMENT PRIMARY KEY, game_name VARCHAR(255), player1_name VARCHAR(255), "
+                    + "player1_score INT, player2_name VARCHAR(255), player2_score INT, game_limit INT)");
+            statement.executeUpdate("INSERT INTO Game (game_name, player1_name, player1_score, player2_name, player2_score, game_limit) VALUES "
+                    + "('cup', 'x', 1, 'y', 0, 5), ('other', 'x', 2, 'y', 2, 5), ('cup', 'x', 5, 'y', 3, 5)");
+
+            SchemaMigrations.migrate(conn);
+
+            try (ResultSet rs = statement.executeQuery("SELECT game_name, player1_score FROM Game ORDER BY id")) {
+                assertTrue(rs.next());
+                assertEquals("cup-1", rs.getString(1));
+                assertEquals(1, rs.getInt(2));
+                assertTrue(rs.next());
+                assertEquals("other", rs.getString(1));
+                assertTrue(rs.next());
+                assertEquals("cup", rs.getString(1));
+                assertEquals(5, rs.getInt(2));
+                assertFalse(rs.next());
+            }
+        }
+    }
+
+    private static final String MANAGER_URL = "jdbc:h2:mem:manager;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Points the application's shared connection at an in-memory database that lives as long as the JVM.
+     */
+    private static DatabaseManager useInMemoryDatabase() {
+        System.setProperty("pingpong.db.url", MANAGER_URL);
+        System.setProperty("pingpong.db.user", "sa");
+        System.setProperty("pingpong.db.password", "");
+        return DatabaseManager.getInstance();
+    }
+
+    @Test
+    public void testDatabaseManagerMigratesOnFirstConnectionAndResavesRoundsInPlace() throws SQLException {
+        DatabaseManager manager = useInMemoryDatabase();
+
+        manager.saveNewGame("first", "x", 1, "y", 2, 11);
+        List<MatchResult> round = List.of(new MatchResult(1, "A", "B", 11, 4, 11, 1000));
+        manager.saveMatchResults("cup", round);
+        // A resumed tournament saves the round again
+        manager.saveMatchResults("cup", round);
+
+        assertTrue(manager.gameExists("cup-r1-A-vs-B"));
+        assertEquals(2, manager.loadGameNames().size());
+        assertTrue(manager.loadGameNames().contains("first"));
+        assertEquals(11, manager.loadGameByName("cup-r1-A-vs-B").getPlayer1().getScore());
+    }
+
+    @Test
+    public void testMatchEventsAreSavedInOneTransaction() throws SQLException {
+        DatabaseManager manager = useInMemoryDatabase();
+        manager.saveMatchEvents(List.of(
+                new MatchEvent("events-match", "A", true, 1, 0, 4, 900, 3.5, 1_700_000_000_000L),
+                new MatchEvent("events-match", "B", false, 1, 1, 7, 1500, 4.25, 1_700_000_005_000L)));
+
+        // Read through a connection of our own, leaving the application's shared connection open
+        try (Connection conn = DriverManager.getConnection(MANAGER_URL, "sa", "");
+             Statement statement = conn.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT scorer_name, player1_score, player2_score, rally_hits, ball_speed, scored_at "
+                     + "FROM match_event WHERE match_id = 'events-match' ORDER BY id")) {
+            assertTrue(rs.next());
+            assertEquals("A", rs.getString(1));
+            assertEquals(4, rs.getInt(4));
+            assertEquals(1_700_000_000_000L, rs.getTimestamp(6).getTime());
+            assertTrue(rs.next());
+            assertEquals("B", rs.getString(1));
+            assertEquals(1, rs.getInt(3));
+            assertEquals(4.25, rs.getDouble(5), 0);
+            assertFalse(rs.next());
+        }
+    }
+
+    private static String plan(Statement statement, String query) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("EXPLAIN " + query)) {
+            rs.next();
+            return rs.getString(1).toLowerCase();
+        }
+    }
+}
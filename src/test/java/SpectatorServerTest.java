@@ -0,0 +1,145 @@
+import com.example.pingpong.Controller.SpectatorServer;
+import com.example.pingpong.Model.Game;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SpectatorServerTest {
+    private static final int FAST_SPECTATORS = 200;
+    private static final int FRAMES = 20_000;
+
+    private SpectatorServer server;
+    private Game game;
+
+    @Before
+    public void setUp() throws IOException {
+        server = new SpectatorServer(0);
+        server.start();
+        game = new Game();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testStalledSpectatorDropsFramesWithoutHoldingBackOthers() throws Exception {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+        // One spectator connects but never reads
+        SocketChannel stalled = SocketChannel.open();
+        stalled.socket().setReceiveBufferSize(1024);
+        stalled.connect(address);
+
+        // All other spectators are read by one thread as fast as the frames come in
+        Selector selector = Selector.open();
+        List<long[]> lastSequences = new ArrayList<>();
+        for (int i = 0; i < FAST_SPECTATORS; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.configureBlocking(false);
+            long[] lastSequence = new long[1];
+            lastSequences.add(lastSequence);
+            channel.register(selector, SelectionKey.OP_READ, new Object[] {ByteBuffer.allocate(4096), lastSequence});
+        }
+        Thread reader = new Thread(() -> readFrames(selector));
+        reader.start();
+        waitUntil(() -> server.getSpectatorCount() == FAST_SPECTATORS + 1);
+
+        long slowestPublish = 0;
+        for (int i = 0; i < FRAMES; i++) {
+            game.getBall().setPosX(i);
+            long startTime = System.nanoTime();
+            server.publish(game);
+            slowestPublish = Math.max(slowestPublish, System.nanoTime() - startTime);
+        }
+
+        // Every reading spectator ends up with the last frame
+        waitUntil(() -> {
+            for (long[] lastSequence : lastSequences) {
+                if (lastSequence[0] != FRAMES) return false;
+            }
+            return true;
+        });
+        reader.interrupt();
+        selector.close();
+
+        List<SpectatorServer.SpectatorStats> stats = server.getSpectatorStats();
+        SpectatorServer.SpectatorStats stalledStats = stats.get(0);
+        assertTrue("stalled spectator should skip frames", stalledStats.getFramesDropped() > 0);
+        assertTrue("stalled spectator should get fewer bytes than published",
+                stalledStats.getBytesSent() < (long) FRAMES * SpectatorServer.FRAME_BYTES);
+        for (int i = 1; i < stats.size(); i++) {
+            assertEquals(0, stats.get(i).getLagFrames());
+        }
+        assertTrue("publishing must not wait on sockets, slowest took " + slowestPublish / 1000 + " us",
+                slowestPublish < 50_000_000L);
+        stalled.close();
+    }
+
+    @Test
+    public void testPublishingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        // Warm up so the measured publishes run compiled code
+        for (int i = 0; i < FRAMES; i++) server.publish(game);
+
+        long startBytes = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < FRAMES; i++) {
+            game.getBall().setPosX(i);
+            server.publish(game);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - startBytes;
+        assertTrue("publishing allocated " + allocated + " bytes", allocated < FRAMES);
+    }
+
+    private static void readFrames(Selector selector) {
+        Game spectatorGame = new Game();
+        try {
+            while (!Thread.currentThread().isInterrupted() && selector.isOpen()) {
+                selector.select(100);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    Object[] state = (Object[]) key.attachment();
+                    ByteBuffer buffer = (ByteBuffer) state[0];
+                    long[] lastSequence = (long[]) state[1];
+                    if (((SocketChannel) key.channel()).read(buffer) < 0) {
+                        key.cancel();
+                        continue;
+                    }
+                    buffer.flip();
+                    while (buffer.remaining() >= SpectatorServer.FRAME_BYTES) {
+                        long sequence = SpectatorServer.readFrame(buffer, spectatorGame);
+                        assertTrue(sequence > lastSequence[0]);
+                        assertEquals(sequence - 1, spectatorGame.getBall().getPosX(), 0);
+                        lastSequence[0] = sequence;
+                    }
+                    buffer.compact();
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Selector closed at the end of the test
+        }
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
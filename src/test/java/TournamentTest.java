@@ -0,0 +1,176 @@
+import com.example.pingpong.Controller.BotStrategy;
+import com.example.pingpong.Controller.CpuPlayer;
+import com.example.pingpong.Controller.IGameDAO;
+import com.example.pingpong.Controller.Tournament;
+import com.example.pingpong.Model.Game;
+import com.example.pingpong.Model.MatchEvent;
+import com.example.pingpong.Model.MatchResult;
+import com.example.pingpong.Model.TournamentStanding;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+    private static final String[] NAMES = {"Ann", "Ben", "Cat", "Dan", "Eve", "Fay", "Gus", "Hal"};
+
+    private final List<String> tournamentNames = new ArrayList<>();
+
+    @After
+    public void deleteJournals() throws IOException {
+        for (String name : tournamentNames) {
+            Files.deleteIfExists(journal(name));
+        }
+    }
+
+    @Test
+    public void testRoundRobinPairsEveryTwoBotsExactlyOnce() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        tournament("round-robin", Tournament.Format.ROUND_ROBIN, 7, 0, dao).run();
+
+        Set<String> pairs = new HashSet<>();
+        for (MatchResult result : dao.results) {
+            assertTrue("pair met twice: " + pairKey(result), pairs.add(pairKey(result)));
+        }
+        assertEquals(7 * 6 / 2, pairs.size());
+        assertEquals(7, dao.savedRounds.size());
+    }
+
+    @Test
+    public void testSwissNeverPairsTheSameBotsAgain() throws Exception {
+        RecordingDAO dao = new RecordingDAO();
+        tournament("swiss", Tournament.Format.SWISS, 8, 4, dao).run();
+
+        Set<String> pairs = new HashSet<>();
+        for (MatchResult result : dao.results) {
+            assertTrue("pair met twice: " + pairKey(result), pairs.add(pairKey(result)));
+        }
+        assertEquals(4 * 8 / 2, dao.results.size());
+    }
+
+    @Test
+    public void testResumeFromJournalDoesNotReplayOrResaveMatches() throws Exception {
+        List<TournamentStanding> expected = tournament("resumed", Tournament.Format.ROUND_ROBIN, 6, 0, new RecordingDAO()).run();
+
+        // Turn the journal into one of a run that crashed after saving round 1 and finishing round 2
+        List<String> kept = new ArrayList<>();
+        for (String line : Files.readAllLines(journal("resumed"))) {
+            if (line.startsWith("MATCH\t1\t") || line.equals("SAVED\t1") || line.startsWith("MATCH\t2\t")) kept.add(line);
+        }
+        Files.write(journal("resumed"), kept);
+
+        RecordingDAO resumedRun = new RecordingDAO();
+        List<TournamentStanding> resumed = tournament("resumed", Tournament.Format.ROUND_ROBIN, 6, 0, resumedRun).run();
+
+        assertEquals(List.of(2, 3, 4, 5), resumedRun.savedRounds);
+        for (String matchId : resumedRun.playedMatches) {
+            assertFalse("journaled match was replayed: " + matchId, matchId.contains("-r1-") || matchId.contains("-r2-"));
+        }
+        assertEquals(3 * 3, resumedRun.playedMatches.size());
+
+        // The resumed tournament ends exactly where the uninterrupted one did
+        assertEquals(expected.size(), resumed.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getPlayerName(), resumed.get(i).getPlayerName());
+            assertEquals(expected.get(i).getRating(), resumed.get(i).getRating(), 1e-9);
+            assertEquals(expected.get(i).getPoints(), resumed.get(i).getPoints(), 0);
+        }
+
+        // Running it again only saves the standings
+        RecordingDAO finishedRun = new RecordingDAO();
+        tournament("resumed", Tournament.Format.ROUND_ROBIN, 6, 0, finishedRun).run();
+        assertTrue(finishedRun.savedRounds.isEmpty());
+        assertTrue(finishedRun.playedMatches.isEmpty());
+        assertEquals(1, finishedRun.standingSaves);
+    }
+
+    /**
+     * Creates a tournament between CPU bots whose seeds depend only on the tournament and bot names. Matches are
+     * played on one thread so the ratings do not depend on the order parallel matches finish in.
+     */
+    private Tournament tournament(String name, Tournament.Format format, int botCount, int swissRounds, IGameDAO dao) throws IOException {
+        if (!tournamentNames.contains(name)) {
+            tournamentNames.add(name);
+            Files.deleteIfExists(journal(name));
+        }
+        List<BotStrategy> bots = new ArrayList<>();
+        CpuPlayer.Difficulty[] difficulties = CpuPlayer.Difficulty.values();
+        for (int i = 0; i < botCount; i++) {
+            bots.add(BotStrategy.cpu(NAMES[i], difficulties[i % difficulties.length]));
+        }
+        return new Tournament("test-" + name, format, bots, swissRounds, 3, 1, dao);
+    }
+
+    private static Path journal(String name) {
+        return Path.of("tournament-test-" + name + ".journal");
+    }
+
+    private static String pairKey(MatchResult result) {
+        String player1 = result.getPlayer1Name();
+        String player2 = result.getPlayer2Name();
+        return player1.compareTo(player2) < 0 ? player1 + "-" + player2 : player2 + "-" + player1;
+    }
+
+    /**
+     * Keeps what the tournament saves in memory.
+     */
+    private static class RecordingDAO implements IGameDAO {
+        private final List<MatchResult> results = new ArrayList<>();
+        private final List<Integer> savedRounds = new ArrayList<>();
+        private final Set<String> playedMatches = Collections.synchronizedSet(new HashSet<>());
+        private int standingSaves;
+
+        @Override
+        public void saveMatchResults(String tournamentName, List<MatchResult> roundResults) {
+            results.addAll(roundResults);
+            savedRounds.add(roundResults.get(0).getRound());
+        }
+
+        @Override
+        public void saveStandings(String tournamentName, List<TournamentStanding> standings) {
+            standingSaves++;
+        }
+
+        @Override
+        public void saveMatchEvents(List<MatchEvent> events) {
+            for (MatchEvent event : events) {
+                playedMatches.add(event.getMatchId());
+            }
+        }
+
+        @Override
+        public void saveGame(Game game, String gameName) { }
+
+        @Override
+        public void updateGame(Game game, String gameName) { }
+
+        @Override
+        public boolean gameExists(String gameName) {
+            return false;
+        }
+
+        @Override
+        public Game loadGame(String gameName) {
+            return null;
+        }
+
+        @Override
+        public List<String> loadGameNames() {
+            return List.of();
+        }
+
+        @Override
+        public Game loadLatestGame() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+import com.example.pingpong.Controller.TrainingEnvironment;
+import com.example.pingpong.Model.Game;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class TrainingEnvironmentTest {
+    private static final int NUM_ENVS = 4;
+
+    @Test
+    public void testResetIsDeterministicPerSeed() {
+        TrainingEnvironment first = new TrainingEnvironment(NUM_ENVS, 10_000);
+        TrainingEnvironment second = new TrainingEnvironment(NUM_ENVS, 10_000);
+        first.reset(7);
+        second.reset(7);
+        assertArrayEquals(first.getObservations(), second.getObservations(), 0);
+
+        int[] actions = new int[NUM_ENVS * 2];
+        for (int step = 0; step < 500; step++) {
+            Arrays.fill(actions, step / 20 % 3);
+            first.step(actions);
+            second.step(actions);
+            assertArrayEquals(first.getObservations(), second.getObservations(), 0);
+            assertArrayEquals(first.getRewards(), second.getRewards(), 0);
+        }
+
+        // Another seed serves differently, and so does each environment of a batch
+        first.reset(7);
+        second.reset(8);
+        assertFalse(Arrays.equals(first.getObservations(), second.getObservations()));
+        assertFalse(Arrays.equals(Arrays.copyOfRange(first.getObservations(), 0, TrainingEnvironment.OBSERVATION_SIZE),
+                Arrays.copyOfRange(first.getObservations(), TrainingEnvironment.OBSERVATION_SIZE, 2 * TrainingEnvironment.OBSERVATION_SIZE)));
+    }
+
+    @Test
+    public void testPointEndsTheEpisodeWithTheScorersReward() {
+        TrainingEnvironment environment = new TrainingEnvironment(1, 100_000);
+        environment.reset(3);
+        int[] actions = new int[2];
+        Game game = environment.getGame(0);
+
+        int steps = 0;
+        while (!environment.getDones()[0]) {
+            assertEquals(0, environment.getRewards()[0], 0);
+            environment.step(actions);
+            assertTrue("no point within 100000 steps", ++steps < 100_000);
+        }
+
+        float reward = environment.getRewards()[0];
+        if (game.getPlayer1().getScore() == 1) {
+            assertEquals(1, reward, 0);
+            assertEquals(0, game.getPlayer2().getScore());
+        } else {
+            assertEquals(-1, reward, 0);
+            assertEquals(1, game.getPlayer2().getScore());
+        }
+    }
+
+    @Test
+    public void testEndedEpisodeIsResetOnTheNextStep() {
+        TrainingEnvironment environment = new TrainingEnvironment(1, 50);
+        environment.reset(5);
+        int[] actions = new int[2];
+        Game game = environment.getGame(0);
+
+        // Cut off after 50 steps without a point
+        for (int step = 0; step < 50; step++) {
+            assertFalse(environment.getDones()[0]);
+            environment.step(actions);
+        }
+        assertTrue(environment.getDones()[0]);
+        assertEquals(0, environment.getRewards()[0], 0);
+        double cutOffBallX = game.getBall().getPosX();
+
+        environment.step(actions);
+        assertFalse(environment.getDones()[0]);
+        assertEquals(0, environment.getRewards()[0], 0);
+        assertEquals(0, game.getPlayer1().getScore() + game.getPlayer2().getScore());
+        // The ball was served again from the middle
+        assertEquals(game.getWidth() / 2, game.getBall().getPosX(), game.getBall().getSpeed() * 2);
+        assertNotEquals(cutOffBallX, game.getBall().getPosX(), 0);
+    }
+}